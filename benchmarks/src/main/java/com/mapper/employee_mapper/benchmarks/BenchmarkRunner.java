@@ -0,0 +1,29 @@
+package com.mapper.employee_mapper.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler always on, so every result comes with its
+ * allocation rate. Accepts the usual JMH command line (include pattern, -p, -f...).
+ * Build the jar with mvn -Pbenchmarks package, then:
+ *
+ *   java -cp benchmarks/target/benchmarks.jar com.mapper.employee_mapper.benchmarks.BenchmarkRunner MapperBenchmark
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.mapper.employee_mapper.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mapper.employee_mapper.merge_sdk.EmployeeGroupsItem;
+import com.mapper.employee_mapper.merge_sdk.GroupType;
+import com.mapper.employee_mapper.merge_sdk.ObjectMappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SDK's hand-written deserializers, read through the ObjectMappers readers exactly
+ * as the streaming endpoint does: the GroupType and EmployeeGroupsItem unions (both
+ * branches) and the DateTimeDeserializer registered for OffsetDateTime. The
+ * dateTimeFormatter* benchmarks are the ISO_DATE_TIME.parseBest path the deserializer
+ * used for every timestamp before it parsed the common shapes by hand.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar DeserializerBenchmark -prof gc
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeserializerBenchmark {
+
+    private static final String GROUP_JSON = "{\"id\":\"GRP-1\",\"remote_id\":\"19202938\","
+            + "\"created_at\":\"2021-09-15T00:00:00Z\",\"modified_at\":\"2021-10-16T00:00:00Z\","
+            + "\"name\":\"Engineering\",\"type\":\"TEAM\",\"remote_was_deleted\":false,"
+            + "\"remote_data\":[{\"path\":\"/groups\",\"data\":{\"department\":\"R&D\"}}]}";
+
+    private ObjectReader groupTypeReader;
+    private ObjectReader groupsItemReader;
+    private ObjectReader dateTimeReader;
+
+    @Setup
+    public void setUp() {
+        groupTypeReader = ObjectMappers.reader(GroupType.class);
+        groupsItemReader = ObjectMappers.reader(EmployeeGroupsItem.class);
+        dateTimeReader = ObjectMappers.reader(OffsetDateTime.class);
+    }
+
+    @Benchmark
+    public GroupType groupTypeKnownEnum() throws IOException {
+        return groupTypeReader.readValue("\"TEAM\"");
+    }
+
+    @Benchmark
+    public GroupType groupTypeUnknownString() throws IOException {
+        return groupTypeReader.readValue("\"GUILD\"");
+    }
+
+    @Benchmark
+    public EmployeeGroupsItem groupsItemString() throws IOException {
+        return groupsItemReader.readValue("\"Ad-hoc Group\"");
+    }
+
+    @Benchmark
+    public EmployeeGroupsItem groupsItemObject() throws IOException {
+        return groupsItemReader.readValue(GROUP_JSON);
+    }
+
+    @Benchmark
+    public OffsetDateTime dateTimeWithOffset() throws IOException {
+        return dateTimeReader.readValue("\"2021-10-16T12:34:56.789+02:00\"");
+    }
+
+    @Benchmark
+    public OffsetDateTime dateTimeUtc() throws IOException {
+        return dateTimeReader.readValue("\"2021-10-16T12:34:56Z\"");
+    }
+
+    @Benchmark
+    public OffsetDateTime dateTimeWithoutOffset() throws IOException {
+        return dateTimeReader.readValue("\"2021-10-16T12:34:56\"");
+    }
+
+    @Benchmark
+    public OffsetDateTime dateTimeEpochSeconds() throws IOException {
+        return dateTimeReader.readValue("1634387696");
+    }
+
+    @Benchmark
+    public OffsetDateTime dateTimeFormatterWithOffset() {
+        return parseWithFormatter("2021-10-16T12:34:56.789+02:00");
+    }
+
+    @Benchmark
+    public OffsetDateTime dateTimeFormatterUtc() {
+        return parseWithFormatter("2021-10-16T12:34:56Z");
+    }
+
+    private static OffsetDateTime parseWithFormatter(String text) {
+        TemporalAccessor temporal = DateTimeFormatter.ISO_DATE_TIME.parseBest(text, OffsetDateTime::from, LocalDateTime::from);
+        return temporal.query(TemporalQueries.offset()) == null
+                ? LocalDateTime.from(temporal).atOffset(ZoneOffset.UTC) : OffsetDateTime.from(temporal);
+    }
+}
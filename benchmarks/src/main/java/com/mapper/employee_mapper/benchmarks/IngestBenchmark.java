@@ -0,0 +1,72 @@
+package com.mapper.employee_mapper.benchmarks;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mapper.employee_mapper.domain.Company;
+import com.mapper.employee_mapper.domain.Employee;
+import com.mapper.employee_mapper.mapper.CompanyMappingRegistry;
+import com.mapper.employee_mapper.mapper.EmployeeMappingRegistry;
+import com.mapper.employee_mapper.mapper.JsonTokenMapper;
+import com.mapper.employee_mapper.mapper.UniversalReflectionMapper;
+import com.mapper.employee_mapper.merge_sdk.ObjectMappers;
+import com.mapper.employee_mapper.merge_sdk.SdkEmployee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One employee's JSON into an Employee, the way /poc/transform ingests it (read the
+ * SdkEmployee, then map it) against {@link JsonTokenMapper} streaming the same JSON
+ * straight into the Employee and its extraFields.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar IngestBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngestBenchmark {
+
+    @Param({"FLAT", "TYPICAL", "LARGE_GROUPS", "DEEP_REMOTE_DATA", "MANY_ADDRESSES"})
+    public Payloads payload;
+
+    private UniversalReflectionMapper mapper;
+    private JsonTokenMapper tokenMapper;
+    private ObjectReader sdkReader;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new UniversalReflectionMapper()
+                .registerMapping(Employee.class, new EmployeeMappingRegistry())
+                .registerMapping(Company.class, new CompanyMappingRegistry());
+        tokenMapper = new JsonTokenMapper(mapper, ObjectMappers.JSON_MAPPER);
+        sdkReader = ObjectMappers.reader(SdkEmployee.class);
+        json = ObjectMappers.JSON_MAPPER.writeValueAsBytes(payload.build());
+    }
+
+    @Benchmark
+    public Employee sdkIngest() throws IOException {
+        return mapper.map(sdkReader.<SdkEmployee>readValue(json), Employee.class);
+    }
+
+    @Benchmark
+    public Employee tokenIngest() throws IOException {
+        try (JsonParser parser = ObjectMappers.JSON_MAPPER.createParser(json)) {
+            return tokenMapper.read(parser, SdkEmployee.class, Employee.class);
+        }
+    }
+}
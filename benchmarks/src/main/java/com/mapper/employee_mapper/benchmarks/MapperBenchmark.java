@@ -0,0 +1,88 @@
+package com.mapper.employee_mapper.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mapper.employee_mapper.domain.Company;
+import com.mapper.employee_mapper.domain.Employee;
+import com.mapper.employee_mapper.mapper.AccessorMode;
+import com.mapper.employee_mapper.mapper.CompanyMappingRegistry;
+import com.mapper.employee_mapper.mapper.DomainJsonWriter;
+import com.mapper.employee_mapper.mapper.EmployeeMappingRegistry;
+import com.mapper.employee_mapper.mapper.UniversalReflectionMapper;
+import com.mapper.employee_mapper.merge_sdk.SdkEmployee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UniversalReflectionMapper#map} for SdkEmployee → Employee across payload shapes
+ * and execution tiers, plus the map-then-serialize and fused JSON paths of the HTTP endpoints.
+ *
+ * Run with the GC profiler to get allocation rates (gc.alloc.rate.norm is bytes per op):
+ *   java -jar benchmarks/target/benchmarks.jar MapperBenchmark -prof gc
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    /**
+     * REFLECTION and METHOD_HANDLE stay on the plan loop; GENERATED promotes on the first call.
+     */
+    @Param({"REFLECTION", "METHOD_HANDLE", "GENERATED"})
+    public String tier;
+
+    @Param({"FLAT", "TYPICAL", "LARGE_GROUPS", "DEEP_REMOTE_DATA", "MANY_ADDRESSES"})
+    public Payloads payload;
+
+    private UniversalReflectionMapper mapper;
+    private DomainJsonWriter fusedWriter;
+    private ObjectWriter employeeWriter;
+    private ObjectWriter fusedJsonWriter;
+    private SdkEmployee source;
+
+    @Setup
+    public void setUp() {
+        boolean generated = tier.equals("GENERATED");
+        mapper = new UniversalReflectionMapper()
+                .withAccessorMode(generated ? AccessorMode.REFLECTION : AccessorMode.valueOf(tier))
+                .withGenerationThreshold(generated ? 0 : -1)
+                .registerMapping(Employee.class, new EmployeeMappingRegistry())
+                .registerMapping(Company.class, new CompanyMappingRegistry());
+        fusedWriter = new DomainJsonWriter(mapper);
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+        employeeWriter = json.writerFor(Employee.class);
+        fusedJsonWriter = json.writer();
+        source = payload.build();
+    }
+
+    @Benchmark
+    public Employee map() {
+        return mapper.map(source, Employee.class);
+    }
+
+    @Benchmark
+    public void mapThenSerialize() throws IOException {
+        employeeWriter.writeValue(OutputStream.nullOutputStream(), mapper.map(source, Employee.class));
+    }
+
+    @Benchmark
+    public void fusedSerialize() throws IOException {
+        fusedJsonWriter.writeValue(OutputStream.nullOutputStream(), fusedWriter.asJson(source, Employee.class));
+    }
+}
@@ -0,0 +1,147 @@
+package com.mapper.employee_mapper.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mapper.employee_mapper.merge_sdk.EmployeeGroupsItem;
+import com.mapper.employee_mapper.merge_sdk.Group;
+import com.mapper.employee_mapper.merge_sdk.GroupType;
+import com.mapper.employee_mapper.merge_sdk.GroupTypeEnum;
+import com.mapper.employee_mapper.merge_sdk.RemoteData;
+import com.mapper.employee_mapper.merge_sdk.SdkAddress;
+import com.mapper.employee_mapper.merge_sdk.SdkCompany;
+import com.mapper.employee_mapper.merge_sdk.SdkEmployee;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * SdkEmployee shapes the benchmarks run against, from a bare employee to ones whose
+ * leftovers dominate the mapping cost.
+ */
+public enum Payloads {
+
+    /** Only the renamed/copied scalars and a company; no leftovers. */
+    FLAT {
+        @Override
+        SdkEmployee build() {
+            return employee().build();
+        }
+    },
+
+    /** The /poc/transform sample: a couple of addresses and groups. */
+    TYPICAL {
+        @Override
+        SdkEmployee build() {
+            return employee()
+                    .addresses(addresses(2))
+                    .groups(Optional.of(groups(2, 0)))
+                    .build();
+        }
+    },
+
+    /** Hundreds of group memberships, half of them full Group objects. */
+    LARGE_GROUPS {
+        @Override
+        SdkEmployee build() {
+            return employee()
+                    .groups(Optional.of(groups(500, 0)))
+                    .build();
+        }
+    },
+
+    /** A few groups carrying deep remote_data JsonNode trees. */
+    DEEP_REMOTE_DATA {
+        @Override
+        SdkEmployee build() {
+            return employee()
+                    .groups(Optional.of(groups(4, 10)))
+                    .build();
+        }
+    },
+
+    /** Many addresses, each reflected into a leftover map. */
+    MANY_ADDRESSES {
+        @Override
+        SdkEmployee build() {
+            return employee()
+                    .addresses(addresses(200))
+                    .build();
+        }
+    };
+
+    abstract SdkEmployee build();
+
+    private static final OffsetDateTime MODIFIED_AT = OffsetDateTime.parse("2024-01-01T10:00:00Z");
+
+    private static SdkEmployee.SdkEmployeeBuilder employee() {
+        return SdkEmployee.builder()
+                .id("EMP-1")
+                .firstName("Jane")
+                .lastName("Doe")
+                .workEmail("jane.doe@acme.com")
+                .company(Optional.of(SdkCompany.builder()
+                        .id("COMP-ABC")
+                        .legalName("Acme Corporation Intl")
+                        .headquartersAddress(address(0))
+                        .build()));
+    }
+
+    private static List<SdkAddress> addresses(int count) {
+        List<SdkAddress> addresses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            addresses.add(address(i));
+        }
+        return addresses;
+    }
+
+    private static SdkAddress address(int i) {
+        return SdkAddress.builder()
+                .street(i + " Merge Lane")
+                .city("MergeCity")
+                .country("MergeLand")
+                .build();
+    }
+
+    /**
+     * Alternates plain string groups and Group objects; remoteDataDepth &gt; 0 attaches
+     * a binary JsonNode tree of that depth to every Group.
+     */
+    private static List<Optional<EmployeeGroupsItem>> groups(int count, int remoteDataDepth) {
+        List<Optional<EmployeeGroupsItem>> groups = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                groups.add(Optional.of(EmployeeGroupsItem.of("Ad-hoc Group " + i)));
+                continue;
+            }
+            Group.Builder group = Group.builder()
+                    .id("GRP-" + i)
+                    .name("Engineering Team " + i)
+                    .modifiedAt(MODIFIED_AT)
+                    .type(GroupType.of(GroupTypeEnum.TEAM))
+                    .fieldMappings(Map.of("org", JsonNodeFactory.instance.textNode("R&D")));
+            if (remoteDataDepth > 0) {
+                group.remoteData(List.of(RemoteData.builder()
+                        .path("/groups/" + i)
+                        .data(tree(remoteDataDepth))
+                        .build()));
+            }
+            groups.add(Optional.of(EmployeeGroupsItem.of(group.build())));
+        }
+        return groups;
+    }
+
+    private static JsonNode tree(int depth) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode()
+                .put("name", "node-" + depth)
+                .put("weight", depth);
+        if (depth > 1) {
+            node.set("left", tree(depth - 1));
+            node.set("right", tree(depth - 1));
+        }
+        return node;
+    }
+}
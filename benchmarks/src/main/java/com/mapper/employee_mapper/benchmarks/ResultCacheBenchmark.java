@@ -0,0 +1,81 @@
+package com.mapper.employee_mapper.benchmarks;
+
+import com.mapper.employee_mapper.domain.Company;
+import com.mapper.employee_mapper.domain.Employee;
+import com.mapper.employee_mapper.mapper.CompanyMappingRegistry;
+import com.mapper.employee_mapper.mapper.EmployeeMappingRegistry;
+import com.mapper.employee_mapper.mapper.MappedResultCache;
+import com.mapper.employee_mapper.mapper.UniversalReflectionMapper;
+import com.mapper.employee_mapper.merge_sdk.Group;
+import com.mapper.employee_mapper.merge_sdk.SdkEmployee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a request's worth of employees with the cross-request {@link MappedResultCache}
+ * off, caching group leftovers only, and caching companies too. Every employee is a
+ * separately built SDK object, as after deserializing a request, but they all share the
+ * same company and groups, so this is the cache's best case: every lookup after the
+ * first one hits.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar ResultCacheBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultCacheBenchmark {
+
+    @Param({"NONE", "GROUPS", "COMPANIES_AND_GROUPS"})
+    public String cache;
+
+    @Param({"TYPICAL", "FLAT"})
+    public Payloads payload;
+
+    @Param({"64"})
+    public int batchSize;
+
+    private UniversalReflectionMapper mapper;
+    private List<SdkEmployee> batch;
+
+    @Setup
+    public void setUp() {
+        mapper = new UniversalReflectionMapper()
+                .withGenerationThreshold(-1)
+                .registerMapping(Employee.class, new EmployeeMappingRegistry())
+                .registerMapping(Company.class, new CompanyMappingRegistry());
+        if (!cache.equals("NONE")) {
+            Set<Class<?>> domainTypes = cache.equals("COMPANIES_AND_GROUPS") ? Set.of(Company.class) : Set.of();
+            mapper.withResultCache(new MappedResultCache(1_000, Duration.ofMinutes(10), domainTypes, Set.of(Group.class)));
+        }
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(payload.build());
+        }
+    }
+
+    @Benchmark
+    public void mapBatch(Blackhole blackhole) {
+        for (SdkEmployee source : batch) {
+            blackhole.consume(mapper.map(source, Employee.class));
+        }
+    }
+}
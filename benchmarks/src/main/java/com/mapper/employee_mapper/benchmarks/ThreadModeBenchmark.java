@@ -0,0 +1,121 @@
+package com.mapper.employee_mapper.benchmarks;
+
+import com.mapper.employee_mapper.mapper.BulkMappingResult;
+import com.mapper.employee_mapper.mapper.UniversalReflectionMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bulk mapping of I/O-bound records on platform threads (the fork/join bulk pool, one
+ * worker per core) versus one virtual thread per chunk. Each record carries a remote
+ * reference resolved by a converter that blocks for latencyMicros, standing in for a
+ * Merge fetch. The JMH threads act as the load generator: each one is a client
+ * submitting batches concurrently against the shared mapper.
+ *
+ *   java -jar benchmarks/target/benchmarks.jar ThreadModeBenchmark
+ *
+ * VIRTUAL needs a Java 21+ runtime; on older JVMs its setup fails and JMH skips it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ThreadModeBenchmark {
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String mode;
+
+    @Param({"1000"})
+    public int latencyMicros;
+
+    @Param({"64"})
+    public int batchSize;
+
+    private ForkJoinPool platformPool;
+    private UniversalReflectionMapper mapper;
+    private List<RemoteRecord> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (mode.equals("VIRTUAL") && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21+, running on " + Runtime.version());
+        }
+        long latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        mapper = new UniversalReflectionMapper()
+                .withConverter(RemoteRef.class, String.class, ref -> {
+                    LockSupport.parkNanos(latencyNanos);
+                    return ref.id;
+                })
+                .withBulkChunkSize(1);
+        if (mode.equals("VIRTUAL")) {
+            mapper.withBulkExecutor(new VirtualThreadTaskExecutor("bench-bulk-"));
+        } else {
+            platformPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            mapper.withBulkPool(platformPool);
+        }
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(new RemoteRecord("REC-" + i, new RemoteRef("OWNER-" + (i % 8))));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdown();
+        }
+    }
+
+    /**
+     * One batch per op: ops/s times batchSize is records per second.
+     */
+    @Benchmark
+    public BulkMappingResult<LocalRecord> mapBatch() {
+        return mapper.mapAll(batch, LocalRecord.class);
+    }
+
+    public static class RemoteRef {
+        private final String id;
+
+        RemoteRef(String id) {
+            this.id = id;
+        }
+    }
+
+    public static class RemoteRecord {
+        private final String id;
+        private final RemoteRef owner;
+
+        RemoteRecord(String id, RemoteRef owner) {
+            this.id = id;
+            this.owner = owner;
+        }
+    }
+
+    public static class LocalRecord {
+        private String id;
+        private String owner;
+    }
+}
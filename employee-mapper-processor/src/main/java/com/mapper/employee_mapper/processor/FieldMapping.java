@@ -0,0 +1,19 @@
+package com.mapper.employee_mapper.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Renames one field: the target (domain) field is filled from the named source (SDK) field.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({})
+public @interface FieldMapping {
+
+    String target();
+
+    String source();
+}
@@ -0,0 +1,34 @@
+package com.mapper.employee_mapper.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares one (source class → target class) mapping to be generated at build time.
+ *
+ * Placed on an interface that extends the application's mapper entry point; the
+ * processor emits "<InterfaceName>Impl" next to it with one plain Java method per
+ * declared mapping. Fields are matched by name unless renamed through {@link #fields()},
+ * which plays the role of a BaseMappingRegistry.
+ *
+ * Example usage:
+ *   &#64;MapperDefinition(source = SdkEmployee.class, target = Employee.class,
+ *           fields = &#64;FieldMapping(target = "email", source = "workEmail"))
+ *   public interface SdkDomainMapper extends DomainMapper { }
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+@Repeatable(MapperDefinitions.class)
+public @interface MapperDefinition {
+
+    Class<?> source();
+
+    Class<?> target();
+
+    FieldMapping[] fields() default {};
+}
@@ -0,0 +1,768 @@
+package com.mapper.employee_mapper.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates plain Java mappers for interfaces annotated with {@link MapperDefinition}.
+ *
+ * For an annotated interface "SdkDomainMapper" the processor writes "SdkDomainMapperImpl",
+ * which implements the interface's map(Object, Class) entry point by dispatching to one
+ * generated method per definition. Each method copies fields through getters and setters,
+ * unwraps Optionals, calls the other generated methods for nested targets and puts the
+ * unmapped source properties into extraFields. Nested beans without a definition (e.g. an
+ * SDK address into a domain Address) get a private method copying fields by name, as the
+ * reflective mapper does. A target field that cannot be generated at all is reported as a
+ * compiler warning.
+ *
+ * extraFields are built exactly as the reflective mapper builds them (Optionals unwrapped,
+ * maps and collections copied, Jackson trees copied, JDK values kept, the same depth and
+ * element limits), with one generated method per SDK class reachable from a leftover
+ * field: its fields are read through getters, and the variant index of a union class
+ * (Merge's EmployeeGroupsItem, GroupType...) through its Visitor. Nothing is looked up
+ * reflectively at runtime. A leftover value of a class not known at build time is kept
+ * as it is, unless the mapper is given a converter for such values.
+ *
+ * Like every DomainMapper, map() logs a failed or unsupported mapping and returns null.
+ */
+@SupportedAnnotationTypes({
+        "com.mapper.employee_mapper.processor.MapperDefinition",
+        "com.mapper.employee_mapper.processor.MapperDefinitions"
+})
+public class MapperDefinitionProcessor extends AbstractProcessor {
+
+    private static final String DEFINITION = MapperDefinition.class.getCanonicalName();
+    private static final String DEFINITIONS = MapperDefinitions.class.getCanonicalName();
+    private static final String JSON_NODE = "com.fasterxml.jackson.databind.JsonNode";
+    private static final String SLF4J_FACTORY = "org.slf4j.LoggerFactory";
+    private static final Set<String> LOMBOK_GETTERS = Set.of("lombok.Data", "lombok.Getter", "lombok.Value");
+
+    // Same defaults and marker as UniversalReflectionMapper, so both engines cut leftovers alike
+    private static final int DEFAULT_LEFTOVER_MAX_DEPTH = 32;
+    private static final int DEFAULT_LEFTOVER_MAX_ELEMENTS = 10_000;
+    private static final String MAX_DEPTH_MARKER = "MAX_DEPTH_EXCEEDED";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<Element> annotated = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            annotated.addAll(roundEnv.getElementsAnnotatedWith(annotation));
+        }
+        for (Element element : annotated) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                error(element, "@MapperDefinition is only supported on interfaces");
+                continue;
+            }
+            TypeElement mapperInterface = (TypeElement) element;
+            if (!declaresMapEntryPoint(mapperInterface)) {
+                error(element, "%s must declare <T> T map(Object, Class<T>)", mapperInterface.getSimpleName());
+                continue;
+            }
+            try {
+                writeMapper(mapperInterface, new ArrayList<>(readDefinitions(mapperInterface)));
+            } catch (IOException e) {
+                error(element, "Unable to write mapper for %s: %s", mapperInterface.getSimpleName(), e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private List<Definition> readDefinitions(TypeElement mapperInterface) {
+        List<Definition> definitions = new ArrayList<>();
+        for (AnnotationMirror mirror : mapperInterface.getAnnotationMirrors()) {
+            String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (name.equals(DEFINITION)) {
+                definitions.add(toDefinition(mirror));
+            } else if (name.equals(DEFINITIONS)) {
+                for (Object value : (List<?>) attribute(mirror, "value")) {
+                    definitions.add(toDefinition((AnnotationMirror) ((AnnotationValue) value).getValue()));
+                }
+            }
+        }
+        return definitions;
+    }
+
+    private Definition toDefinition(AnnotationMirror mirror) {
+        TypeElement source = (TypeElement) ((DeclaredType) attribute(mirror, "source")).asElement();
+        TypeElement target = (TypeElement) ((DeclaredType) attribute(mirror, "target")).asElement();
+        Map<String, String> renames = new HashMap<>();
+        for (Object value : (List<?>) attribute(mirror, "fields")) {
+            AnnotationMirror field = (AnnotationMirror) ((AnnotationValue) value).getValue();
+            renames.put((String) attribute(field, "target"), (String) attribute(field, "source"));
+        }
+        return new Definition(source, target, renames, false);
+    }
+
+    private Object attribute(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalStateException("Missing annotation attribute " + name);
+    }
+
+    private boolean declaresMapEntryPoint(TypeElement mapperInterface) {
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(mapperInterface))) {
+            if (method.getSimpleName().contentEquals("map")
+                    && method.getModifiers().contains(Modifier.ABSTRACT)
+                    && method.getParameters().size() == 2
+                    && method.getTypeParameters().size() == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeMapper(TypeElement mapperInterface, List<Definition> definitions) throws IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(mapperInterface);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String simpleName = mapperInterface.getSimpleName() + "Impl";
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        out.append("public final class ").append(simpleName)
+                .append(" implements ").append(mapperInterface.getQualifiedName()).append(" {\n\n");
+
+        boolean slf4j = processingEnv.getElementUtils().getTypeElement(SLF4J_FACTORY) != null;
+        if (slf4j) {
+            out.append("    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(")
+                    .append(simpleName).append(".class);\n");
+        } else {
+            out.append("    private static final System.Logger log = System.getLogger(")
+                    .append(simpleName).append(".class.getName());\n");
+        }
+        out.append("    private static final String MAX_DEPTH_MARKER = \"").append(MAX_DEPTH_MARKER).append("\";\n\n");
+        out.append("    private final int leftoverMaxDepth;\n");
+        out.append("    private final int leftoverMaxElements;\n");
+        out.append("    private final java.util.function.Function<Object, Object> unknownLeftoverConverter;\n\n");
+        out.append("    /**\n");
+        out.append("     * A mapper with the reflective mapper's default leftover limits.\n");
+        out.append("     */\n");
+        out.append("    public ").append(simpleName).append("() {\n");
+        out.append("        this(").append(DEFAULT_LEFTOVER_MAX_DEPTH).append(", ")
+                .append(DEFAULT_LEFTOVER_MAX_ELEMENTS).append(", null);\n");
+        out.append("    }\n\n");
+        out.append("    /**\n");
+        out.append("     * A mapper cutting extraFields at the given depth and container size.\n");
+        out.append("     */\n");
+        out.append("    public ").append(simpleName).append("(int leftoverMaxDepth, int leftoverMaxElements) {\n");
+        out.append("        this(leftoverMaxDepth, leftoverMaxElements, null);\n");
+        out.append("    }\n\n");
+        out.append("    /**\n");
+        out.append("     * Opt-in: leftover values of classes unknown at build time (kept as they are by\n");
+        out.append("     * default) go through unknownLeftoverConverter, e.g. the reflective mapper's.\n");
+        out.append("     */\n");
+        out.append("    public ").append(simpleName).append("(int leftoverMaxDepth, int leftoverMaxElements,\n");
+        out.append("            java.util.function.Function<Object, Object> unknownLeftoverConverter) {\n");
+        out.append("        this.leftoverMaxDepth = leftoverMaxDepth;\n");
+        out.append("        this.leftoverMaxElements = leftoverMaxElements;\n");
+        out.append("        this.unknownLeftoverConverter = unknownLeftoverConverter;\n");
+        out.append("    }\n\n");
+
+        writeEntryPoint(out, definitions, slf4j);
+        List<Definition> methods = new ArrayList<>(definitions);
+        Set<TypeElement> leftoverTypes = new LinkedHashSet<>();
+        // Writing a method may add implicit definitions for nested beans; those are written too
+        for (int i = 0; i < methods.size(); i++) {
+            writeMappingMethod(out, mapperInterface, methods.get(i), methods, leftoverTypes);
+        }
+        writeLeftoverMethods(out, mapperInterface, leftoverTypes);
+
+        out.append("    private static Object unwrap(Object value) {\n");
+        out.append("        return (value instanceof java.util.Optional) ? ((java.util.Optional<?>) value).orElse(null) : value;\n");
+        out.append("    }\n\n");
+        out.append("    private static <V> V unwrapOptional(java.util.Optional<V> value) {\n");
+        out.append("        return (value == null) ? null : value.orElse(null);\n");
+        out.append("    }\n");
+        out.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, mapperInterface).openWriter()) {
+            writer.write(out.toString());
+        }
+    }
+
+    private void writeEntryPoint(StringBuilder out, List<Definition> definitions, boolean slf4j) {
+        out.append("    /**\n");
+        out.append("     * Maps sourceObject to targetClass; logs and returns null if the pair has no\n");
+        out.append("     * generated mapping or the mapping fails, as the reflective mapper does.\n");
+        out.append("     */\n");
+        out.append("    @Override\n");
+        out.append("    @SuppressWarnings(\"unchecked\")\n");
+        out.append("    public <T> T map(Object sourceObject, Class<T> targetClass) {\n");
+        out.append("        Object source = unwrap(sourceObject);\n");
+        out.append("        if (source == null) {\n");
+        out.append("            return null;\n");
+        out.append("        }\n");
+        out.append("        try {\n");
+        for (Definition definition : definitions) {
+            out.append("            if (targetClass == ").append(definition.target.getQualifiedName()).append(".class")
+                    .append(" && source instanceof ").append(definition.source.getQualifiedName()).append(") {\n");
+            out.append("                return (T) ").append(definition.methodName())
+                    .append("((").append(definition.source.getQualifiedName()).append(") source);\n");
+            out.append("            }\n");
+        }
+        out.append("        } catch (RuntimeException e) {\n");
+        if (slf4j) {
+            out.append("            log.error(\"Error mapping from {} to {}\",\n");
+            out.append("                    source.getClass().getSimpleName(), targetClass.getSimpleName(), e);\n");
+        } else {
+            out.append("            log.log(System.Logger.Level.ERROR, \"Error mapping from \"\n");
+            out.append("                    + source.getClass().getSimpleName() + \" to \" + targetClass.getSimpleName(), e);\n");
+        }
+        out.append("            return null;\n");
+        out.append("        }\n");
+        if (slf4j) {
+            out.append("        log.error(\"No generated mapping from {} to {}\", source.getClass().getName(), targetClass.getName());\n");
+        } else {
+            out.append("        log.log(System.Logger.Level.ERROR, \"No generated mapping from \"\n");
+            out.append("                + source.getClass().getName() + \" to \" + targetClass.getName());\n");
+        }
+        out.append("        return null;\n");
+        out.append("    }\n\n");
+    }
+
+    private void writeMappingMethod(StringBuilder out, TypeElement mapperInterface, Definition definition,
+                                    List<Definition> definitions, Set<TypeElement> leftoverTypes) {
+        Types types = processingEnv.getTypeUtils();
+        String sourceName = definition.source.getQualifiedName().toString();
+        String targetName = definition.target.getQualifiedName().toString();
+
+        out.append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        out.append(definition.implicit ? "    private " : "    public ").append(targetName).append(' ')
+                .append(definition.methodName())
+                .append('(').append(sourceName).append(" source) {\n");
+        out.append("        if (source == null) {\n");
+        out.append("            return null;\n");
+        out.append("        }\n");
+        out.append("        ").append(targetName).append(" target = new ").append(targetName).append("();\n");
+
+        Map<String, VariableElement> sourceFields = new HashMap<>();
+        for (VariableElement field : instanceFields(definition.source)) {
+            sourceFields.put(field.getSimpleName().toString(), field);
+        }
+
+        Set<String> mappedSourceFields = new HashSet<>();
+        for (VariableElement targetField : instanceFields(definition.target)) {
+            String targetFieldName = targetField.getSimpleName().toString();
+            String sourceFieldName = definition.renames.getOrDefault(targetFieldName, targetFieldName);
+            VariableElement sourceField = sourceFields.get(sourceFieldName);
+            if (sourceField == null) {
+                continue;
+            }
+            mappedSourceFields.add(sourceFieldName);
+
+            TypeMirror valueType = sourceField.asType();
+            String valueExpression = "source." + getterName(sourceField) + "()";
+            TypeMirror optionalValue = optionalValueType(valueType);
+            if (optionalValue != null) {
+                valueType = optionalValue;
+                valueExpression = "unwrapOptional(" + valueExpression + ")";
+            }
+
+            TypeMirror targetType = targetField.asType();
+            String setter = "target." + setterName(targetField);
+            Definition nested = findDefinition(definitions, targetType, valueType);
+            if (nested != null) {
+                out.append("        ").append(setter).append('(').append(nested.methodName())
+                        .append('(').append(valueExpression).append("));\n");
+            } else if (types.isAssignable(valueType, targetType)) {
+                out.append("        ").append(setter).append('(').append(valueExpression).append(");\n");
+            } else if (isBeanType(targetType) && isBeanType(valueType)) {
+                Definition implicit = new Definition((TypeElement) types.asElement(valueType),
+                        (TypeElement) types.asElement(targetType), Map.of(), true);
+                definitions.add(implicit);
+                out.append("        ").append(setter).append('(').append(implicit.methodName())
+                        .append('(').append(valueExpression).append("));\n");
+            } else if (!targetType.getKind().isPrimitive() && !valueType.getKind().isPrimitive()) {
+                TypeMirror rawTarget = types.erasure(targetType);
+                TypeMirror rawValue = types.erasure(valueType);
+                if (types.isAssignable(rawValue, rawTarget)) {
+                    out.append("        ").append(setter).append("((").append(rawTarget).append(") ")
+                            .append(valueExpression).append(");\n");
+                } else if (types.isAssignable(rawTarget, rawValue)) {
+                    String local = targetFieldName + "Value";
+                    out.append("        Object ").append(local).append(" = ").append(valueExpression).append(";\n");
+                    out.append("        ").append(setter).append('(').append(local).append(" instanceof ")
+                            .append(rawTarget).append(" ? (").append(rawTarget).append(") ").append(local)
+                            .append(" : null);\n");
+                } else {
+                    warnUnmapped(mapperInterface, definition, targetField, sourceField);
+                }
+            } else {
+                warnUnmapped(mapperInterface, definition, targetField, sourceField);
+            }
+        }
+
+        List<VariableElement> leftovers = new ArrayList<>();
+        for (VariableElement sourceField : instanceFields(definition.source)) {
+            if (!mappedSourceFields.contains(sourceField.getSimpleName().toString())) {
+                leftovers.add(sourceField);
+            }
+        }
+        if (!leftovers.isEmpty() && hasMethod(definition.target, "setExtraFields")) {
+            out.append("        java.util.Map<String, Object> extraFields = new java.util.LinkedHashMap<>();\n");
+            for (VariableElement leftover : leftovers) {
+                out.append("        extraFields.put(\"").append(leftover.getSimpleName())
+                        .append("\", leftover(source.").append(getterName(leftover)).append("(), 0));\n");
+                collectLeftoverTypes(leftover.asType(), leftoverTypes);
+            }
+            out.append("        target.setExtraFields(extraFields);\n");
+        }
+
+        out.append("        return target;\n");
+        out.append("    }\n\n");
+    }
+
+    /**
+     * Writes leftover(Object, int), the generated counterpart of the reflective mapper's
+     * buildLeftoverValue, plus one method per SDK class it can meet.
+     */
+    private void writeLeftoverMethods(StringBuilder out, TypeElement mapperInterface, Set<TypeElement> leftoverTypes) {
+        boolean jackson = processingEnv.getElementUtils().getTypeElement(JSON_NODE) != null;
+        Map<TypeElement, String> methodNames = new LinkedHashMap<>();
+        Set<String> usedNames = new HashSet<>();
+        for (TypeElement type : leftoverTypes) {
+            String name = "leftover" + type.getSimpleName();
+            for (int i = 2; !usedNames.add(name); i++) {
+                name = "leftover" + type.getSimpleName() + i;
+            }
+            methodNames.put(type, name);
+        }
+
+        out.append("    private Object leftover(Object value, int depth) {\n");
+        out.append("        if (value instanceof java.util.Optional) {\n");
+        out.append("            value = ((java.util.Optional<?>) value).orElse(null);\n");
+        out.append("        }\n");
+        out.append("        if (value == null) {\n");
+        out.append("            return null;\n");
+        out.append("        }\n");
+        if (jackson) {
+            out.append("        if (value instanceof ").append(JSON_NODE).append(") {\n");
+            out.append("            return leftoverNode((").append(JSON_NODE).append(") value, depth);\n");
+            out.append("        }\n");
+        }
+        out.append("        if (isLeftoverValue(value)) {\n");
+        out.append("            return value;\n");
+        out.append("        }\n");
+        out.append("        if (depth >= leftoverMaxDepth) {\n");
+        out.append("            return MAX_DEPTH_MARKER;\n");
+        out.append("        }\n");
+        out.append("        if (value instanceof java.util.Map) {\n");
+        out.append("            java.util.Map<?, ?> map = (java.util.Map<?, ?>) value;\n");
+        out.append("            java.util.Map<String, Object> copy =\n");
+        out.append("                    new java.util.LinkedHashMap<>(Math.min(map.size(), leftoverMaxElements) * 4 / 3 + 1);\n");
+        out.append("            for (java.util.Map.Entry<?, ?> entry : map.entrySet()) {\n");
+        out.append("                if (copy.size() >= leftoverMaxElements) {\n");
+        out.append("                    break;\n");
+        out.append("                }\n");
+        out.append("                copy.put(String.valueOf(entry.getKey()), leftover(entry.getValue(), depth + 1));\n");
+        out.append("            }\n");
+        out.append("            return copy;\n");
+        out.append("        }\n");
+        out.append("        if (value instanceof java.util.Collection) {\n");
+        out.append("            java.util.Collection<?> collection = (java.util.Collection<?>) value;\n");
+        out.append("            java.util.List<Object> copy =\n");
+        out.append("                    new java.util.ArrayList<>(Math.min(collection.size(), leftoverMaxElements));\n");
+        out.append("            for (Object item : collection) {\n");
+        out.append("                if (copy.size() >= leftoverMaxElements) {\n");
+        out.append("                    break;\n");
+        out.append("                }\n");
+        out.append("                copy.add(leftover(item, depth + 1));\n");
+        out.append("            }\n");
+        out.append("            return copy;\n");
+        out.append("        }\n");
+        out.append("        if (value instanceof Object[]) {\n");
+        out.append("            Object[] array = (Object[]) value;\n");
+        out.append("            int length = Math.min(array.length, leftoverMaxElements);\n");
+        out.append("            java.util.List<Object> copy = new java.util.ArrayList<>(length);\n");
+        out.append("            for (int i = 0; i < length; i++) {\n");
+        out.append("                copy.add(leftover(array[i], depth + 1));\n");
+        out.append("            }\n");
+        out.append("            return copy;\n");
+        out.append("        }\n");
+        out.append("        Class<?> type = value.getClass();\n");
+        out.append("        if (type.isArray()) {\n");
+        out.append("            return value;\n");
+        out.append("        }\n");
+        for (Map.Entry<TypeElement, String> entry : methodNames.entrySet()) {
+            String typeName = entry.getKey().getQualifiedName().toString();
+            // Exact class, as the reflective mapper only reads the runtime class's own fields
+            out.append("        if (type == ").append(typeName).append(".class) {\n");
+            out.append("            return ").append(entry.getValue()).append("((").append(typeName)
+                    .append(") value, depth);\n");
+            out.append("        }\n");
+        }
+        out.append("        return (unknownLeftoverConverter != null) ? unknownLeftoverConverter.apply(value) : value;\n");
+        out.append("    }\n\n");
+
+        out.append("    // Values the reflective mapper keeps as they are: simple types and other JDK values\n");
+        out.append("    private static boolean isLeftoverValue(Object value) {\n");
+        out.append("        if (value instanceof java.util.Map || value instanceof java.util.Collection) {\n");
+        out.append("            return false;\n");
+        out.append("        }\n");
+        out.append("        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean\n");
+        out.append("                || value instanceof Enum || value instanceof java.util.Date || value instanceof java.util.UUID) {\n");
+        out.append("            return true;\n");
+        out.append("        }\n");
+        out.append("        String name = value.getClass().getName();\n");
+        out.append("        return name.startsWith(\"java.\") || name.startsWith(\"javax.\");\n");
+        out.append("    }\n\n");
+
+        for (Map.Entry<TypeElement, String> entry : methodNames.entrySet()) {
+            writeLeftoverObjectMethod(out, mapperInterface, entry.getKey(), entry.getValue());
+        }
+        if (jackson) {
+            writeLeftoverNodeMethod(out);
+        }
+    }
+
+    private void writeLeftoverObjectMethod(StringBuilder out, TypeElement mapperInterface, TypeElement type,
+                                           String methodName) {
+        String typeName = type.getQualifiedName().toString();
+        TypeElement visitor = unionVisitor(type);
+        boolean usesVisitor = false;
+
+        out.append("    private java.util.Map<String, Object> ").append(methodName).append('(').append(typeName)
+                .append(" value, int depth) {\n");
+        out.append("        java.util.Map<String, Object> map = new java.util.LinkedHashMap<>();\n");
+        for (VariableElement field : instanceFields(type)) {
+            String name = field.getSimpleName().toString();
+            String expression;
+            if (hasGetter(type, field)) {
+                expression = "value." + getterName(field) + "()";
+            } else if (visitor != null && name.equals("value") && hasPublicMethod(type, "get", 0)) {
+                expression = "value.get()";
+            } else if (visitor != null && name.equals("type") && field.asType().getKind() == TypeKind.INT) {
+                expression = methodName + "Type(value)";
+                usesVisitor = true;
+            } else {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, String.format(
+                        "%s.%s has no getter and is left out of extraFields", type.getSimpleName(), name),
+                        mapperInterface);
+                continue;
+            }
+            out.append("        map.put(\"").append(name).append("\", leftover(").append(expression)
+                    .append(", depth + 1));\n");
+        }
+        out.append("        return map;\n");
+        out.append("    }\n\n");
+
+        if (usesVisitor) {
+            // Merge's unions number their variants in the order the Visitor declares them
+            out.append("    private static int ").append(methodName).append("Type(").append(typeName)
+                    .append(" value) {\n");
+            out.append("        return value.visit(new ").append(visitor.getQualifiedName()).append("<Integer>() {\n");
+            int index = 0;
+            for (ExecutableElement visit : ElementFilter.methodsIn(visitor.getEnclosedElements())) {
+                out.append("            @Override\n");
+                out.append("            public Integer visit(").append(visit.getParameters().get(0).asType())
+                        .append(" variant) {\n");
+                out.append("                return ").append(index++).append(";\n");
+                out.append("            }\n");
+            }
+            out.append("        });\n");
+            out.append("    }\n\n");
+        }
+    }
+
+    // The reflective mapper's copyLeftoverNode: containers copied under the limits, value nodes shared
+    private void writeLeftoverNodeMethod(StringBuilder out) {
+        String node = JSON_NODE;
+        String factory = "com.fasterxml.jackson.databind.node.JsonNodeFactory.instance";
+        out.append("    private Object leftoverNode(").append(node).append(" node, int depth) {\n");
+        out.append("        if (!node.isContainerNode()) {\n");
+        out.append("            return node;\n");
+        out.append("        }\n");
+        out.append("        if (depth >= leftoverMaxDepth) {\n");
+        out.append("            return MAX_DEPTH_MARKER;\n");
+        out.append("        }\n");
+        out.append("        if (node.isObject()) {\n");
+        out.append("            com.fasterxml.jackson.databind.node.ObjectNode copy = ").append(factory)
+                .append(".objectNode();\n");
+        out.append("            java.util.Iterator<java.util.Map.Entry<String, ").append(node)
+                .append(">> fields = node.fields();\n");
+        out.append("            while (fields.hasNext() && copy.size() < leftoverMaxElements) {\n");
+        out.append("                java.util.Map.Entry<String, ").append(node).append("> field = fields.next();\n");
+        out.append("                copy.set(field.getKey(), asNode(leftoverNode(field.getValue(), depth + 1)));\n");
+        out.append("            }\n");
+        out.append("            return copy;\n");
+        out.append("        }\n");
+        out.append("        com.fasterxml.jackson.databind.node.ArrayNode copy =\n");
+        out.append("                ").append(factory).append(".arrayNode(Math.min(node.size(), leftoverMaxElements));\n");
+        out.append("        for (").append(node).append(" item : node) {\n");
+        out.append("            if (copy.size() >= leftoverMaxElements) {\n");
+        out.append("                break;\n");
+        out.append("            }\n");
+        out.append("            copy.add(asNode(leftoverNode(item, depth + 1)));\n");
+        out.append("        }\n");
+        out.append("        return copy;\n");
+        out.append("    }\n\n");
+        out.append("    private static ").append(node).append(" asNode(Object copied) {\n");
+        out.append("        return (copied instanceof ").append(node).append(") ? (").append(node)
+                .append(") copied\n");
+        out.append("                : com.fasterxml.jackson.databind.node.TextNode.valueOf((String) copied);\n");
+        out.append("    }\n\n");
+    }
+
+    /**
+     * Adds the SDK classes a leftover value of this type can hold (type arguments, fields
+     * and union variants included) to found.
+     */
+    private void collectLeftoverTypes(TypeMirror type, Set<TypeElement> found) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            collectLeftoverTypes(((ArrayType) type).getComponentType(), found);
+            return;
+        }
+        if (type.getKind() == TypeKind.WILDCARD) {
+            TypeMirror bound = ((WildcardType) type).getExtendsBound();
+            if (bound != null) {
+                collectLeftoverTypes(bound, found);
+            }
+            return;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        DeclaredType declared = (DeclaredType) type;
+        for (TypeMirror argument : declared.getTypeArguments()) {
+            collectLeftoverTypes(argument, found);
+        }
+        TypeElement element = (TypeElement) declared.asElement();
+        if (!isLeftoverObjectType(element) || !found.add(element)) {
+            return;
+        }
+        for (VariableElement field : instanceFields(element)) {
+            collectLeftoverTypes(field.asType(), found);
+        }
+        TypeElement visitor = unionVisitor(element);
+        if (visitor != null) {
+            for (ExecutableElement visit : ElementFilter.methodsIn(visitor.getEnclosedElements())) {
+                collectLeftoverTypes(visit.getParameters().get(0).asType(), found);
+            }
+        }
+    }
+
+    // Classes the reflective mapper would reflect into a map and generated code can name
+    private boolean isLeftoverObjectType(TypeElement element) {
+        if ((element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD)
+                || element.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        String name = element.getQualifiedName().toString();
+        if (name.startsWith("java.") || name.startsWith("javax.")) {
+            return false;
+        }
+        TypeElement jsonNode = processingEnv.getElementUtils().getTypeElement(JSON_NODE);
+        if (jsonNode != null && processingEnv.getTypeUtils().isSubtype(
+                processingEnv.getTypeUtils().erasure(element.asType()), jsonNode.asType())) {
+            return false;
+        }
+        for (Element e = element; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (!e.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The public generic Visitor interface of a union class with a visit(Visitor) method,
+     * whose visit methods each take one variant; null for any other class.
+     */
+    private TypeElement unionVisitor(TypeElement type) {
+        if (!hasPublicMethod(type, "visit", 1)) {
+            return null;
+        }
+        for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+            if (member.getKind() == ElementKind.INTERFACE && member.getSimpleName().contentEquals("Visitor")
+                    && member.getModifiers().contains(Modifier.PUBLIC) && member.getTypeParameters().size() == 1) {
+                List<ExecutableElement> visits = ElementFilter.methodsIn(member.getEnclosedElements());
+                for (ExecutableElement visit : visits) {
+                    if (!visit.getSimpleName().contentEquals("visit") || visit.getParameters().size() != 1) {
+                        return null;
+                    }
+                }
+                return visits.isEmpty() ? null : member;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasGetter(TypeElement type, VariableElement field) {
+        if (hasPublicMethod(type, getterName(field), 0)) {
+            return true;
+        }
+        // Lombok's getters may not be visible yet when this processor runs
+        return hasAnnotation(type, LOMBOK_GETTERS) || hasAnnotation(field, Set.of("lombok.Getter"));
+    }
+
+    private boolean hasPublicMethod(TypeElement type, String name, int parameters) {
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameters
+                    && method.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAnnotation(Element element, Set<String> names) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (names.contains(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void warnUnmapped(TypeElement mapperInterface, Definition definition, VariableElement targetField,
+                              VariableElement sourceField) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, String.format(
+                "%s.%s (%s) cannot be generated from %s.%s (%s) and is left unset",
+                definition.target.getSimpleName(), targetField.getSimpleName(), targetField.asType(),
+                definition.source.getSimpleName(), sourceField.getSimpleName(), sourceField.asType()),
+                mapperInterface);
+    }
+
+    // Same rule as the reflective mapper: concrete, non-JDK classes with a no-arg constructor
+    private boolean isBeanType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        String name = element.getQualifiedName().toString();
+        if (name.startsWith("java.") || name.startsWith("javax.")) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Definition findDefinition(List<Definition> definitions, TypeMirror targetType, TypeMirror valueType) {
+        Types types = processingEnv.getTypeUtils();
+        for (Definition definition : definitions) {
+            if (types.isSameType(types.erasure(targetType), types.erasure(definition.target.asType()))
+                    && types.isAssignable(types.erasure(valueType), types.erasure(definition.source.asType()))) {
+                return definition;
+            }
+        }
+        return null;
+    }
+
+    private TypeMirror optionalValueType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        DeclaredType declared = (DeclaredType) type;
+        if (!((TypeElement) declared.asElement()).getQualifiedName().contentEquals("java.util.Optional")) {
+            return null;
+        }
+        if (declared.getTypeArguments().isEmpty()) {
+            return processingEnv.getElementUtils().getTypeElement("java.lang.Object").asType();
+        }
+        return declared.getTypeArguments().get(0);
+    }
+
+    private List<VariableElement> instanceFields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private boolean hasMethod(TypeElement type, String name) {
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getterName(VariableElement field) {
+        String prefix = (field.asType().getKind() == TypeKind.BOOLEAN) ? "is" : "get";
+        return prefix + capitalize(field.getSimpleName().toString());
+    }
+
+    private static String setterName(VariableElement field) {
+        return "set" + capitalize(field.getSimpleName().toString());
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void error(Element element, String format, Object... args) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(format, args), element);
+    }
+
+    private static final class Definition {
+        private final TypeElement source;
+        private final TypeElement target;
+        private final Map<String, String> renames;
+        // Nested bean pair with no @MapperDefinition, copied by field name
+        private final boolean implicit;
+
+        Definition(TypeElement source, TypeElement target, Map<String, String> renames, boolean implicit) {
+            this.source = source;
+            this.target = target;
+            this.renames = renames;
+            this.implicit = implicit;
+        }
+
+        String methodName() {
+            return "map" + source.getSimpleName() + "To" + target.getSimpleName();
+        }
+    }
+}
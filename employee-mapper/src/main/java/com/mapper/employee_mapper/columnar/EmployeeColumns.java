@@ -0,0 +1,297 @@
+package com.mapper.employee_mapper.columnar;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mapper.employee_mapper.domain.Address;
+import com.mapper.employee_mapper.domain.Company;
+import com.mapper.employee_mapper.domain.Employee;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, column-oriented container for large batches of mapped employees, for export
+ * jobs that would otherwise hold one Employee/Company/Address graph (plus its strings)
+ * per record.
+ *
+ *   - id and email are kept as plain string columns (they are unique per record);
+ *   - names and every company/address value are dictionary-encoded: one int code per
+ *     row, one copy of each distinct string;
+ *   - companies and addresses are deduplicated into small tables, so employees of the
+ *     same company share one company row;
+ *   - extraFields is serialized once, when the employee is added, into a shared byte
+ *     arena addressed by primitive offset/length columns, and copied back out as-is.
+ *
+ * Rows are read through {@link EmployeeRow} views or written straight out as JSON with
+ * the same shape as serializing the Employee with the given ObjectMapper (nulls
+ * included). Values in extraFields come back as plain JSON types (e.g. dates as
+ * strings).
+ *
+ * Not thread-safe while it is being filled; once filled it can be read from any thread.
+ */
+public final class EmployeeColumns {
+
+    private static final TypeReference<Map<String, Object>> EXTRA_FIELDS_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final StringDictionary strings = new StringDictionary();
+
+    // One entry per employee
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> emails = new ArrayList<>();
+    private final IntColumn firstNames;
+    private final IntColumn lastNames;
+    private final IntColumn companies;
+    private final IntColumn extraStarts;
+    private final IntColumn extraLengths;
+    private byte[] extraArena = new byte[1024];
+    private int extraArenaSize;
+
+    // One entry per distinct company / address
+    private final Map<List<Integer>, Integer> companyCodes = new HashMap<>();
+    private final IntColumn companyIds = new IntColumn(16);
+    private final IntColumn companyNames = new IntColumn(16);
+    private final IntColumn companyAddresses = new IntColumn(16);
+    private final Map<List<Integer>, Integer> addressCodes = new HashMap<>();
+    private final IntColumn streets = new IntColumn(16);
+    private final IntColumn cities = new IntColumn(16);
+    private final IntColumn countries = new IntColumn(16);
+
+    /**
+     * @param objectMapper serializes extraFields (use the one the JSON output must match)
+     */
+    public EmployeeColumns(ObjectMapper objectMapper) {
+        this(objectMapper, 1024);
+    }
+
+    public EmployeeColumns(ObjectMapper objectMapper, int expectedRows) {
+        this.objectMapper = objectMapper;
+        this.firstNames = new IntColumn(expectedRows);
+        this.lastNames = new IntColumn(expectedRows);
+        this.companies = new IntColumn(expectedRows);
+        this.extraStarts = new IntColumn(expectedRows);
+        this.extraLengths = new IntColumn(expectedRows);
+    }
+
+    /**
+     * Appends employee as a new row and returns its index. The employee object itself is
+     * not retained.
+     */
+    public int add(Employee employee) {
+        ids.add(employee.getId());
+        emails.add(employee.getEmail());
+        firstNames.add(strings.encode(employee.getFirstName()));
+        lastNames.add(strings.encode(employee.getLastName()));
+        companies.add(encodeCompany(employee.getCompany()));
+        appendExtraFields(employee.getExtraFields());
+        return ids.size() - 1;
+    }
+
+    /**
+     * Appends every non-null employee (e.g. the results of a bulk mapping).
+     */
+    public EmployeeColumns addAll(Iterable<? extends Employee> employees) {
+        for (Employee employee : employees) {
+            if (employee != null) {
+                add(employee);
+            }
+        }
+        return this;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Distinct strings held by the dictionary-encoded columns.
+     */
+    public int dictionarySize() {
+        return strings.size();
+    }
+
+    /**
+     * Drops the spare capacity of the growable columns once the batch is complete.
+     */
+    public void trimToSize() {
+        for (IntColumn column : List.of(firstNames, lastNames, companies, extraStarts, extraLengths,
+                companyIds, companyNames, companyAddresses, streets, cities, countries)) {
+            column.trim();
+        }
+        extraArena = Arrays.copyOf(extraArena, extraArenaSize);
+    }
+
+    /**
+     * A lightweight view of row; nothing is copied until a getter is called.
+     */
+    public EmployeeRow row(int row) {
+        if (row < 0 || row >= size()) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size());
+        }
+        return new EmployeeRow(this, row);
+    }
+
+    /**
+     * Writes row as a JSON object.
+     */
+    public void writeRow(int row, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("id", id(row));
+        gen.writeStringField("firstName", firstName(row));
+        gen.writeStringField("lastName", lastName(row));
+        gen.writeStringField("email", email(row));
+        gen.writeFieldName("company");
+        writeCompany(companies.get(row), gen);
+        gen.writeFieldName("extraFields");
+        int length = extraLengths.get(row);
+        if (length < 0) {
+            gen.writeNull();
+        } else {
+            gen.writeRawValue(new String(extraArena, extraStarts.get(row), length, StandardCharsets.UTF_8));
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes every row as newline-delimited JSON. out is flushed, not closed.
+     */
+    public void writeNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the newlines below, not by the default space
+            gen.setRootValueSeparator(null);
+            for (int row = 0; row < size(); row++) {
+                writeRow(row, gen);
+                gen.writeRaw('\n');
+            }
+        }
+    }
+
+    String id(int row) {
+        return ids.get(row);
+    }
+
+    String firstName(int row) {
+        return strings.decode(firstNames.get(row));
+    }
+
+    String lastName(int row) {
+        return strings.decode(lastNames.get(row));
+    }
+
+    String email(int row) {
+        return emails.get(row);
+    }
+
+    Company company(int row) {
+        int company = companies.get(row);
+        if (company == StringDictionary.NULL) {
+            return null;
+        }
+        return new Company(strings.decode(companyIds.get(company)), strings.decode(companyNames.get(company)),
+                address(companyAddresses.get(company)));
+    }
+
+    Map<String, Object> extraFields(int row) {
+        int length = extraLengths.get(row);
+        if (length < 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(extraArena, extraStarts.get(row), length, EXTRA_FIELDS_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt extraFields in row " + row, e);
+        }
+    }
+
+    private Address address(int address) {
+        if (address == StringDictionary.NULL) {
+            return null;
+        }
+        return new Address(strings.decode(streets.get(address)), strings.decode(cities.get(address)),
+                strings.decode(countries.get(address)));
+    }
+
+    private int encodeCompany(Company company) {
+        if (company == null) {
+            return StringDictionary.NULL;
+        }
+        int id = strings.encode(company.getId());
+        int name = strings.encode(company.getName());
+        int address = encodeAddress(company.getAddress());
+        return companyCodes.computeIfAbsent(List.of(id, name, address), key -> {
+            companyIds.add(id);
+            companyNames.add(name);
+            companyAddresses.add(address);
+            return companyIds.size() - 1;
+        });
+    }
+
+    private int encodeAddress(Address address) {
+        if (address == null) {
+            return StringDictionary.NULL;
+        }
+        int street = strings.encode(address.getStreet());
+        int city = strings.encode(address.getCity());
+        int country = strings.encode(address.getCountry());
+        return addressCodes.computeIfAbsent(List.of(street, city, country), key -> {
+            streets.add(street);
+            cities.add(city);
+            countries.add(country);
+            return streets.size() - 1;
+        });
+    }
+
+    private void appendExtraFields(Map<String, Object> extraFields) {
+        if (extraFields == null) {
+            extraStarts.add(extraArenaSize);
+            extraLengths.add(-1);
+            return;
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(extraFields);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to serialize extraFields", e);
+        }
+        if (extraArenaSize + json.length > extraArena.length) {
+            extraArena = Arrays.copyOf(extraArena,
+                    Math.max(extraArenaSize + json.length, extraArena.length + (extraArena.length >> 1)));
+        }
+        System.arraycopy(json, 0, extraArena, extraArenaSize, json.length);
+        extraStarts.add(extraArenaSize);
+        extraLengths.add(json.length);
+        extraArenaSize += json.length;
+    }
+
+    private void writeCompany(int company, JsonGenerator gen) throws IOException {
+        if (company == StringDictionary.NULL) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeStringField("id", strings.decode(companyIds.get(company)));
+        gen.writeStringField("name", strings.decode(companyNames.get(company)));
+        gen.writeFieldName("address");
+        int address = companyAddresses.get(company);
+        if (address == StringDictionary.NULL) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject();
+            gen.writeStringField("street", strings.decode(streets.get(address)));
+            gen.writeStringField("city", strings.decode(cities.get(address)));
+            gen.writeStringField("country", strings.decode(countries.get(address)));
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,62 @@
+package com.mapper.employee_mapper.columnar;
+
+import com.mapper.employee_mapper.domain.Company;
+import com.mapper.employee_mapper.domain.Employee;
+
+import java.util.Map;
+
+/**
+ * Read-only view of one row of an {@link EmployeeColumns}, with the same getters as
+ * {@link Employee}. getCompany() and getExtraFields() build a fresh object on every
+ * call; use {@link #toEmployee()} when the whole record is needed more than once.
+ */
+public final class EmployeeRow {
+
+    private final EmployeeColumns columns;
+    private final int row;
+
+    EmployeeRow(EmployeeColumns columns, int row) {
+        this.columns = columns;
+        this.row = row;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public String getId() {
+        return columns.id(row);
+    }
+
+    public String getFirstName() {
+        return columns.firstName(row);
+    }
+
+    public String getLastName() {
+        return columns.lastName(row);
+    }
+
+    public String getEmail() {
+        return columns.email(row);
+    }
+
+    public Company getCompany() {
+        return columns.company(row);
+    }
+
+    public Map<String, Object> getExtraFields() {
+        return columns.extraFields(row);
+    }
+
+    /**
+     * Materializes the row as a regular, independent Employee.
+     */
+    public Employee toEmployee() {
+        return new Employee(getId(), getFirstName(), getLastName(), getEmail(), getCompany(), getExtraFields());
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeRow{row=" + row + ", id=" + getId() + "}";
+    }
+}
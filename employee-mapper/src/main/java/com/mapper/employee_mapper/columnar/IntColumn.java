@@ -0,0 +1,36 @@
+package com.mapper.employee_mapper.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Append-only int column backed by a single primitive array.
+ */
+final class IntColumn {
+
+    private int[] values;
+    private int size;
+
+    IntColumn(int initialCapacity) {
+        this.values = new int[Math.max(initialCapacity, 16)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            // At least one more slot: a trimmed column may be empty or hold a single value
+            values = Arrays.copyOf(values, Math.max(size + 1, values.length + (values.length >> 1)));
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void trim() {
+        values = Arrays.copyOf(values, size);
+    }
+}
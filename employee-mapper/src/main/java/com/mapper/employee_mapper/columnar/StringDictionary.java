@@ -0,0 +1,39 @@
+package com.mapper.employee_mapper.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns each distinct string a dense int code, so a column of repeated values is
+ * stored as one int per row plus one copy of each distinct string. Null is code -1.
+ */
+final class StringDictionary {
+
+    static final int NULL = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return (code == NULL) ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
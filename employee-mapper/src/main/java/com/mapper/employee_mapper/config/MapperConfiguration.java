@@ -0,0 +1,254 @@
+package com.mapper.employee_mapper.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.mapper.employee_mapper.controller.TenantConcurrencyLimiter;
+import com.mapper.employee_mapper.domain.Company;
+import com.mapper.employee_mapper.domain.Employee;
+import com.mapper.employee_mapper.mapper.CompanyMappingRegistry;
+import com.mapper.employee_mapper.mapper.DeltaMapper;
+import com.mapper.employee_mapper.mapper.DomainJsonWriter;
+import com.mapper.employee_mapper.mapper.DomainMapper;
+import com.mapper.employee_mapper.mapper.EmployeeMappingRegistry;
+import com.mapper.employee_mapper.mapper.JsonTokenMapper;
+import com.mapper.employee_mapper.mapper.MappedResultCache;
+import com.mapper.employee_mapper.mapper.MappingEngine;
+import com.mapper.employee_mapper.mapper.PersistentResultStore;
+import com.mapper.employee_mapper.mapper.SdkDomainMapperImpl;
+import com.mapper.employee_mapper.mapper.StringDeduplicator;
+import com.mapper.employee_mapper.mapper.UniversalReflectionMapper;
+import com.mapper.employee_mapper.merge_sdk.Group;
+import com.mapper.employee_mapper.merge_sdk.ObjectMappers;
+import com.mapper.employee_mapper.metrics.MicrometerMappingObserver;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Creates the shared mapper, registers our domain classes on it and picks the
+ * {@link DomainMapper} implementation exposed to the controllers.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(MapperProperties.class)
+public class MapperConfiguration {
+
+    /**
+     * Pool for bulk mapping; the common pool unless mapper.bulk.parallelism is set.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool mappingForkJoinPool(MapperProperties properties) {
+        int parallelism = properties.getBulk().getParallelism();
+        return (parallelism > 0) ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Cross-request cache of group leftovers, only with mapper.cache.enabled=true.
+     * Companies are not cached: mapping one is a handful of field copies, cheaper than
+     * fingerprinting and copying a cached one (see ResultCacheBenchmark).
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "mapper.cache", name = "enabled", havingValue = "true")
+    public MappedResultCache mappedResultCache(MapperProperties properties) {
+        MapperProperties.Cache cache = properties.getCache();
+        return new MappedResultCache(cache.getMaximumSize(), cache.getExpireAfterWrite(),
+                Set.of(), Set.of(Group.class));
+    }
+
+    /**
+     * Publishes mapping latency, failures and extraFields sizes to the actuator's registry.
+     */
+    @Bean
+    public MicrometerMappingObserver micrometerMappingObserver(MeterRegistry meterRegistry) {
+        return new MicrometerMappingObserver(meterRegistry);
+    }
+
+    /**
+     * String dictionary for mapped results, only with mapper.dedup.enabled=true. Its lookups,
+     * hits and hit ratio are published as mapper.dedup.*.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "mapper.dedup", name = "enabled", havingValue = "true")
+    public StringDeduplicator stringDeduplicator(MapperProperties properties, MeterRegistry meterRegistry) {
+        MapperProperties.Dedup dedup = properties.getDedup();
+        StringDeduplicator deduplicator = new StringDeduplicator(dedup.getMaxEntries(), dedup.getMaxLength());
+        FunctionCounter.builder("mapper.dedup.lookups", deduplicator, StringDeduplicator::lookups)
+                .description("Mapped strings looked up in the dictionary")
+                .register(meterRegistry);
+        FunctionCounter.builder("mapper.dedup.hits", deduplicator, StringDeduplicator::hits)
+                .description("Mapped strings replaced by an already retained instance")
+                .register(meterRegistry);
+        Gauge.builder("mapper.dedup.ratio", deduplicator, StringDeduplicator::dedupRatio)
+                .description("Share of looked-up strings that were deduplicated")
+                .register(meterRegistry);
+        return deduplicator;
+    }
+
+    @Bean
+    public UniversalReflectionMapper universalReflectionMapper(MapperProperties properties,
+                                                               ForkJoinPool mappingForkJoinPool,
+                                                               ObjectProvider<MappedResultCache> mappedResultCache,
+                                                               ObjectProvider<StringDeduplicator> stringDeduplicator,
+                                                               MicrometerMappingObserver micrometerMappingObserver,
+                                                               Environment environment) {
+        return new UniversalReflectionMapper()
+                .withAccessorMode(properties.getAccessorMode())
+                .withGenerationThreshold(properties.getGenerationThreshold())
+                .withLazyExtraFields(properties.isLazyExtraFields())
+                .withShareNestedById(properties.isShareNestedById())
+                .withResultCache(mappedResultCache.getIfAvailable())
+                .withLeftoverLimits(properties.getLeftover().getMaxDepth(), properties.getLeftover().getMaxElements())
+                .withBulkPool(mappingForkJoinPool)
+                .withBulkChunkSize(properties.getBulk().getChunkSize())
+                .withBulkExecutor(virtualBulkExecutor(environment))
+                .withStringDeduplicator(stringDeduplicator.getIfAvailable(), properties.getDedup().isPerBatch())
+                .withObserver(micrometerMappingObserver)
+                .registerMapping(Employee.class, new EmployeeMappingRegistry())
+                .registerMapping(Company.class, new CompanyMappingRegistry());
+    }
+
+    /**
+     * Bulk mapping runs one virtual thread per chunk when spring.threads.virtual.enabled=true,
+     * the same switch that moves Tomcat's request threads to virtual threads. Virtual threads
+     * need Java 21; on older runtimes the switch is ignored and the fork/join pool is kept.
+     * Deliberately not a bean: an Executor bean would replace Boot's applicationTaskExecutor.
+     */
+    private static Executor virtualBulkExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("mapper-bulk-");
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "bulk mapping stays on platform threads", Runtime.version().feature());
+        }
+        return null;
+    }
+
+    /**
+     * On-disk store of serialized results keyed by source content, only with mapper.store.enabled=true.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "mapper.store", name = "enabled", havingValue = "true")
+    public PersistentResultStore persistentResultStore(MapperProperties properties,
+                                                       UniversalReflectionMapper universalReflectionMapper)
+            throws IOException {
+        MapperProperties.Store store = properties.getStore();
+        return PersistentResultStore.open(store.getPath(), store.getMaxSize().toBytes(),
+                storeSchema(properties, universalReflectionMapper), ObjectMappers.JSON_MAPPER);
+    }
+
+    /**
+     * Everything the stored results depend on besides the source: the schema version for
+     * rule changes, plus the settings and converters that change the mapped JSON, so
+     * flipping any of them discards the file instead of serving results mapped the old way.
+     */
+    static String storeSchema(MapperProperties properties, UniversalReflectionMapper universalReflectionMapper) {
+        MapperProperties.Leftover leftover = properties.getLeftover();
+        return "version=" + properties.getStore().getSchemaVersion()
+                + ";engine=" + properties.getEngine()
+                + ";lazy-extra-fields=" + properties.isLazyExtraFields()
+                + ";leftover.max-depth=" + leftover.getMaxDepth()
+                + ";leftover.max-elements=" + leftover.getMaxElements()
+                + ";converters=" + universalReflectionMapper.describeConverters();
+    }
+
+    /**
+     * Blackbird for Spring's ObjectMapper too, exactly when ObjectMappers enabled it for
+     * the SDK mapper (-Dmapper.jackson.blackbird=true), so both mappers run in the same mode.
+     */
+    @Bean
+    @Conditional(BlackbirdEnabledCondition.class)
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Bounded scheduler for the reactive transform endpoint (mapper.reactive.parallelism).
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler reactiveMappingScheduler(MapperProperties properties) {
+        int parallelism = properties.getReactive().getParallelism();
+        return Schedulers.newParallel("mapper-reactive",
+                (parallelism > 0) ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Per-tenant cap on concurrent mapping requests (mapper.tenant.*).
+     */
+    @Bean
+    public TenantConcurrencyLimiter tenantConcurrencyLimiter(MapperProperties properties) {
+        MapperProperties.Tenant tenant = properties.getTenant();
+        return new TenantConcurrencyLimiter(tenant.getMaxConcurrentRequests(), tenant.getAcquireTimeout());
+    }
+
+    @Bean
+    public JsonTokenMapper jsonTokenMapper(UniversalReflectionMapper universalReflectionMapper) {
+        return new JsonTokenMapper(universalReflectionMapper, ObjectMappers.JSON_MAPPER);
+    }
+
+    @Bean
+    public DomainJsonWriter domainJsonWriter(UniversalReflectionMapper universalReflectionMapper) {
+        return new DomainJsonWriter(universalReflectionMapper);
+    }
+
+    /**
+     * Change-only mapping against the JSON the controllers return (Spring's ObjectMapper).
+     */
+    @Bean
+    public DeltaMapper deltaMapper(DomainMapper domainMapper, ObjectMapper objectMapper) {
+        return new DeltaMapper(domainMapper, objectMapper);
+    }
+
+    /**
+     * The mapper the controllers use: the reflective one, or the one generated at build time.
+     */
+    @Bean
+    @Primary
+    public DomainMapper domainMapper(MapperProperties properties, UniversalReflectionMapper universalReflectionMapper) {
+        if (properties.getEngine() == MappingEngine.GENERATED) {
+            // Same leftover limits as the reflective engine, so switching engines keeps the JSON
+            MapperProperties.Leftover leftover = properties.getLeftover();
+            return new SdkDomainMapperImpl(leftover.getMaxDepth(), leftover.getMaxElements());
+        }
+        return universalReflectionMapper;
+    }
+
+    /**
+     * Defers to {@link ObjectMappers#isBlackbirdEnabled()}. A matching property would also
+     * see mapper.jackson.blackbird in application.properties, which the SDK mapper, built
+     * before Spring starts, never reads; such a setting is reported and ignored.
+     */
+    static class BlackbirdEnabledCondition implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            boolean enabled = ObjectMappers.isBlackbirdEnabled();
+            Boolean configured = context.getEnvironment().getProperty(ObjectMappers.BLACKBIRD_PROPERTY, Boolean.class);
+            if (configured != null && configured != enabled) {
+                log.warn("{}={} is ignored: Blackbird is only switched by the JVM system property (currently {})",
+                        ObjectMappers.BLACKBIRD_PROPERTY, configured, enabled);
+            }
+            return enabled;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.mapper.employee_mapper.config;
+
+import com.mapper.employee_mapper.mapper.AccessorMode;
+import com.mapper.employee_mapper.mapper.IngestMode;
+import com.mapper.employee_mapper.mapper.MappingEngine;
+import com.mapper.employee_mapper.mapper.StringDeduplicator;
+import com.mapper.employee_mapper.mapper.UniversalReflectionMapper;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tunables for the mapping engine, bound from the "mapper.*" properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "mapper")
+public class MapperProperties {
+
+    /**
+     * Which mapper implementation serves the controllers.
+     */
+    private MappingEngine engine = MappingEngine.REFLECTION;
+
+    /**
+     * How the streaming endpoint turns incoming JSON into domain objects.
+     */
+    private IngestMode ingestMode = IngestMode.SDK;
+
+    /**
+     * How the mapper reads SDK fields and writes domain fields.
+     */
+    private AccessorMode accessorMode = AccessorMode.REFLECTION;
+
+    /**
+     * Calls on the reflective path before a class pair is promoted to a generated
+     * mapper. Zero promotes immediately; a negative value disables generation.
+     */
+    private int generationThreshold = UniversalReflectionMapper.DEFAULT_GENERATION_THRESHOLD;
+
+    /**
+     * Build extraFields on first read/serialization instead of on every map call.
+     */
+    private boolean lazyExtraFields = false;
+
+    /**
+     * Share one mapped target between nested SDK objects with the same id, within a
+     * single call or bulk batch (identical instances are always shared).
+     */
+    private boolean shareNestedById = false;
+
+    private final Bulk bulk = new Bulk();
+
+    private final Leftover leftover = new Leftover();
+
+    private final Cache cache = new Cache();
+
+    private final Tenant tenant = new Tenant();
+
+    private final Reactive reactive = new Reactive();
+
+    private final Store store = new Store();
+
+    private final Dedup dedup = new Dedup();
+
+    @Data
+    public static class Bulk {
+
+        /**
+         * Worker threads of the dedicated bulk-mapping ForkJoinPool; 0 uses the common pool.
+         */
+        private int parallelism = 0;
+
+        /**
+         * Items a single fork/join leaf maps sequentially before splitting stops.
+         */
+        private int chunkSize = UniversalReflectionMapper.DEFAULT_BULK_CHUNK_SIZE;
+    }
+
+    @Data
+    public static class Leftover {
+
+        /**
+         * Nesting depth after which leftover values are replaced by a marker.
+         */
+        private int maxDepth = UniversalReflectionMapper.DEFAULT_LEFTOVER_MAX_DEPTH;
+
+        /**
+         * Maximum entries kept from any leftover map, collection or array.
+         */
+        private int maxElements = UniversalReflectionMapper.DEFAULT_LEFTOVER_MAX_ELEMENTS;
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Keep group leftovers across requests.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of cached results; least valuable entries are evicted beyond it.
+         */
+        private long maximumSize = 1_000;
+
+        /**
+         * How long a cached result may be reused after it was mapped.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Tenant {
+
+        /**
+         * Request header carrying the tenant id; requests without it share one "default" tenant.
+         */
+        private String header = "X-Tenant-Id";
+
+        /**
+         * Mapping requests a single tenant may run at once; 0 means unlimited.
+         */
+        private int maxConcurrentRequests = 0;
+
+        /**
+         * How long a request waits for a free slot before it is rejected with 429.
+         */
+        private Duration acquireTimeout = Duration.ZERO;
+    }
+
+    @Data
+    public static class Reactive {
+
+        /**
+         * Threads of the bounded scheduler the reactive endpoint maps on; 0 uses one per core.
+         */
+        private int parallelism = 0;
+
+        /**
+         * Records being mapped or waiting to be written at once per request; reading the
+         * request body pauses when the client drains the response slower than this.
+         */
+        private int maxInFlight = 64;
+    }
+
+    @Data
+    public static class Store {
+
+        /**
+         * Keep serialized results on disk, keyed by source content, across restarts.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Memory-mapped file holding the results.
+         */
+        private Path path = Path.of("mapped-results.dat");
+
+        /**
+         * Size of the file; once full, new results are no longer stored. At most 2GB.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+
+        /**
+         * Bump whenever the mapping rules change, to discard results mapped with the old ones.
+         * Changes to the engine, lazy-extra-fields, leftover limits or converters discard them too.
+         */
+        private String schemaVersion = "1";
+    }
+
+    @Data
+    public static class Dedup {
+
+        /**
+         * Replace repeated short strings in mapped results with one shared instance.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Use a fresh dictionary for every bulk batch instead of one kept for the application.
+         */
+        private boolean perBatch = false;
+
+        /**
+         * Distinct strings kept by the dictionary; the least used are evicted beyond it.
+         */
+        private int maxEntries = StringDeduplicator.DEFAULT_MAX_ENTRIES;
+
+        /**
+         * Longer strings are never deduplicated.
+         */
+        private int maxLength = StringDeduplicator.DEFAULT_MAX_LENGTH;
+    }
+}
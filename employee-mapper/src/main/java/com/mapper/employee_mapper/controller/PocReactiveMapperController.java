@@ -0,0 +1,139 @@
+package com.mapper.employee_mapper.controller;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.mapper.employee_mapper.config.MapperProperties;
+import com.mapper.employee_mapper.domain.Employee;
+import com.mapper.employee_mapper.mapper.DomainMapper;
+import com.mapper.employee_mapper.mapper.IngestMode;
+import com.mapper.employee_mapper.merge_sdk.ObjectMappers;
+import com.mapper.employee_mapper.merge_sdk.SdkEmployee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@RestController
+public class PocReactiveMapperController {
+
+    private static final ObjectReader SDK_EMPLOYEE_READER = ObjectMappers.reader(SdkEmployee.class);
+
+    private final DomainMapper universalMapper;
+    private final Scheduler mappingScheduler;
+    private final int maxInFlight;
+    private final TenantConcurrencyLimiter tenantLimiter;
+    private final String tenantHeader;
+    private final Counter streamFailures;
+
+    public PocReactiveMapperController(DomainMapper universalMapper,
+                                       @Qualifier("reactiveMappingScheduler") Scheduler mappingScheduler,
+                                       MapperProperties properties, TenantConcurrencyLimiter tenantLimiter,
+                                       MeterRegistry meterRegistry) {
+        this.universalMapper = universalMapper;
+        // Scheduler acotado: el mapeo nunca ocupa más hilos que mapper.reactive.parallelism
+        this.mappingScheduler = mappingScheduler;
+        this.maxInFlight = properties.getReactive().getMaxInFlight();
+        this.tenantLimiter = tenantLimiter;
+        this.tenantHeader = properties.getTenant().getHeader();
+        // Mismo contador que el endpoint de streaming; aquí siempre se lee como SdkEmployee
+        this.streamFailures = Counter.builder("mapper.stream.failures")
+                .description("Registros que no se pudieron mapear (escritos como null)")
+                .tag("ingest", IngestMode.SDK.name())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Variante reactiva: POST /poc/transform/reactive
+     * Recibe SdkEmployee en NDJSON y devuelve los Employee mapeados, también en NDJSON.
+     * - El hilo de la petición queda libre en cuanto se devuelve el Flux.
+     * - Cada registro se parsea y se mapea en el scheduler acotado; el orden de salida es
+     *   el de entrada.
+     * - Contrapresión: el cuerpo sólo se lee cuando el cliente ha consumido lo anterior,
+     *   con como mucho mapper.reactive.max-in-flight registros en vuelo, así que un cliente
+     *   lento no hace que se acumulen páginas en memoria.
+     * Igual que en /poc/transform/stream, un registro que no se puede leer o mapear se
+     * escribe como "null" en su línea (y cuenta en mapper.stream.failures), para no perder
+     * la correspondencia entre entrada y salida.
+     */
+    @PostMapping(path = "/poc/transform/reactive",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> transformReactive(InputStream requestBody, HttpServletRequest request) {
+        TenantConcurrencyLimiter.Permit permit = tenantLimiter.acquire(request.getHeader(tenantHeader));
+        TenantConcurrencyLimiter.releaseOnAsyncCompletion(request, permit);
+        return readLines(requestBody)
+                .flatMapSequential(line -> Mono
+                                .fromCallable(() -> mapLine(line))
+                                .subscribeOn(mappingScheduler),
+                        maxInFlight, 1)
+                .doFinally(signal -> permit.close());
+    }
+
+    /**
+     * El Employee mapeado, o un null JSON si la línea no es un SdkEmployee válido o no se
+     * puede mapear (un Flux no admite null).
+     */
+    private Object mapLine(String line) {
+        Employee employee = null;
+        try {
+            SdkEmployee source = SDK_EMPLOYEE_READER.readValue(line);
+            employee = (source == null) ? null : universalMapper.map(source, Employee.class);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Skipping unreadable NDJSON record: {}", e.getMessage());
+        }
+        if (employee == null) {
+            streamFailures.increment();
+            return NullNode.getInstance();
+        }
+        return employee;
+    }
+
+    /**
+     * Lee el NDJSON bajo demanda, línea a línea: cada request(n) del suscriptor lee como
+     * mucho n líneas no vacías. Una línea mal formada no corta el resto del stream.
+     * La lectura es bloqueante, por eso se hace en boundedElastic y no en el scheduler de mapeo.
+     */
+    private Flux<String> readLines(InputStream requestBody) {
+        return Flux.<String, BufferedReader>generate(
+                        () -> new BufferedReader(new InputStreamReader(requestBody, StandardCharsets.UTF_8)),
+                        (lines, sink) -> {
+                            try {
+                                String line = lines.readLine();
+                                while (line != null && line.isBlank()) {
+                                    line = lines.readLine();
+                                }
+                                if (line != null) {
+                                    sink.next(line);
+                                } else {
+                                    sink.complete();
+                                }
+                            } catch (IOException e) {
+                                sink.error(e);
+                            }
+                            return lines;
+                        },
+                        lines -> {
+                            try {
+                                lines.close();
+                            } catch (IOException e) {
+                                log.debug("Unable to close the request body", e);
+                            }
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,396 @@
+package com.mapper.employee_mapper.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mapper.employee_mapper.config.MapperProperties;
+import com.mapper.employee_mapper.domain.Employee;
+import com.mapper.employee_mapper.mapper.DeltaMapper;
+import com.mapper.employee_mapper.mapper.DomainJsonWriter;
+import com.mapper.employee_mapper.mapper.DomainMapper;
+import com.mapper.employee_mapper.mapper.IngestMode;
+import com.mapper.employee_mapper.mapper.JsonTokenMapper;
+import com.mapper.employee_mapper.mapper.MappedResultCache;
+import com.mapper.employee_mapper.mapper.MappingDelta;
+import com.mapper.employee_mapper.mapper.PersistentResultStore;
+import com.mapper.employee_mapper.merge_sdk.EmployeeGroupsItem;
+import com.mapper.employee_mapper.merge_sdk.Group;
+import com.mapper.employee_mapper.merge_sdk.ObjectMappers;
+import com.mapper.employee_mapper.merge_sdk.SdkAddress;
+import com.mapper.employee_mapper.merge_sdk.SdkCompany;
+import com.mapper.employee_mapper.merge_sdk.SdkEmployee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.List;
+
+@Slf4j
+@RestController
+public class PocSingleMapperController {
+
+    private static final ObjectReader SDK_EMPLOYEE_READER = ObjectMappers.reader(SdkEmployee.class);
+
+    private static final byte[] NULL_RECORD = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final DomainMapper universalMapper;
+    private final JsonTokenMapper jsonTokenMapper;
+    private final DomainJsonWriter domainJsonWriter;
+    private final DeltaMapper deltaMapper;
+    private final MappedResultCache mappedResultCache;
+    private final IngestMode ingestMode;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter employeeWriter;
+    private final ObjectWriter ndjsonEmployeeWriter;
+    private final Timer streamTimer;
+    private final Counter streamRecords;
+    private final Counter streamFailures;
+    private final Counter storeHits;
+    private final PersistentResultStore resultStore;
+    private final TenantConcurrencyLimiter tenantLimiter;
+    private final String tenantHeader;
+
+    public PocSingleMapperController(DomainMapper universalMapper, JsonTokenMapper jsonTokenMapper,
+                                     DomainJsonWriter domainJsonWriter, MapperProperties properties,
+                                     ObjectMapper objectMapper, ObjectProvider<MappedResultCache> mappedResultCache,
+                                     MeterRegistry meterRegistry, TenantConcurrencyLimiter tenantLimiter,
+                                     DeltaMapper deltaMapper, ObjectProvider<PersistentResultStore> resultStore) {
+        // 1) El mapper llega ya configurado (reflexivo o generado, ver MapperConfiguration)
+        this.universalMapper = universalMapper;
+        this.jsonTokenMapper = jsonTokenMapper;
+        this.domainJsonWriter = domainJsonWriter;
+        this.deltaMapper = deltaMapper;
+        // Caché entre peticiones; null si mapper.cache.enabled=false
+        this.mappedResultCache = mappedResultCache.getIfAvailable();
+        // Almacén en disco de resultados ya mapeados; null si mapper.store.enabled=false
+        this.resultStore = resultStore.getIfAvailable();
+        this.ingestMode = properties.getIngestMode();
+        // Límite de peticiones concurrentes por tenant (cabecera mapper.tenant.header)
+        this.tenantLimiter = tenantLimiter;
+        this.tenantHeader = properties.getTenant().getHeader();
+        // Writers del ObjectMapper de Spring, para que el JSON de salida sea igual al del
+        // endpoint GET; se construyen una vez y son inmutables, no uno por petición
+        this.jsonWriter = objectMapper.writer();
+        this.employeeWriter = objectMapper.writerFor(Employee.class);
+        this.ndjsonEmployeeWriter = employeeWriter.withRootValueSeparator("\n");
+        // Métricas del endpoint de streaming, etiquetadas por modo de ingesta (ver /actuator/metrics)
+        String mode = ingestMode.name();
+        this.streamTimer = Timer.builder("mapper.stream")
+                .description("Duración completa de una petición de streaming")
+                .tag("ingest", mode)
+                .register(meterRegistry);
+        this.streamRecords = Counter.builder("mapper.stream.records")
+                .description("Registros NDJSON escritos por el endpoint de streaming")
+                .tag("ingest", mode)
+                .register(meterRegistry);
+        this.streamFailures = Counter.builder("mapper.stream.failures")
+                .description("Registros que no se pudieron mapear (escritos como null)")
+                .tag("ingest", mode)
+                .register(meterRegistry);
+        this.storeHits = Counter.builder("mapper.stream.store_hits")
+                .description("Registros servidos desde el almacén en disco sin volver a mapearlos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Endpoint único: GET /poc/transform
+     * Retorna un Employee (dominio) mapeado desde un SdkEmployee con varios campos.
+     */
+    @GetMapping("/poc/transform")
+    public Employee transformWithSingleMapper(HttpServletRequest request) {
+        try (TenantConcurrencyLimiter.Permit permit = tenantLimiter.acquire(request.getHeader(tenantHeader))) {
+            // 2) Construimos un SdkEmployee con datos más completos
+            SdkEmployee sdkEmployee = buildFullSdkEmployee();
+
+            // 3) Lo mapeamos a nuestro dominio Employee
+            Employee domainEmployee = universalMapper.map(sdkEmployee, Employee.class);
+
+            // 4) Lo devolvemos (Spring lo serializa a JSON)
+            return domainEmployee;
+        }
+    }
+
+    /**
+     * Variante fusionada: GET /poc/transform/fused
+     * Devuelve el mismo JSON que /poc/transform, pero escrito directamente desde el
+     * SdkEmployee: no se construye el Employee intermedio ni se recorre el grafo dos veces.
+     * Cuenta para el límite de peticiones concurrentes del tenant, como /poc/transform.
+     */
+    @GetMapping(path = "/poc/transform/fused", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void transformFused(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // El mapeo ocurre al serializar, así que se escribe aquí, con el permiso del tenant tomado
+        try (TenantConcurrencyLimiter.Permit permit = tenantLimiter.acquire(request.getHeader(tenantHeader))) {
+            SdkEmployee sdkEmployee = buildFullSdkEmployee();
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            jsonWriter.writeValue(response.getOutputStream(), domainJsonWriter.asJson(sdkEmployee, Employee.class));
+        }
+    }
+
+    /**
+     * Contadores de la caché de resultados: GET /poc/cache/stats
+     * Devuelve aciertos, fallos y expulsiones (vacío si la caché está desactivada).
+     */
+    @GetMapping("/poc/cache/stats")
+    public Map<String, Object> cacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (mappedResultCache == null) {
+            stats.put("enabled", false);
+            return stats;
+        }
+        CacheStats cacheStats = mappedResultCache.stats();
+        stats.put("enabled", true);
+        stats.put("size", mappedResultCache.estimatedSize());
+        stats.put("hitCount", cacheStats.hitCount());
+        stats.put("missCount", cacheStats.missCount());
+        stats.put("evictionCount", cacheStats.evictionCount());
+        stats.put("hitRate", cacheStats.hitRate());
+        return stats;
+    }
+
+    /**
+     * Sólo los cambios: POST /poc/transform/delta
+     * Recibe {"previous": <Employee enviado la última vez, o null>, "current": <SdkEmployee>}
+     * y devuelve un JSON Merge Patch (RFC 7386) con lo que cambió; {} si no cambió nada.
+     * Los subárboles cuyo hash no cambió (company, extraFields...) se saltan sin recorrerlos.
+     * Cuenta para el límite de peticiones concurrentes del tenant.
+     */
+    @PostMapping(path = "/poc/transform/delta",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = "application/merge-patch+json")
+    public ResponseEntity<JsonNode> transformDelta(@RequestBody JsonNode body, HttpServletRequest request)
+            throws IOException {
+        try (TenantConcurrencyLimiter.Permit permit = tenantLimiter.acquire(request.getHeader(tenantHeader))) {
+            JsonNode previous = body.path("previous");
+            SdkEmployee current = SDK_EMPLOYEE_READER.readValue(body.path("current"));
+            MappingDelta<Employee> delta = deltaMapper.diff(
+                    previous.isObject() ? deltaMapper.fingerprint(previous) : null, current, Employee.class);
+            if (delta == null) {
+                return ResponseEntity.unprocessableEntity().build();
+            }
+            return ResponseEntity.ok(delta.getMergePatch());
+        }
+    }
+
+    /**
+     * Endpoint de streaming: POST /poc/transform/stream
+     * Recibe SdkEmployee en NDJSON (uno por línea) y devuelve los Employee mapeados también
+     * en NDJSON, registro a registro. Nunca se carga el payload completo en memoria: cada línea
+     * se lee, se mapea y se escribe antes de pasar a la siguiente.
+     * Si un registro no se puede mapear, o su línea no es JSON válido, se escribe "null" en su
+     * línea, para no perder la correspondencia entre entrada y salida.
+     * Con mapper.ingest-mode=TOKEN el JSON se mapea directamente desde los tokens, sin
+     * construir los objetos SdkEmployee intermedios.
+     * Si el tenant ya tiene mapper.tenant.max-concurrent-requests peticiones en curso se
+     * responde 429; el permiso se libera cuando termina el streaming (o la petición asíncrona
+     * acaba por timeout o error), no al salir del método.
+     */
+    @PostMapping(path = "/poc/transform/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transformStream(InputStream requestBody,
+                                                                 HttpServletRequest request) {
+        TenantConcurrencyLimiter.Permit permit = tenantLimiter.acquire(request.getHeader(tenantHeader));
+        // Si el cuerpo nunca llega a ejecutarse (timeout, desconexión) el permiso se libera igual
+        TenantConcurrencyLimiter.releaseOnAsyncCompletion(request, permit);
+        StreamingResponseBody body = outputStream -> {
+            Timer.Sample sample = Timer.start();
+            try {
+                if (resultStore != null && ingestMode == IngestMode.SDK) {
+                    writeThroughStore(requestBody, outputStream);
+                } else {
+                    writeMapped(requestBody, outputStream);
+                }
+            } finally {
+                sample.stop(streamTimer);
+                permit.close();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeMapped(InputStream requestBody, OutputStream outputStream) throws IOException {
+        try (SequenceWriter out = ndjsonEmployeeWriter.writeValues(outputStream);
+             BufferedReader lines = ndjsonLines(requestBody)) {
+            for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                if (!line.isBlank()) {
+                    writeRecord(out, mapLine(line));
+                }
+            }
+            // Salto de línea final para que el último registro también quede terminado
+            outputStream.write('\n');
+        }
+    }
+
+    /**
+     * Igual que writeMapped en modo SDK, pero pasando por el almacén en disco: si el contenido
+     * del SdkEmployee ya se mapeó (en esta ejecución o en una anterior) se copian los bytes
+     * guardados y no se mapea ni se serializa nada. La salida es idéntica a la de writeMapped.
+     */
+    private void writeThroughStore(InputStream requestBody, OutputStream outputStream) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(outputStream);
+        try (BufferedReader lines = ndjsonLines(requestBody)) {
+            boolean first = true;
+            for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (!first) {
+                    outputStream.write('\n');
+                }
+                first = false;
+                streamRecords.increment();
+                SdkEmployee source = readLine(line);
+                if (source == null) {
+                    outputStream.write(NULL_RECORD);
+                    streamFailures.increment();
+                    continue;
+                }
+                byte[] hash = resultStore.contentHash(source, Employee.class);
+                ByteBuffer stored = resultStore.get(hash);
+                if (stored != null) {
+                    channel.write(stored);
+                    storeHits.increment();
+                    continue;
+                }
+                Employee employee = universalMapper.map(source, Employee.class);
+                byte[] json = employeeWriter.writeValueAsBytes(employee);
+                // Los fallos (null) no se guardan: se reintentan en la siguiente ejecución
+                if (employee != null) {
+                    resultStore.put(hash, json);
+                } else {
+                    streamFailures.increment();
+                }
+                outputStream.write(json);
+            }
+        }
+        outputStream.write('\n');
+    }
+
+    // Cada línea se parsea por separado: una línea mal formada no corta el resto del stream
+    private static BufferedReader ndjsonLines(InputStream requestBody) {
+        return new BufferedReader(new InputStreamReader(requestBody, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Mapea una línea NDJSON; null si no es JSON válido, no encaja con SdkEmployee o no se
+     * puede mapear.
+     */
+    private Employee mapLine(String line) {
+        if (ingestMode == IngestMode.TOKEN) {
+            try (JsonParser parser = ObjectMappers.JSON_MAPPER.createParser(line)) {
+                parser.nextToken();
+                return jsonTokenMapper.read(parser, SdkEmployee.class, Employee.class);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Skipping unreadable NDJSON record: {}", e.getMessage());
+                return null;
+            }
+        }
+        SdkEmployee source = readLine(line);
+        return (source == null) ? null : universalMapper.map(source, Employee.class);
+    }
+
+    private static SdkEmployee readLine(String line) {
+        try {
+            return SDK_EMPLOYEE_READER.readValue(line);
+        } catch (IOException e) {
+            log.debug("Skipping unreadable NDJSON record: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Un null en la salida significa que el registro falló al mapearse
+    private void writeRecord(SequenceWriter out, Employee employee) throws IOException {
+        out.write(employee);
+        streamRecords.increment();
+        if (employee == null) {
+            streamFailures.increment();
+        }
+    }
+
+    /**
+     * Crea un SdkEmployee "completo" con direcciones, grupos, empresa anidada, etc.
+     * para ilustrar cómo se mapea o va a extraFields.
+     */
+    private SdkEmployee buildFullSdkEmployee() {
+        // Direcciones en addresses
+        SdkAddress addr1 = SdkAddress.builder()
+                .street("111 Merge Lane")
+                .city("MergeCity")
+                .country("MergeLand")
+                .build();
+
+        SdkAddress addr2 = SdkAddress.builder()
+                .street("222 Another St")
+                .city("SecondCity")
+                .country("AnotherLand")
+                .build();
+
+        // Empresa con un headquartersAddress anidado
+        SdkCompany sdkCompany = SdkCompany.builder()
+                .id("COMP-ABC")
+                .legalName("Acme Corporation Intl")
+                .headquartersAddress(
+                        SdkAddress.builder()
+                                .street("HQ 1000 Some Blvd")
+                                .city("HeadquarterCity")
+                                .country("HeadquarterLand")
+                                .build()
+                )
+                .build();
+
+        // Lista de groups
+        Group realGroup = Group.builder()
+                .id(Optional.of("GRP-123"))
+                .name(Optional.of("Engineering Team"))
+                .build();
+        // Un item es objeto Group, el otro es String
+        EmployeeGroupsItem groupObject = EmployeeGroupsItem.of(realGroup);
+        EmployeeGroupsItem groupString = EmployeeGroupsItem.of("Ad-hoc Group");
+
+        List<Optional<EmployeeGroupsItem>> groupsList = Arrays.asList(
+                Optional.of(groupObject),
+                Optional.of(groupString)
+        );
+
+        // Construimos el SdkEmployee final
+        return SdkEmployee.builder()
+                .id("EMP-1")
+                .firstName("Jane")
+                .lastName("Doe")
+                .workEmail("jane.doe@acme.com")
+                .company(Optional.of(sdkCompany))     // Envuelto en Optional
+                .addresses(Arrays.asList(addr1, addr2))
+                .groups(Optional.of(groupsList))
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.mapper.employee_mapper.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Caps how many mapping requests each tenant can run at the same time, so one tenant
+ * uploading a huge payload cannot take every request thread (or, with virtual threads,
+ * every CPU) away from the others.
+ *
+ * The tenant id comes from a request header, so it is not trusted: ids that are not
+ * 1-64 letters, digits, '.', '_' or '-' are rejected with 400, and a tenant's semaphore
+ * only lives while some request holds or waits for one of its slots. The number of
+ * tracked tenants is therefore bounded by the requests in flight, however many distinct
+ * ids clients send.
+ */
+public class TenantConcurrencyLimiter {
+
+    static final String DEFAULT_TENANT = "default";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private static final Permit NO_LIMIT = () -> {
+    };
+
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutNanos;
+    private final Map<String, TenantSlots> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxConcurrentRequests requests a tenant may run at once; 0 or less disables the limit
+     * @param acquireTimeout        how long to wait for a slot before rejecting
+     */
+    public TenantConcurrencyLimiter(int maxConcurrentRequests, Duration acquireTimeout) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Takes a slot for tenant (null or blank means the default tenant), waiting up to the
+     * acquire timeout. Throws a 400 ResponseStatusException for a malformed tenant id and
+     * a 429 one when no slot frees up in time.
+     */
+    public Permit acquire(String tenant) {
+        String key = (tenant == null || tenant.isBlank()) ? DEFAULT_TENANT : tenant;
+        if (!TENANT_ID.matcher(key).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed tenant id");
+        }
+        if (maxConcurrentRequests <= 0) {
+            return NO_LIMIT;
+        }
+        TenantSlots slots = tenants.compute(key, (k, existing) -> {
+            TenantSlots tracked = (existing != null) ? existing : new TenantSlots(maxConcurrentRequests);
+            tracked.users++;
+            return tracked;
+        });
+        boolean acquired;
+        try {
+            acquired = slots.semaphore.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            untrack(key);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many concurrent mapping requests for tenant " + key);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                slots.semaphore.release();
+                untrack(key);
+            }
+        };
+    }
+
+    /**
+     * Also releases permit when the request's async processing completes, times out or
+     * fails, for handlers whose body (a StreamingResponseBody, a Flux...) runs after the
+     * method returns and might never start. Call it before returning the async value.
+     */
+    public static void releaseOnAsyncCompletion(HttpServletRequest request, Permit permit) {
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        Object key = new Object();
+        asyncManager.registerCallableInterceptor(key, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                permit.close();
+            }
+        });
+        asyncManager.registerDeferredResultInterceptor(key, new DeferredResultProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, DeferredResult<T> deferredResult) {
+                permit.close();
+            }
+        });
+    }
+
+    /**
+     * Tenants currently holding or waiting for a slot.
+     */
+    int trackedTenants() {
+        return tenants.size();
+    }
+
+    // Drops the tenant's semaphore once no request holds or waits for it
+    private void untrack(String key) {
+        tenants.computeIfPresent(key, (k, slots) -> --slots.users == 0 ? null : slots);
+    }
+
+    /**
+     * A held slot; closing it releases the slot. Closing it again does nothing.
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class TenantSlots {
+        private final Semaphore semaphore;
+        // Requests holding or waiting for a slot; only changed inside the map's compute functions
+        private int users;
+
+        TenantSlots(int permits) {
+            this.semaphore = new Semaphore(permits, true);
+        }
+    }
+}
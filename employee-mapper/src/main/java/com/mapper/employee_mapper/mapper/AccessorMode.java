@@ -0,0 +1,17 @@
+package com.mapper.employee_mapper.mapper;
+
+/**
+ * Selects how {@link UniversalReflectionMapper} reads SDK fields and writes domain fields.
+ */
+public enum AccessorMode {
+    /**
+     * Plain {@link java.lang.reflect.Field#get}/{@link java.lang.reflect.Field#set} after setAccessible.
+     */
+    REFLECTION,
+
+    /**
+     * {@link java.lang.invoke.MethodHandle} based accessors, using LambdaMetafactory-generated
+     * getter/setter functions when the class exposes matching accessor methods.
+     */
+    METHOD_HANDLE
+}
@@ -0,0 +1,73 @@
+package com.mapper.employee_mapper.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Ordered, sequential spliterator over mapped results. It pulls the source in
+ * batches, maps each batch in parallel and then hands the results out in input
+ * order, so only one batch is held in memory at a time. Failed items are
+ * reported to the failure handler and skipped.
+ */
+final class BatchMappingSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    /**
+     * Maps one batch whose first item sits at baseIndex in the overall source.
+     */
+    interface BatchMapper<T> {
+        BulkMappingResult<T> mapBatch(List<?> batch, long baseIndex);
+    }
+
+    private final Spliterator<?> source;
+    private final int batchSize;
+    private final BatchMapper<T> batchMapper;
+    private final Consumer<MappingFailure> failureHandler;
+
+    private List<T> buffer = List.of();
+    private int position;
+    private long consumed;
+
+    BatchMappingSpliterator(Spliterator<?> source, int batchSize, BatchMapper<T> batchMapper,
+                            Consumer<MappingFailure> failureHandler) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+        this.source = source;
+        this.batchSize = batchSize;
+        this.batchMapper = batchMapper;
+        this.failureHandler = failureHandler;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (true) {
+            while (position < buffer.size()) {
+                T next = buffer.get(position++);
+                if (next != null) {
+                    action.accept(next);
+                    return true;
+                }
+            }
+            if (!fillBuffer()) {
+                return false;
+            }
+        }
+    }
+
+    private boolean fillBuffer() {
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize && source.tryAdvance(batch::add)) {
+            // keep pulling until the batch is full or the source is exhausted
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+        BulkMappingResult<T> result = batchMapper.mapBatch(batch, consumed);
+        consumed += batch.size();
+        result.getFailures().forEach(failureHandler);
+        buffer = result.getResults();
+        position = 0;
+        return true;
+    }
+}
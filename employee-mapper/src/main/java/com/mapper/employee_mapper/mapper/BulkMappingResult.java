@@ -0,0 +1,32 @@
+package com.mapper.employee_mapper.mapper;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link UniversalReflectionMapper#mapAll}: one result per input item, in
+ * input order (null where the item was null or failed), plus the failures by index.
+ */
+public final class BulkMappingResult<T> {
+    private final List<T> results;
+    private final List<MappingFailure> failures;
+
+    BulkMappingResult(List<T> results, List<MappingFailure> failures) {
+        this.results = results;
+        this.failures = failures;
+    }
+
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * Failed items, sorted by index.
+     */
+    public List<MappingFailure> getFailures() {
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
@@ -0,0 +1,69 @@
+package com.mapper.employee_mapper.mapper;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that maps a slice of a list into the matching slots of a result
+ * array, splitting in halves until slices are no larger than chunkSize. A slice can
+ * also be run directly with {@link #mapSlice()} on any executor.
+ */
+final class BulkMappingTask extends RecursiveAction {
+
+    /**
+     * Maps one item, throwing instead of swallowing failures.
+     */
+    interface ItemMapper {
+        Object map(Object source) throws Exception;
+    }
+
+    private final List<?> sources;
+    private final Object[] results;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+    private final long baseIndex;
+    private final Class<?> targetClass;
+    private final ItemMapper itemMapper;
+    private final Queue<MappingFailure> failures;
+
+    BulkMappingTask(List<?> sources, Object[] results, int from, int to, int chunkSize, long baseIndex,
+                    Class<?> targetClass, ItemMapper itemMapper, Queue<MappingFailure> failures) {
+        this.sources = sources;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+        this.baseIndex = baseIndex;
+        this.targetClass = targetClass;
+        this.itemMapper = itemMapper;
+        this.failures = failures;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= chunkSize) {
+            mapSlice();
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(
+                new BulkMappingTask(sources, results, from, middle, chunkSize, baseIndex, targetClass, itemMapper, failures),
+                new BulkMappingTask(sources, results, middle, to, chunkSize, baseIndex, targetClass, itemMapper, failures));
+    }
+
+    /**
+     * Maps the whole slice sequentially on the calling thread.
+     */
+    void mapSlice() {
+        for (int i = from; i < to; i++) {
+            Object source = sources.get(i);
+            try {
+                results[i] = itemMapper.map(source);
+            } catch (Exception e) {
+                failures.add(new MappingFailure(baseIndex + i, source, targetClass, e));
+            }
+        }
+    }
+}
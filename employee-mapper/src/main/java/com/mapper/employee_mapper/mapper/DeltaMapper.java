@@ -0,0 +1,97 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Map;
+
+/**
+ * Maps an SDK object and reports only what changed since the previous mapping of the
+ * same record, as a JSON Merge Patch over the domain JSON.
+ *
+ * The previous state is a {@link MappingFingerprint}: subtrees (the nested Company,
+ * extraFields, ...) whose hash did not change are skipped without looking inside them,
+ * and only the subtrees that did change are descended into. The JSON is the one the
+ * given ObjectMapper produces for the domain object, so the patch applies to records
+ * serialized the same way.
+ *
+ * Merge Patch cannot tell "set to null" from "removed": both show up as null.
+ */
+public class DeltaMapper {
+
+    private final DomainMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    public DeltaMapper(DomainMapper mapper, ObjectMapper objectMapper) {
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Fingerprint of an already mapped domain object.
+     */
+    public MappingFingerprint fingerprint(Object domainObject) {
+        return MappingFingerprint.of(objectMapper.valueToTree(domainObject));
+    }
+
+    /**
+     * Fingerprint of a previously sent record, as JSON.
+     */
+    public MappingFingerprint fingerprint(JsonNode previousJson) {
+        return MappingFingerprint.of(previousJson);
+    }
+
+    /**
+     * Maps source and diffs it against previous. A null previous (a record never sent
+     * before) yields the whole document as the patch. Returns null when source is null
+     * or cannot be mapped.
+     */
+    public <T> MappingDelta<T> diff(MappingFingerprint previous, Object source, Class<T> targetClass) {
+        T target = mapper.map(source, targetClass);
+        if (target == null) {
+            return null;
+        }
+        JsonNode current = objectMapper.valueToTree(target);
+        MappingFingerprint fingerprint = MappingFingerprint.of(current);
+        ObjectNode patch;
+        if (previous == null || !previous.isObject() || !current.isObject()) {
+            patch = current.isObject() ? (ObjectNode) current : objectMapper.createObjectNode();
+        } else {
+            patch = mergePatch(previous, fingerprint, (ObjectNode) current);
+        }
+        return new MappingDelta<>(target, fingerprint, patch);
+    }
+
+    /**
+     * Convenience for when the previously mapped object is still at hand.
+     */
+    public <T> MappingDelta<T> diff(T previous, Object source, Class<T> targetClass) {
+        return diff(previous == null ? null : fingerprint(previous), source, targetClass);
+    }
+
+    private ObjectNode mergePatch(MappingFingerprint previous, MappingFingerprint current, ObjectNode currentNode) {
+        ObjectNode patch = objectMapper.createObjectNode();
+        Map<String, MappingFingerprint> before = previous.getChildren();
+        for (Map.Entry<String, MappingFingerprint> entry : current.getChildren().entrySet()) {
+            String name = entry.getKey();
+            MappingFingerprint now = entry.getValue();
+            MappingFingerprint then = before.get(name);
+            if (then != null && then.getHash() == now.getHash()) {
+                continue;
+            }
+            JsonNode value = currentNode.get(name);
+            if (then != null && then.isObject() && now.isObject()) {
+                patch.set(name, mergePatch(then, now, (ObjectNode) value));
+            } else {
+                patch.set(name, value);
+            }
+        }
+        for (String name : before.keySet()) {
+            if (!current.getChildren().containsKey(name)) {
+                patch.putNull(name);
+            }
+        }
+        return patch;
+    }
+}
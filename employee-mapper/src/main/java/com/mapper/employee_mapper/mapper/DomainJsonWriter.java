@@ -0,0 +1,139 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Writes the JSON of a domain object straight from its SDK source, without building
+ * the domain object first. Field order, renames, nested registries and extraFields
+ * follow the same {@link MappingPlan} as {@link UniversalReflectionMapper}, so the
+ * output is the same as mapping and then serializing the result with the same
+ * ObjectMapper.
+ *
+ * Unlike {@link UniversalReflectionMapper#map(Object, Class)}, a failure half way
+ * through cannot be turned into a null result: the exception is propagated and the
+ * generator is left with a partial object.
+ */
+public class DomainJsonWriter {
+
+    private final UniversalReflectionMapper mapper;
+
+    public DomainJsonWriter(UniversalReflectionMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Writes source as the JSON of targetClass. A null (or empty Optional) source
+     * is written as a JSON null.
+     */
+    public void write(Object source, Class<?> targetClass, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        if (source instanceof Optional) {
+            source = ((Optional<?>) source).orElse(null);
+        }
+        if (source == null) {
+            gen.writeNull();
+            return;
+        }
+
+        MappingPlan plan;
+        try {
+            plan = mapper.planFor(source.getClass(), targetClass);
+        } catch (NoSuchMethodException e) {
+            throw JsonMappingException.from(gen, "Cannot map " + source.getClass().getSimpleName()
+                    + " to " + targetClass.getSimpleName(), e);
+        }
+        boolean writeNulls = writesNulls(provider, targetClass);
+
+        gen.writeStartObject(source);
+        for (MappingPlan.DomainProperty property : plan.getDomainProperties()) {
+            if (property.isExtraFields()) {
+                writeExtraFields(source, plan, property.getName(), writeNulls, gen, provider);
+                continue;
+            }
+            MappingPlan.FieldBinding binding = property.getBinding();
+            Object value = (binding != null) ? binding.getSdkAccessor().get(source) : null;
+            if (value instanceof Optional) {
+                value = ((Optional<?>) value).orElse(null);
+            }
+            if (binding != null && !binding.isNested()) {
+                value = mapper.convertValue(binding, value);
+            }
+            if (value == null) {
+                if (writeNulls) {
+                    gen.writeNullField(property.getName());
+                }
+                continue;
+            }
+            gen.writeFieldName(property.getName());
+            if (binding.isNested()) {
+                write(value, binding.getDomainType(), gen, provider);
+            } else {
+                provider.defaultSerializeValue(value, gen);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * A value that Jackson serializes by calling {@link #write}; return it from a
+     * controller or pass it to an ObjectWriter in place of the mapped domain object.
+     */
+    public JsonSerializable asJson(Object source, Class<?> targetClass) {
+        return new JsonSerializable.Base() {
+            @Override
+            public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+                write(source, targetClass, gen, serializers);
+            }
+
+            @Override
+            public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+                    throws IOException {
+                write(source, targetClass, gen, serializers);
+            }
+        };
+    }
+
+    private void writeExtraFields(Object source, MappingPlan plan, String name, boolean writeNulls,
+                                  JsonGenerator gen, SerializerProvider provider) throws IOException {
+        // Mapping leaves extraFields null when every SDK field was mapped
+        if (!plan.hasLeftovers()) {
+            if (writeNulls) {
+                gen.writeNullField(name);
+            }
+            return;
+        }
+        gen.writeFieldName(name);
+        gen.writeStartObject();
+        for (FieldAccessor sdkField : plan.getLeftoverFields()) {
+            Object sdkVal;
+            try {
+                sdkVal = sdkField.get(source);
+            } catch (IllegalStateException e) {
+                // Skipped, as when the leftover map is built
+                continue;
+            }
+            gen.writeFieldName(sdkField.getName());
+            mapper.writeLeftoverValue(sdkVal, gen, provider);
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Only the plain "always" / "non_null" inclusion settings are honoured; anything
+     * stricter is treated as non_null.
+     */
+    private static boolean writesNulls(SerializerProvider provider, Class<?> targetClass) {
+        JsonInclude.Include inclusion = provider.getConfig()
+                .getDefaultPropertyInclusion(targetClass)
+                .getValueInclusion();
+        return inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+    }
+}
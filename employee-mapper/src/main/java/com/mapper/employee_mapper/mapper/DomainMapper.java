@@ -0,0 +1,16 @@
+package com.mapper.employee_mapper.mapper;
+
+/**
+ * Entry point shared by every mapper implementation: the reflective
+ * {@link UniversalReflectionMapper} and the mappers generated at build time
+ * from {@link SdkDomainMapper}.
+ */
+public interface DomainMapper {
+
+    /**
+     * Maps the given sourceObject (SDK object) to an instance of the specified domain type.
+     * A mapping that fails, or that the implementation does not support, is logged and
+     * returns null, so one bad record never fails its caller.
+     */
+    <T> T map(Object sourceObject, Class<T> targetClass);
+}
@@ -0,0 +1,14 @@
+package com.mapper.employee_mapper.mapper;
+
+/**
+ * Reads and writes one resolved field. Instances are created once per field by
+ * {@link FieldAccessors} and held by the {@link MappingPlan}.
+ */
+interface FieldAccessor {
+
+    String getName();
+
+    Object get(Object target);
+
+    void set(Object target, Object value);
+}
@@ -0,0 +1,234 @@
+package com.mapper.employee_mapper.mapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Builds {@link FieldAccessor}s for a given {@link AccessorMode}.
+ *
+ * In METHOD_HANDLE mode, reference-typed fields with a matching Lombok-style
+ * getter/setter get LambdaMetafactory-generated functions; everything else falls
+ * back to direct field MethodHandles. A field whose handles cannot be built at all uses
+ * reflection; every such fallback is logged once per field, so a METHOD_HANDLE run never
+ * silently measures another mode.
+ */
+@Slf4j
+final class FieldAccessors {
+
+    private static final Set<String> REPORTED_FALLBACKS = ConcurrentHashMap.newKeySet();
+
+    private FieldAccessors() {
+    }
+
+    /**
+     * Creates an accessor for the given field, which must already be accessible.
+     */
+    static FieldAccessor create(Field field, AccessorMode mode) {
+        if (mode == AccessorMode.METHOD_HANDLE) {
+            try {
+                return methodHandleAccessor(field);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Fall through to reflection for anything the lookup cannot open
+                reportFallback(field, "reflection", e);
+            }
+        }
+        return new ReflectiveAccessor(field);
+    }
+
+    private static FieldAccessor methodHandleAccessor(Field field) throws ReflectiveOperationException {
+        Class<?> owner = field.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+
+        Function<Object, Object> getter = null;
+        BiConsumer<Object, Object> setter = null;
+        if (!field.getType().isPrimitive()) {
+            getter = lambdaGetter(lookup, field);
+            setter = lambdaSetter(lookup, field);
+        }
+
+        MethodHandle getterHandle = lookup.unreflectGetter(field)
+                .asType(MethodType.methodType(Object.class, Object.class));
+        MethodHandle setterHandle = lookup.unreflectSetter(field)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return new MethodHandleAccessor(field.getName(), getter, setter, getterHandle, setterHandle);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> lambdaGetter(MethodHandles.Lookup lookup, Field field) {
+        Method method = findAccessorMethod(field.getDeclaringClass(), getterName(field), field.getType(), true);
+        if (method == null) {
+            return null;
+        }
+        try {
+            MethodHandle target = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    target,
+                    MethodType.methodType(field.getType(), field.getDeclaringClass()));
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (ReflectiveOperationException | LambdaConversionException e) {
+            reportFallback(field, "a field getter handle", e);
+            return null;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to build the getter of " + field, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> lambdaSetter(MethodHandles.Lookup lookup, Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        Method method = findAccessorMethod(field.getDeclaringClass(), setterName(field), field.getType(), false);
+        if (method == null) {
+            return null;
+        }
+        try {
+            MethodHandle target = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    target,
+                    MethodType.methodType(void.class, field.getDeclaringClass(), field.getType()));
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (ReflectiveOperationException | LambdaConversionException e) {
+            reportFallback(field, "a field setter handle", e);
+            return null;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to build the setter of " + field, e);
+        }
+    }
+
+    private static void reportFallback(Field field, String fallback, Exception cause) {
+        if (REPORTED_FALLBACKS.add(field + " -> " + fallback)) {
+            log.warn("METHOD_HANDLE accessor for {} falls back to {}: {}", field, fallback, cause.toString());
+        }
+    }
+
+    private static Method findAccessorMethod(Class<?> owner, String name, Class<?> fieldType, boolean getter) {
+        try {
+            Method method = getter ? owner.getDeclaredMethod(name) : owner.getDeclaredMethod(name, fieldType);
+            if (Modifier.isStatic(method.getModifiers())) {
+                return null;
+            }
+            if (getter ? method.getReturnType() != fieldType : method.getReturnType() != void.class) {
+                return null;
+            }
+            return method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static String getterName(Field field) {
+        return "get" + capitalize(field.getName());
+    }
+
+    private static String setterName(Field field) {
+        return "set" + capitalize(field.getName());
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static final class ReflectiveAccessor implements FieldAccessor {
+        private final Field field;
+
+        ReflectiveAccessor(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public String getName() {
+            return field.getName();
+        }
+
+        @Override
+        public Object get(Object target) {
+            try {
+                return field.get(target);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to read field " + field.getName(), e);
+            }
+        }
+
+        @Override
+        public void set(Object target, Object value) {
+            try {
+                field.set(target, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to write field " + field.getName(), e);
+            }
+        }
+    }
+
+    private static final class MethodHandleAccessor implements FieldAccessor {
+        private final String name;
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+        private final MethodHandle getterHandle;
+        private final MethodHandle setterHandle;
+
+        MethodHandleAccessor(String name, Function<Object, Object> getter, BiConsumer<Object, Object> setter,
+                             MethodHandle getterHandle, MethodHandle setterHandle) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.getterHandle = getterHandle;
+            this.setterHandle = setterHandle;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Object get(Object target) {
+            if (getter != null) {
+                return getter.apply(target);
+            }
+            try {
+                return (Object) getterHandle.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Unable to read field " + name, e);
+            }
+        }
+
+        @Override
+        public void set(Object target, Object value) {
+            if (setter != null) {
+                setter.accept(target, value);
+                return;
+            }
+            try {
+                setterHandle.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Unable to write field " + name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.mapper.employee_mapper.mapper;
+
+/**
+ * A straight-line mapper for one (source class, target class) pair, generated at
+ * runtime by {@link MapperBytecodeGenerator} once a {@link MappingPlan} gets hot.
+ *
+ * Plain copies are emitted as direct getter → setter calls; anything that needs
+ * Optional unwrapping, nested-registry recursion or leftover extraction calls
+ * back into the mapper through {@link Callbacks}.
+ */
+interface GeneratedMapper {
+
+    Object map(Object source, Callbacks callbacks, MappingContext context);
+
+    /**
+     * Hooks the generated code uses for the non-trivial parts of a mapping.
+     */
+    interface Callbacks {
+
+        /**
+         * Records the freshly created target for source in the context (if any) before
+         * its fields are filled, so back references to source resolve to it.
+         */
+        void created(Object source, Object target, MappingContext context);
+
+        /**
+         * Drops the registration made by {@link #created} when filling target threw.
+         */
+        void failed(Object source, Object target, MappingContext context);
+
+        /**
+         * Converts the raw SDK value of the plan binding at bindingIndex to its domain value.
+         */
+        Object convert(int bindingIndex, Object sdkValue, MappingContext context);
+
+        /**
+         * Stores the leftover SDK fields of source into target's extraFields.
+         */
+        void fillLeftovers(Object source, Object target, MappingContext context);
+    }
+}
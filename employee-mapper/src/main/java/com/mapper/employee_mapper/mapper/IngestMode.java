@@ -0,0 +1,16 @@
+package com.mapper.employee_mapper.mapper;
+
+/**
+ * How JSON payloads are turned into domain objects on the ingestion endpoints.
+ */
+public enum IngestMode {
+    /**
+     * Deserialize into the SDK classes first, then map them with the {@link DomainMapper}.
+     */
+    SDK,
+
+    /**
+     * Map the JSON tokens directly with {@link JsonTokenMapper}, skipping the SDK objects.
+     */
+    TOKEN
+}
@@ -0,0 +1,583 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds extraFields values straight from JSON tokens for {@link JsonTokenMapper}: the
+ * value {@link UniversalReflectionMapper#buildLeftoverValue} builds from the SDK object
+ * sdkMapper would read from the same JSON, without reading that object first.
+ *
+ * One reader is compiled per declared SDK type and shared by every value of that type:
+ *   - SDK beans (Group, RemoteData, SdkAddress...) become maps of their Java fields in
+ *     declaration order; fields the JSON does not set keep the value they have in the
+ *     object sdkMapper reads from "{}", and unknown properties land in the field behind
+ *     the class's any-getter (additionalProperties);
+ *   - Optionals are unwrapped as they are read, and lists, string-keyed maps and JSON
+ *     trees are built directly;
+ *   - unions holding an object (an EmployeeGroupsItem holding a Group) become their
+ *     {value, type} map with the object streamed in place.
+ * Every level goes through the mapper's depth and element limits, depth marker and
+ * string dictionary, exactly as the reflective walk does.
+ *
+ * Values without fields to stream are still read with sdkMapper and handed to the
+ * mapper: scalars (OffsetDateTime...), unions read from a scalar (a group name, a
+ * GroupType constant), unknown and untyped properties, and any type there is no
+ * streaming shape for (sets, arrays, non-string map keys, custom deserializers, classes
+ * sdkMapper cannot read from "{}").
+ */
+final class JsonLeftoverReader {
+
+    // Marks a field the JSON did not set, and a class sdkMapper cannot read from "{}"
+    private static final Object ABSENT = new Object();
+
+    private final UniversalReflectionMapper mapper;
+    private final ObjectMapper sdkMapper;
+    private final JsonNodeFactory nodeFactory;
+    // Scalar tree nodes are built by hand only under Jackson's default number handling
+    private final boolean defaultNumberNodes;
+    private final ObjectReader untypedReader;
+    private final ObjectReader nodeReader;
+
+    private final Map<Type, ValueReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Object> templates = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<BeanShape>> shapes = new ConcurrentHashMap<>();
+
+    JsonLeftoverReader(UniversalReflectionMapper mapper, ObjectMapper sdkMapper) {
+        this.mapper = mapper;
+        this.sdkMapper = sdkMapper;
+        DeserializationConfig config = sdkMapper.getDeserializationConfig();
+        this.nodeFactory = config.getNodeFactory();
+        this.defaultNumberNodes = !config.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                && !config.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS)
+                && !config.isEnabled(DeserializationFeature.USE_LONG_FOR_INTS);
+        this.untypedReader = sdkMapper.readerFor(Object.class);
+        this.nodeReader = sdkMapper.readerFor(JsonNode.class);
+    }
+
+    ObjectMapper getSdkMapper() {
+        return sdkMapper;
+    }
+
+    /**
+     * Reads the value the parser's current token starts as extraFields stores it, leaving
+     * the parser on the value's last token. A walk of null records nothing.
+     */
+    interface ValueReader {
+        Object read(JsonParser parser, int depth, UniversalReflectionMapper.LeftoverWalk walk) throws IOException;
+    }
+
+    /**
+     * Reader for values of the declared (generic) SDK type.
+     */
+    ValueReader readerFor(Type type) {
+        ValueReader reader = readers.get(type);
+        if (reader == null) {
+            // Not computeIfAbsent: compiling a container asks for its element type's reader
+            reader = compile(type);
+            ValueReader raced = readers.putIfAbsent(type, reader);
+            if (raced != null) {
+                reader = raced;
+            }
+        }
+        return reader;
+    }
+
+    /**
+     * The value sdkClass's field has when the JSON does not set it (null if sdkClass
+     * cannot be read from "{}").
+     */
+    Object defaultValueOf(Class<?> sdkClass, Field field) {
+        Object template = templateOf(sdkClass);
+        if (template == null) {
+            return null;
+        }
+        try {
+            return field.get(template);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private ValueReader compile(Type type) {
+        Class<?> raw = rawClassOf(type);
+        if (raw == Optional.class) {
+            return optionalReader(readerFor(typeArgument(type, 0)));
+        }
+        if (raw == JsonNode.class) {
+            return this::readNode;
+        }
+        if (raw == Object.class || raw.isArray()) {
+            return fallbackReader(type);
+        }
+        if ((raw == Map.class || raw == LinkedHashMap.class) && typeArgument(type, 0) == String.class) {
+            return mapReader(type, readerFor(typeArgument(type, 1)));
+        }
+        if (raw == List.class || raw == Collection.class || raw == ArrayList.class) {
+            return listReader(type, readerFor(typeArgument(type, 0)));
+        }
+        if (mapper.isSimpleType(raw) || mapper.isJdkValueType(raw)) {
+            return scalarReader(raw);
+        }
+        if (hasCustomDeserializer(raw)) {
+            return unionReader(raw);
+        }
+        if (isStreamableBean(raw)) {
+            return new BeanReader(raw);
+        }
+        return fallbackReader(type);
+    }
+
+    /**
+     * Reads the SDK value as sdkMapper does and converts it as the reflective walk does.
+     */
+    private ValueReader fallbackReader(Type type) {
+        ObjectReader reader = sdkMapper.readerFor(sdkMapper.constructType(type));
+        return (parser, depth, walk) -> mapper.buildLeftoverValue(reader.readValue(parser), depth, walk);
+    }
+
+    // The SDK reads a JSON null as Optional.empty, which the walk still counts as a level
+    private static ValueReader optionalReader(ValueReader content) {
+        return (parser, depth, walk) -> {
+            reached(walk, depth);
+            return (parser.currentToken() == JsonToken.VALUE_NULL) ? null : content.read(parser, depth, walk);
+        };
+    }
+
+    private ValueReader scalarReader(Class<?> type) {
+        ValueReader fallback = fallbackReader(type);
+        if (type != String.class) {
+            return fallback;
+        }
+        return (parser, depth, walk) -> {
+            if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                return fallback.read(parser, depth, walk);
+            }
+            reached(walk, depth);
+            return dedupe(walk, parser.getText());
+        };
+    }
+
+    private ValueReader mapReader(Type type, ValueReader values) {
+        ValueReader fallback = fallbackReader(type);
+        return (parser, depth, walk) -> {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return fallback.read(parser, depth, walk);
+            }
+            reached(walk, depth);
+            if (depth >= mapper.leftoverMaxDepth()) {
+                parser.skipChildren();
+                return UniversalReflectionMapper.MAX_DEPTH_MARKER;
+            }
+            int maxElements = mapper.leftoverMaxElements();
+            Map<String, Object> map = new LinkedHashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (map.size() < maxElements || map.containsKey(name)) {
+                    map.put(name, values.read(parser, depth + 1, walk));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return map;
+        };
+    }
+
+    private ValueReader listReader(Type type, ValueReader elements) {
+        ValueReader fallback = fallbackReader(type);
+        return (parser, depth, walk) -> {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                return fallback.read(parser, depth, walk);
+            }
+            reached(walk, depth);
+            if (depth >= mapper.leftoverMaxDepth()) {
+                parser.skipChildren();
+                return UniversalReflectionMapper.MAX_DEPTH_MARKER;
+            }
+            int maxElements = mapper.leftoverMaxElements();
+            List<Object> list = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (list.size() < maxElements) {
+                    list.add(elements.read(parser, depth + 1, walk));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return list;
+        };
+    }
+
+    /**
+     * Builds the copy of a JSON tree that the walk makes of the tree sdkMapper would read.
+     */
+    private Object readNode(JsonParser parser, int depth, UniversalReflectionMapper.LeftoverWalk walk)
+            throws IOException {
+        reached(walk, depth);
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return scalarNode(parser, token);
+        }
+        if (depth >= mapper.leftoverMaxDepth()) {
+            parser.skipChildren();
+            return UniversalReflectionMapper.MAX_DEPTH_MARKER;
+        }
+        int maxElements = mapper.leftoverMaxElements();
+        if (token == JsonToken.START_OBJECT) {
+            ObjectNode node = nodeFactory.objectNode();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (node.size() < maxElements || node.has(name)) {
+                    node.set(name, asNode(readNode(parser, depth + 1, walk)));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return node;
+        }
+        ArrayNode node = nodeFactory.arrayNode();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (node.size() < maxElements) {
+                node.add(asNode(readNode(parser, depth + 1, walk)));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return node;
+    }
+
+    // Mirrors Jackson's JsonNodeDeserializer under its default number handling
+    private JsonNode scalarNode(JsonParser parser, JsonToken token) throws IOException {
+        if (!defaultNumberNodes) {
+            return nodeReader.readValue(parser);
+        }
+        switch (token) {
+            case VALUE_STRING:
+                return nodeFactory.textNode(parser.getText());
+            case VALUE_NUMBER_INT:
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return nodeFactory.numberNode(parser.getIntValue());
+                    case LONG:
+                        return nodeFactory.numberNode(parser.getLongValue());
+                    default:
+                        return nodeFactory.numberNode(parser.getBigIntegerValue());
+                }
+            case VALUE_NUMBER_FLOAT:
+                switch (parser.getNumberTypeFP()) {
+                    case BIG_DECIMAL:
+                        return nodeFactory.numberNode(parser.getDecimalValue());
+                    case FLOAT32:
+                        return nodeFactory.numberNode(parser.getFloatValue());
+                    default:
+                        return nodeFactory.numberNode(parser.getDoubleValue());
+                }
+            case VALUE_TRUE:
+                return nodeFactory.booleanNode(true);
+            case VALUE_FALSE:
+                return nodeFactory.booleanNode(false);
+            case VALUE_NULL:
+                return nodeFactory.nullNode();
+            default:
+                return nodeReader.readValue(parser);
+        }
+    }
+
+    // A copied child is a node, or the depth marker in its place
+    private static JsonNode asNode(Object copied) {
+        return (copied instanceof JsonNode) ? (JsonNode) copied : TextNode.valueOf((String) copied);
+    }
+
+    /**
+     * Unions read from a JSON object hold the object branch's value next to constant
+     * fields (its branch index). The layout comes from the union sdkMapper reads from
+     * "{}": the one field holding a bean is streamed, the others are copied as they are.
+     * Unions without an object branch, or read from a scalar, go through sdkMapper.
+     */
+    private ValueReader unionReader(Class<?> type) {
+        ValueReader fallback = fallbackReader(type);
+        Object template = templateOf(type);
+        if (template == null) {
+            return fallback;
+        }
+        Field[] fields;
+        Object[] constants;
+        int slot = -1;
+        try {
+            fields = mapper.accessibleFieldsOf(type);
+            constants = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                constants[i] = fields[i].get(template);
+                if (constants[i] != null && !Modifier.isStatic(fields[i].getModifiers())
+                        && isStreamableBean(constants[i].getClass())) {
+                    if (slot >= 0) {
+                        return fallback;
+                    }
+                    slot = i;
+                }
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            return fallback;
+        }
+        if (slot < 0) {
+            return fallback;
+        }
+        int objectSlot = slot;
+        ValueReader objectReader = readerFor(constants[slot].getClass());
+        return (parser, depth, walk) -> {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return fallback.read(parser, depth, walk);
+            }
+            reached(walk, depth);
+            if (depth >= mapper.leftoverMaxDepth()) {
+                parser.skipChildren();
+                return UniversalReflectionMapper.MAX_DEPTH_MARKER;
+            }
+            Map<String, Object> union = new LinkedHashMap<>();
+            for (int i = 0; i < fields.length; i++) {
+                union.put(fields[i].getName(), (i == objectSlot)
+                        ? objectReader.read(parser, depth + 1, walk)
+                        : mapper.buildLeftoverValue(constants[i], depth + 1, walk));
+            }
+            return union;
+        };
+    }
+
+    /**
+     * Streams a JSON object as the map of the SDK bean's fields, once its shape is known.
+     */
+    private final class BeanReader implements ValueReader {
+        private final Class<?> type;
+        private final ValueReader fallback;
+
+        BeanReader(Class<?> type) {
+            this.type = type;
+            this.fallback = fallbackReader(type);
+        }
+
+        @Override
+        public Object read(JsonParser parser, int depth, UniversalReflectionMapper.LeftoverWalk walk)
+                throws IOException {
+            BeanShape shape = (parser.currentToken() == JsonToken.START_OBJECT) ? shapeOf(type) : null;
+            if (shape == null) {
+                return fallback.read(parser, depth, walk);
+            }
+            reached(walk, depth);
+            if (depth >= mapper.leftoverMaxDepth()) {
+                parser.skipChildren();
+                return UniversalReflectionMapper.MAX_DEPTH_MARKER;
+            }
+            return shape.read(parser, depth, walk);
+        }
+    }
+
+    // Resolved on first use, so beans that refer to each other never compile in a loop
+    private BeanShape shapeOf(Class<?> type) {
+        Optional<BeanShape> shape = shapes.get(type);
+        if (shape == null) {
+            shape = Optional.ofNullable(resolveShape(type));
+            shapes.putIfAbsent(type, shape);
+        }
+        return shape.orElse(null);
+    }
+
+    private BeanShape resolveShape(Class<?> type) {
+        Object template = templateOf(type);
+        if (template == null) {
+            return null;
+        }
+        BeanDescription description = sdkMapper.getSerializationConfig().introspect(sdkMapper.constructType(type));
+        Map<String, String> jsonNames = new HashMap<>();
+        for (BeanPropertyDefinition definition : description.findProperties()) {
+            jsonNames.put(definition.getInternalName(), definition.getName());
+        }
+        String anyField = fieldNameOf(description.findAnyGetter());
+
+        try {
+            Field[] fields = mapper.accessibleFieldsOf(type);
+            String[] names = new String[fields.length];
+            Object[] defaults = new Object[fields.length];
+            ValueReader[] fieldReaders = new ValueReader[fields.length];
+            Map<String, Integer> indexByJsonName = new HashMap<>();
+            int anyIndex = -1;
+            for (int i = 0; i < fields.length; i++) {
+                Field field = fields[i];
+                names[i] = field.getName();
+                defaults[i] = field.get(template);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                String jsonName = jsonNames.get(field.getName());
+                if (jsonName != null) {
+                    indexByJsonName.put(jsonName, i);
+                    fieldReaders[i] = readerFor(field.getGenericType());
+                } else if (field.getName().equals(anyField) && defaults[i] instanceof Map) {
+                    anyIndex = i;
+                }
+            }
+            return new BeanShape(names, defaults, fieldReaders, Map.copyOf(indexByJsonName), anyIndex);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // The field an any-getter exposes: getAdditionalProperties() -> additionalProperties
+    private static String fieldNameOf(AnnotatedMember anyGetter) {
+        if (anyGetter == null) {
+            return null;
+        }
+        String name = anyGetter.getName();
+        if (anyGetter instanceof AnnotatedMethod && name.startsWith("get") && name.length() > 3) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        }
+        return name;
+    }
+
+    /**
+     * Field layout of one SDK bean: its Java fields in declaration order, the reader of
+     * each field a JSON property sets, the field's value when the JSON leaves it out, and
+     * the field holding unknown properties (-1 if the class drops them).
+     */
+    private final class BeanShape {
+        private final String[] names;
+        private final Object[] defaults;
+        private final ValueReader[] readers;
+        private final Map<String, Integer> indexByJsonName;
+        private final int anyIndex;
+
+        BeanShape(String[] names, Object[] defaults, ValueReader[] readers, Map<String, Integer> indexByJsonName,
+                  int anyIndex) {
+            this.names = names;
+            this.defaults = defaults;
+            this.readers = readers;
+            this.indexByJsonName = indexByJsonName;
+            this.anyIndex = anyIndex;
+        }
+
+        Map<String, Object> read(JsonParser parser, int depth, UniversalReflectionMapper.LeftoverWalk walk)
+                throws IOException {
+            Object[] values = new Object[names.length];
+            Arrays.fill(values, ABSENT);
+            Map<String, Object> unknown = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                Integer index = indexByJsonName.get(name);
+                if (index != null) {
+                    values[index] = readers[index].read(parser, depth + 1, walk);
+                } else if (anyIndex >= 0) {
+                    if (unknown == null) {
+                        // Same map class as the SDK's, so the entries come out in the same order
+                        unknown = (defaults[anyIndex] instanceof LinkedHashMap) ? new LinkedHashMap<>() : new HashMap<>();
+                    }
+                    unknown.put(name, untypedReader.readValue(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            Map<String, Object> bean = new LinkedHashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                Object value;
+                if (values[i] != ABSENT) {
+                    value = values[i];
+                } else if (i == anyIndex && unknown != null) {
+                    value = mapper.buildLeftoverValue(unknown, depth + 1, walk);
+                } else {
+                    value = mapper.buildLeftoverValue(defaults[i], depth + 1, walk);
+                }
+                bean.put(names[i], value);
+            }
+            return bean;
+        }
+    }
+
+    /**
+     * The object sdkMapper reads from "{}", or null if it cannot read one.
+     */
+    private Object templateOf(Class<?> type) {
+        Object template = templates.get(type);
+        if (template == null) {
+            try {
+                template = sdkMapper.readValue("{}", type);
+            } catch (IOException | RuntimeException e) {
+                template = null;
+            }
+            templates.putIfAbsent(type, (template != null) ? template : ABSENT);
+        }
+        return (template == ABSENT) ? null : template;
+    }
+
+    private boolean hasCustomDeserializer(Class<?> type) {
+        DeserializationConfig config = sdkMapper.getDeserializationConfig();
+        return config.getAnnotationIntrospector()
+                .findDeserializer(config.introspectClassAnnotations(type).getClassInfo()) != null;
+    }
+
+    private boolean isStreamableBean(Class<?> type) {
+        return !type.isInterface() && !type.isArray() && !Modifier.isAbstract(type.getModifiers())
+                && !mapper.isSimpleType(type) && !mapper.isJdkValueType(type)
+                && !Map.class.isAssignableFrom(type) && !Collection.class.isAssignableFrom(type)
+                && !JsonNode.class.isAssignableFrom(type) && !hasCustomDeserializer(type);
+    }
+
+    private static Class<?> rawClassOf(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        // Type variables and wildcards are read untyped
+        return Object.class;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (index < arguments.length) {
+                return arguments[index];
+            }
+        }
+        return Object.class;
+    }
+
+    private static void reached(UniversalReflectionMapper.LeftoverWalk walk, int depth) {
+        if (walk != null) {
+            walk.reached(depth);
+        }
+    }
+
+    private static String dedupe(UniversalReflectionMapper.LeftoverWalk walk, String value) {
+        return (walk != null) ? walk.dedupe(value) : value;
+    }
+}
@@ -0,0 +1,111 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Maps Merge JSON straight into domain objects by walking the parser's tokens,
+ * without materializing the SDK objects the SDK ingest path only builds to copy them
+ * field by field or reflect them into extraFields.
+ *
+ * The result is the one {@link UniversalReflectionMapper#map} gives for the SDK object
+ * sdkMapper would read from the same JSON: JSON names are resolved through the SDK
+ * class's own Jackson properties and then the mapping registries (e.g. "workEmail"
+ * fills Employee.email), nested registered objects are streamed recursively, bound
+ * values are read as the SDK property's value type (no Optional around them) and passed
+ * through the mapper's converters, and leftovers are built into extraFields by
+ * {@link JsonLeftoverReader} with the mapper's limits, marker and string dictionary.
+ * No Optional, Group, RemoteData or object union is built along the way; scalar values
+ * (OffsetDateTime, a group name, a GroupType constant) are still read by sdkMapper, see
+ * JsonLeftoverReader for the full list. Properties the SDK class does not declare are
+ * skipped, as sdkMapper skips them.
+ *
+ * A value that does not fit its SDK type fails the whole read, as it fails the SDK read.
+ */
+public class JsonTokenMapper {
+
+    // Marks a leftover the JSON did not set
+    private static final Object ABSENT = new Object();
+
+    private final UniversalReflectionMapper mapper;
+    private final ObjectMapper sdkMapper;
+
+    public JsonTokenMapper(UniversalReflectionMapper mapper, ObjectMapper sdkMapper) {
+        this.mapper = mapper;
+        this.sdkMapper = sdkMapper;
+    }
+
+    /**
+     * Reads one JSON object of sourceClass into targetClass. The parser may point at the
+     * object's START_OBJECT or just before it; it is left on the matching END_OBJECT.
+     * Returns null for a JSON null.
+     */
+    public <T> T read(JsonParser parser, Class<?> sourceClass, Class<T> targetClass) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            token = parser.nextToken();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw JsonMappingException.from(parser,
+                    "Expected a JSON object for " + sourceClass.getSimpleName() + " but found " + token);
+        }
+        return targetClass.cast(readObject(parser, sourceClass, targetClass, MappingContext.local(false)));
+    }
+
+    private Object readObject(JsonParser parser, Class<?> sourceClass, Class<?> targetClass, MappingContext context)
+            throws IOException {
+        JsonTokenPlan tokenPlan;
+        Object target;
+        try {
+            tokenPlan = mapper.tokenPlanFor(sourceClass, targetClass, sdkMapper);
+            target = tokenPlan.getMappingPlan().newTarget();
+        } catch (ReflectiveOperationException e) {
+            throw JsonMappingException.from(parser, "Cannot instantiate " + targetClass.getSimpleName(), e);
+        }
+        MappingPlan plan = tokenPlan.getMappingPlan();
+
+        Object[] leftoverValues = null;
+        UniversalReflectionMapper.LeftoverWalk walk = null;
+        if (plan.hasLeftovers()) {
+            leftoverValues = new Object[plan.getLeftoverFields().size()];
+            Arrays.fill(leftoverValues, ABSENT);
+            walk = mapper.leftoverWalk(context);
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            JsonTokenPlan.Property property = tokenPlan.propertyFor(parser.currentName());
+            JsonToken valueToken = parser.nextToken();
+            if (property == null) {
+                parser.skipChildren();
+            } else if (property.getLeftoverIndex() >= 0) {
+                leftoverValues[property.getLeftoverIndex()] = property.getLeftoverReader().read(parser, 0, walk);
+            } else {
+                MappingPlan.FieldBinding binding = plan.getBindings().get(property.getBindingIndex());
+                Object value;
+                if (valueToken == JsonToken.START_OBJECT && property.getNestedSourceClass() != null) {
+                    value = readObject(parser, property.getNestedSourceClass(), binding.getDomainType(), context);
+                } else {
+                    value = mapper.convertBindingValue(binding, property.readBindingValue(parser), context);
+                }
+                mapper.setBindingValue(binding, target, value);
+            }
+        }
+
+        if (leftoverValues != null) {
+            for (int i = 0; i < leftoverValues.length; i++) {
+                if (leftoverValues[i] == ABSENT) {
+                    leftoverValues[i] = mapper.buildLeftoverValue(tokenPlan.leftoverDefault(i), 0, walk);
+                }
+            }
+            mapper.fillLeftovers(leftoverValues, walk, target, plan);
+        }
+        return target;
+    }
+}
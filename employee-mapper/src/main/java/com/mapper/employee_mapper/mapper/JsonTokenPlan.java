@@ -0,0 +1,192 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiled description of how the JSON properties of one SDK class land on one
+ * domain class, used by {@link JsonTokenMapper}. It is the token-stream counterpart
+ * of {@link MappingPlan} and is built on top of it: every JSON property the SDK class
+ * declares is resolved once to the plan's binding or leftover field it feeds.
+ *
+ * Bindings read the property's value type with any Optional stripped; leftovers get a
+ * {@link JsonLeftoverReader} reader for the field's declared type, plus the value the
+ * field has when the JSON leaves it out.
+ */
+final class JsonTokenPlan {
+
+    private final MappingPlan plan;
+    private final ObjectMapper sdkMapper;
+    private final Map<String, Property> propertiesByJsonName;
+    private final Object[] leftoverDefaults;
+
+    private JsonTokenPlan(MappingPlan plan, ObjectMapper sdkMapper, Map<String, Property> propertiesByJsonName,
+                          Object[] leftoverDefaults) {
+        this.plan = plan;
+        this.sdkMapper = sdkMapper;
+        this.propertiesByJsonName = propertiesByJsonName;
+        this.leftoverDefaults = leftoverDefaults;
+    }
+
+    /**
+     * Resolves the JSON names the leftover reader's sdkMapper reads and writes for the
+     * plan's source class (e.g. "remote_id" for Group.remoteId) against the plan's
+     * bindings and leftovers.
+     */
+    static JsonTokenPlan compile(MappingPlan plan, JsonLeftoverReader leftoverReader) {
+        ObjectMapper sdkMapper = leftoverReader.getSdkMapper();
+        Map<String, BeanPropertyDefinition> sdkProperties = new HashMap<>();
+        List<BeanPropertyDefinition> definitions = sdkMapper.getSerializationConfig()
+                .introspect(sdkMapper.constructType(plan.getSourceClass()))
+                .findProperties();
+        for (BeanPropertyDefinition definition : definitions) {
+            sdkProperties.put(definition.getInternalName(), definition);
+        }
+
+        Map<String, Property> properties = new HashMap<>();
+        List<MappingPlan.FieldBinding> bindings = plan.getBindings();
+        for (int i = 0; i < bindings.size(); i++) {
+            MappingPlan.FieldBinding binding = bindings.get(i);
+            BeanPropertyDefinition definition = sdkProperties.get(binding.getSdkField().getName());
+            if (definition == null) {
+                continue;
+            }
+            // Nested beans are streamed into the domain object; anything else is read as the SDK value type
+            Class<?> sdkValueType = MappingPlan.valueTypeOf(binding.getSdkField());
+            Class<?> nestedSourceClass = (binding.isNested() && MappingPlan.isBeanType(sdkValueType))
+                    ? sdkValueType : null;
+            JavaType type = definition.getPrimaryType();
+            boolean optional = type.isReferenceType();
+            JavaType valueType = optional ? type.getContentType() : type;
+            properties.put(definition.getName(), new Property(i, -1, sdkMapper.readerFor(valueType), optional,
+                    valueType.getRawClass() == String.class, nestedSourceClass, null));
+        }
+
+        List<FieldAccessor> leftoverFields = plan.hasLeftovers() ? plan.getLeftoverFields() : List.of();
+        Object[] leftoverDefaults = new Object[leftoverFields.size()];
+        for (int i = 0; i < leftoverFields.size(); i++) {
+            Field field = declaredField(plan.getSourceClass(), leftoverFields.get(i).getName());
+            if (field == null) {
+                continue;
+            }
+            leftoverDefaults[i] = leftoverReader.defaultValueOf(plan.getSourceClass(), field);
+            BeanPropertyDefinition definition = sdkProperties.get(field.getName());
+            if (definition == null) {
+                continue;
+            }
+            properties.put(definition.getName(), new Property(-1, i, null, false, false, null,
+                    leftoverReader.readerFor(field.getGenericType())));
+        }
+        return new JsonTokenPlan(plan, sdkMapper, Map.copyOf(properties), leftoverDefaults);
+    }
+
+    private static Field declaredField(Class<?> sourceClass, String name) {
+        try {
+            Field field = sourceClass.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    MappingPlan getMappingPlan() {
+        return plan;
+    }
+
+    ObjectMapper getSdkMapper() {
+        return sdkMapper;
+    }
+
+    /**
+     * The property for a JSON name, or null if the SDK class does not declare it.
+     */
+    Property propertyFor(String jsonName) {
+        return propertiesByJsonName.get(jsonName);
+    }
+
+    /**
+     * SDK value of the leftover field at index when the JSON does not set it (the value
+     * it has in the object sdkMapper reads from "{}").
+     */
+    Object leftoverDefault(int index) {
+        return leftoverDefaults[index];
+    }
+
+    /**
+     * One JSON property of the SDK class: either a binding or a leftover field of the plan.
+     */
+    static final class Property {
+        private final int bindingIndex;
+        private final int leftoverIndex;
+        private final ObjectReader reader;
+        private final boolean optional;
+        private final boolean stringValued;
+        private final Class<?> nestedSourceClass;
+        private final JsonLeftoverReader.ValueReader leftoverReader;
+
+        Property(int bindingIndex, int leftoverIndex, ObjectReader reader, boolean optional, boolean stringValued,
+                 Class<?> nestedSourceClass, JsonLeftoverReader.ValueReader leftoverReader) {
+            this.bindingIndex = bindingIndex;
+            this.leftoverIndex = leftoverIndex;
+            this.reader = reader;
+            this.optional = optional;
+            this.stringValued = stringValued;
+            this.nestedSourceClass = nestedSourceClass;
+            this.leftoverReader = leftoverReader;
+        }
+
+        /**
+         * Index into the plan's bindings, or -1 for a leftover.
+         */
+        int getBindingIndex() {
+            return bindingIndex;
+        }
+
+        /**
+         * Index into the plan's leftover fields, or -1 for a binding.
+         */
+        int getLeftoverIndex() {
+            return leftoverIndex;
+        }
+
+        /**
+         * Reads a binding's value as the SDK holds it, Optional unwrapped: a JSON null
+         * in an Optional property is null, whatever the content type reads it as.
+         */
+        Object readBindingValue(JsonParser parser) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL && optional) {
+                return null;
+            }
+            if (token == JsonToken.VALUE_STRING && stringValued) {
+                return parser.getText();
+            }
+            return reader.readValue(parser);
+        }
+
+        /**
+         * Reader that builds a leftover's extraFields value straight from the tokens.
+         */
+        JsonLeftoverReader.ValueReader getLeftoverReader() {
+            return leftoverReader;
+        }
+
+        /**
+         * SDK class a nested JSON object is read as, or null if the value is read whole.
+         */
+        Class<?> getNestedSourceClass() {
+            return nestedSourceClass;
+        }
+    }
+}
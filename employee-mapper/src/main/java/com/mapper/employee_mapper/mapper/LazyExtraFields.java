@@ -0,0 +1,131 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * extraFields map that keeps a reference to the SDK source object and the plan's
+ * precomputed leftover fields, and only builds the leftover structure when it is
+ * first read. Serializing it to JSON before any read streams the leftover values
+ * straight from the source without building the map or any nested copies.
+ *
+ * The source object is retained until the map is materialized, so the SDK object
+ * must not be mutated after mapping.
+ */
+@JsonSerialize(using = LazyExtraFields.Serializer.class)
+final class LazyExtraFields extends AbstractMap<String, Object> {
+
+    private final List<FieldAccessor> leftoverFields;
+    private final UniversalReflectionMapper mapper;
+    private Object source;
+    private volatile Map<String, Object> materialized;
+
+    LazyExtraFields(Object source, List<FieldAccessor> leftoverFields, UniversalReflectionMapper mapper) {
+        this.source = source;
+        this.leftoverFields = leftoverFields;
+        this.mapper = mapper;
+    }
+
+    private Map<String, Object> materialized() {
+        Map<String, Object> map = materialized;
+        if (map == null) {
+            synchronized (this) {
+                map = materialized;
+                if (map == null) {
+                    map = new LinkedHashMap<>();
+                    for (FieldAccessor field : leftoverFields) {
+                        map.put(field.getName(), mapper.buildLeftoverValue(field.get(source)));
+                    }
+                    materialized = map;
+                    // Let the SDK graph go once the leftovers are copied out
+                    source = null;
+                }
+            }
+        }
+        return map;
+    }
+
+    boolean isMaterialized() {
+        return materialized != null;
+    }
+
+    @Override
+    public int size() {
+        Map<String, Object> map = materialized;
+        return (map != null) ? map.size() : leftoverFields.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return materialized().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return materialized().containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return materialized().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return materialized().remove(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return materialized().entrySet();
+    }
+
+    /**
+     * Writes the materialized map if there is one, otherwise streams each leftover
+     * value straight from the source object.
+     */
+    static final class Serializer extends JsonSerializer<LazyExtraFields> {
+        @Override
+        public void serialize(LazyExtraFields value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            Object source;
+            synchronized (value) {
+                source = value.source;
+            }
+            if (source == null) {
+                gen.writeStartObject(value);
+                for (Entry<String, Object> entry : value.materialized().entrySet()) {
+                    gen.writeFieldName(entry.getKey());
+                    provider.defaultSerializeValue(entry.getValue(), gen);
+                }
+                gen.writeEndObject();
+                return;
+            }
+            gen.writeStartObject(value);
+            for (FieldAccessor field : value.leftoverFields) {
+                gen.writeFieldName(field.getName());
+                value.mapper.writeLeftoverValue(field.get(source), gen, provider);
+            }
+            gen.writeEndObject();
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, LazyExtraFields value) {
+            return value.isEmpty();
+        }
+    }
+}
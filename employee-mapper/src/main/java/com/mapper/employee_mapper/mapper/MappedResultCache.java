@@ -0,0 +1,244 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Size- and time-bounded cache (Caffeine, W-TinyLFU eviction) of mapped nested results
+ * that outlives a single call, so the same few companies and groups are not remapped
+ * on every request.
+ *
+ * Two kinds of results are cached:
+ *   - nested domain objects of the configured domain types (e.g. Company), and
+ *   - leftover structures built for SDK objects of the configured leftover types
+ *     (e.g. Group, which only ever lands in extraFields).
+ *
+ * Entries are keyed by the SDK object's "id" field plus a 64-bit fingerprint: of its
+ * "modifiedAt" field when it has a value, otherwise of its whole content (every field,
+ * recursively, JSON trees included), so a changed record never hits a stale entry.
+ * Keys hold neither the SDK object nor its graph, and a lookup never runs the SDK's
+ * deep equals(). As with {@link MappingFingerprint}, two records with the same id and
+ * fingerprint are treated as equal. Objects without an id are not cached.
+ *
+ * The mapper keeps its own copy of each cached domain object and hands every hit a
+ * fresh copy, so callers may modify what they get. Leftover maps are built once at
+ * depth 0 and read-only at every level; they are shared by every caller unless they
+ * hold JSON trees, which cannot be frozen and are copied per hit instead.
+ */
+public class MappedResultCache {
+
+    private final Cache<CacheKey, Object> cache;
+    private final Set<Class<?>> domainTypes;
+    private final Set<Class<?>> leftoverTypes;
+
+    // Content fingerprints stop this deep, so a cyclic SDK graph still gets a key
+    private static final int MAX_FINGERPRINT_DEPTH = 32;
+    private static final long NULL_HASH = 0x9e3779b97f4a7c15L;
+
+    // Resolved "id" / "modifiedAt" and content fields per SDK class
+    private final Map<Class<?>, KeyFields> keyFields = new ConcurrentHashMap<>();
+
+    public MappedResultCache(long maximumSize, Duration expireAfterWrite,
+                             Set<Class<?>> domainTypes, Set<Class<?>> leftoverTypes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.domainTypes = Set.copyOf(domainTypes);
+        this.leftoverTypes = Set.copyOf(leftoverTypes);
+    }
+
+    boolean cachesDomainType(Class<?> domainType) {
+        return domainTypes.contains(domainType);
+    }
+
+    boolean cachesLeftoverType(Class<?> sdkType) {
+        return leftoverTypes.contains(sdkType);
+    }
+
+    /**
+     * Key for the result of mapping source to resultType, or null if source has no id.
+     */
+    Object keyFor(Object source, Class<?> resultType) {
+        KeyFields fields = fieldsOf(source.getClass());
+        Object id = fields.read(fields.id, source);
+        if (id == null) {
+            return null;
+        }
+        Object modifiedAt = fields.read(fields.modifiedAt, source);
+        long fingerprint = (modifiedAt != null)
+                ? MappingFingerprint.mix(1, MappingFingerprint.hash(modifiedAt.toString()))
+                : MappingFingerprint.mix(2, contentHash(source, 0));
+        return new CacheKey(resultType, source.getClass(), id, fingerprint);
+    }
+
+    private KeyFields fieldsOf(Class<?> sdkClass) {
+        return keyFields.computeIfAbsent(sdkClass, KeyFields::resolve);
+    }
+
+    /**
+     * Hash of value's content: scalars by value, containers element by element, JSON
+     * trees as {@link MappingFingerprint} hashes them, other objects field by field.
+     */
+    private long contentHash(Object value, int depth) {
+        if (value instanceof Optional) {
+            value = ((Optional<?>) value).orElse(null);
+        }
+        if (value == null) {
+            return NULL_HASH;
+        }
+        if (value instanceof CharSequence) {
+            return MappingFingerprint.hash(value.toString());
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return MappingFingerprint.mix(3, ((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return MappingFingerprint.mix(4, Double.doubleToLongBits(((Number) value).doubleValue()));
+        }
+        if (value instanceof Boolean) {
+            return MappingFingerprint.mix(5, (Boolean) value ? 1 : 0);
+        }
+        if (value instanceof Enum) {
+            return MappingFingerprint.mix(6, MappingFingerprint.hash(((Enum<?>) value).name()));
+        }
+        if (value instanceof JsonNode) {
+            return MappingFingerprint.mix(7, MappingFingerprint.hash((JsonNode) value));
+        }
+        if (depth >= MAX_FINGERPRINT_DEPTH) {
+            return NULL_HASH;
+        }
+        if (value instanceof Map) {
+            long h = 8;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                h = MappingFingerprint.mix(MappingFingerprint.mix(h, contentHash(entry.getKey(), depth + 1)),
+                        contentHash(entry.getValue(), depth + 1));
+            }
+            return h;
+        }
+        if (value instanceof Collection) {
+            long h = 9;
+            for (Object item : (Collection<?>) value) {
+                h = MappingFingerprint.mix(h, contentHash(item, depth + 1));
+            }
+            return h;
+        }
+        Class<?> valueClass = value.getClass();
+        if (valueClass.isArray()) {
+            return MappingFingerprint.mix(10, Arrays.deepHashCode(new Object[]{value}));
+        }
+        if (valueClass.getName().startsWith("java.")) {
+            // JDK values (java.time, BigDecimal, UUID...) print their whole state
+            return MappingFingerprint.mix(11, MappingFingerprint.hash(value.toString()));
+        }
+        long h = MappingFingerprint.hash(valueClass.getName());
+        KeyFields fields = fieldsOf(valueClass);
+        for (Field field : fields.content) {
+            h = MappingFingerprint.mix(h, contentHash(fields.read(field, value), depth + 1));
+        }
+        return h;
+    }
+
+    Object get(Object key) {
+        return cache.getIfPresent((CacheKey) key);
+    }
+
+    void put(Object key, Object result) {
+        cache.put((CacheKey) key, result);
+    }
+
+    /**
+     * Hit, miss and eviction counters since the cache was created.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private record CacheKey(Class<?> resultType, Class<?> sourceClass, Object id, long fingerprint) {
+    }
+
+    private static final class KeyFields {
+        private final Field id;
+        private final Field modifiedAt;
+        private final List<Field> content;
+
+        private KeyFields(Field id, Field modifiedAt, List<Field> content) {
+            this.id = id;
+            this.modifiedAt = modifiedAt;
+            this.content = content;
+        }
+
+        static KeyFields resolve(Class<?> sdkClass) {
+            List<Field> content = new ArrayList<>();
+            for (Class<?> c = sdkClass; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic() && makeAccessible(field)) {
+                        content.add(field);
+                    }
+                }
+            }
+            return new KeyFields(findField(sdkClass, "id"), findField(sdkClass, "modifiedAt"), List.copyOf(content));
+        }
+
+        private static boolean makeAccessible(Field field) {
+            try {
+                field.setAccessible(true);
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        Object read(Field field, Object source) {
+            if (field == null) {
+                return null;
+            }
+            try {
+                Object value = field.get(source);
+                return (value instanceof Optional) ? ((Optional<?>) value).orElse(null) : value;
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private static Field findField(Class<?> sdkClass, String name) {
+            for (Class<?> c = sdkClass; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                        try {
+                            field.setAccessible(true);
+                            return field;
+                        } catch (RuntimeException e) {
+                            return null;
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
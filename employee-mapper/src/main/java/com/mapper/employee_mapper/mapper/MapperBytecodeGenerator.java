@@ -0,0 +1,251 @@
+package com.mapper.employee_mapper.mapper;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Generates a hidden class implementing {@link GeneratedMapper} for a compiled
+ * {@link MappingPlan}. The generated map method is a straight sequence of
+ * getter → setter calls on the public accessors of the SDK and domain classes:
+ *
+ *   SdkEmployee s = (SdkEmployee) source;
+ *   Employee t = new Employee();
+ *   callbacks.created(s, t, context);
+ *   try {
+ *       t.setId(s.getId());
+ *       t.setCompany((Company) callbacks.convert(4, s.getCompany(), context));
+ *       callbacks.fillLeftovers(s, t, context);
+ *   } catch (Throwable e) {
+ *       callbacks.failed(s, t, context);
+ *       throw e;
+ *   }
+ *   return t;
+ *
+ * Plans whose classes do not expose public no-arg constructors, getters and
+ * setters for every binding are not eligible and stay on the reflective path.
+ */
+final class MapperBytecodeGenerator {
+
+    private static final String GENERATED_MAPPER = Type.getInternalName(GeneratedMapper.class);
+    private static final String CALLBACKS = Type.getInternalName(GeneratedMapper.Callbacks.class);
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String CONTEXT = Type.getInternalName(MappingContext.class);
+    private static final String THROWABLE = Type.getInternalName(Throwable.class);
+
+    private MapperBytecodeGenerator() {
+    }
+
+    /**
+     * Returns a generated mapper for the plan, or null if the plan is not eligible. With
+     * dedupeStrings, String fields go through the callbacks instead of being copied directly.
+     */
+    static GeneratedMapper generate(MappingPlan plan, boolean dedupeStrings) throws ReflectiveOperationException {
+        Class<?> sourceClass = plan.getSourceClass();
+        Class<?> targetClass = plan.getTargetClass();
+        if (!isPublic(sourceClass) || !isPublic(targetClass)) {
+            return null;
+        }
+        if (!Modifier.isPublic(targetClass.getDeclaredConstructor().getModifiers())) {
+            return null;
+        }
+
+        List<MappingPlan.FieldBinding> bindings = plan.getBindings();
+        Method[] getters = new Method[bindings.size()];
+        Method[] setters = new Method[bindings.size()];
+        for (int i = 0; i < bindings.size(); i++) {
+            MappingPlan.FieldBinding binding = bindings.get(i);
+            if (binding.getDomainType().isPrimitive()) {
+                return null;
+            }
+            getters[i] = publicGetter(sourceClass, binding.getSdkField());
+            setters[i] = publicSetter(targetClass, binding.getDomainField());
+            if (getters[i] == null || setters[i] == null) {
+                return null;
+            }
+        }
+
+        byte[] bytes = emit(plan, getters, setters, dedupeStrings);
+        MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+        try {
+            return (GeneratedMapper) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to instantiate generated mapper", e);
+        }
+    }
+
+    private static byte[] emit(MappingPlan plan, Method[] getters, Method[] setters, boolean dedupeStrings) {
+        String sourceName = Type.getInternalName(plan.getSourceClass());
+        String targetName = Type.getInternalName(plan.getTargetClass());
+        String className = Type.getInternalName(MapperBytecodeGenerator.class).replace("MapperBytecodeGenerator",
+                "GeneratedMapper$" + plan.getSourceClass().getSimpleName() + "To" + plan.getTargetClass().getSimpleName());
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null, OBJECT,
+                new String[]{GENERATED_MAPPER});
+
+        MethodVisitor init = cw.visitMethod(0, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        // locals: 0 this, 1 source, 2 callbacks, 3 context, 4 typed source, 5 target
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "map",
+                "(L" + OBJECT + ";L" + CALLBACKS + ";L" + CONTEXT + ";)L" + OBJECT + ";", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, sourceName);
+        mv.visitVarInsn(Opcodes.ASTORE, 4);
+        mv.visitTypeInsn(Opcodes.NEW, targetName);
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, targetName, "<init>", "()V", false);
+        mv.visitVarInsn(Opcodes.ASTORE, 5);
+
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        mv.visitVarInsn(Opcodes.ALOAD, 4);
+        mv.visitVarInsn(Opcodes.ALOAD, 5);
+        mv.visitVarInsn(Opcodes.ALOAD, 3);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, CALLBACKS, "created",
+                "(L" + OBJECT + ";L" + OBJECT + ";L" + CONTEXT + ";)V", true);
+
+        Label tryStart = new Label();
+        Label tryEnd = new Label();
+        Label handler = new Label();
+        mv.visitTryCatchBlock(tryStart, tryEnd, handler, null);
+        mv.visitLabel(tryStart);
+
+        List<MappingPlan.FieldBinding> bindings = plan.getBindings();
+        for (int i = 0; i < bindings.size(); i++) {
+            MappingPlan.FieldBinding binding = bindings.get(i);
+            Method getter = getters[i];
+            Method setter = setters[i];
+
+            mv.visitVarInsn(Opcodes.ALOAD, 5);
+            boolean direct = isDirectCopy(binding, getter) && !(dedupeStrings && binding.getDomainType() == String.class);
+            if (!direct) {
+                mv.visitVarInsn(Opcodes.ALOAD, 2);
+                pushInt(mv, i);
+            }
+            mv.visitVarInsn(Opcodes.ALOAD, 4);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, sourceName, getter.getName(),
+                    Type.getMethodDescriptor(getter), false);
+            if (!direct) {
+                mv.visitVarInsn(Opcodes.ALOAD, 3);
+                mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, CALLBACKS, "convert",
+                        "(IL" + OBJECT + ";L" + CONTEXT + ";)L" + OBJECT + ";", true);
+                mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(binding.getDomainType()));
+            }
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, targetName, setter.getName(),
+                    Type.getMethodDescriptor(setter), false);
+        }
+
+        if (plan.hasLeftovers()) {
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            mv.visitVarInsn(Opcodes.ALOAD, 4);
+            mv.visitVarInsn(Opcodes.ALOAD, 5);
+            mv.visitVarInsn(Opcodes.ALOAD, 3);
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, CALLBACKS, "fillLeftovers",
+                    "(L" + OBJECT + ";L" + OBJECT + ";L" + CONTEXT + ";)V", true);
+        }
+
+        mv.visitLabel(tryEnd);
+        mv.visitVarInsn(Opcodes.ALOAD, 5);
+        mv.visitInsn(Opcodes.ARETURN);
+
+        // locals: 6 the exception, rethrown once the registration made above is dropped
+        mv.visitLabel(handler);
+        mv.visitFrame(Opcodes.F_FULL, 6, new Object[]{className, OBJECT, CALLBACKS, CONTEXT, sourceName, targetName},
+                1, new Object[]{THROWABLE});
+        mv.visitVarInsn(Opcodes.ASTORE, 6);
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        mv.visitVarInsn(Opcodes.ALOAD, 4);
+        mv.visitVarInsn(Opcodes.ALOAD, 5);
+        mv.visitVarInsn(Opcodes.ALOAD, 3);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, CALLBACKS, "failed",
+                "(L" + OBJECT + ";L" + OBJECT + ";L" + CONTEXT + ";)V", true);
+        mv.visitVarInsn(Opcodes.ALOAD, 6);
+        mv.visitInsn(Opcodes.ATHROW);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * A binding can skip the callback when the SDK value is statically assignable
+     * to the domain field and needs neither Optional unwrapping nor recursion.
+     */
+    private static boolean isDirectCopy(MappingPlan.FieldBinding binding, Method getter) {
+        Class<?> sdkType = getter.getReturnType();
+        return !binding.isNested()
+                && !sdkType.isPrimitive()
+                && !Optional.class.isAssignableFrom(sdkType)
+                && sdkType != Object.class
+                && binding.getDomainType().isAssignableFrom(sdkType);
+    }
+
+    private static Method publicGetter(Class<?> owner, Field field) {
+        String suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        for (String name : new String[]{"get" + suffix, "is" + suffix}) {
+            try {
+                Method method = owner.getMethod(name);
+                if (method.getReturnType() == field.getType() && isCallable(method)) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // try the next naming convention
+            }
+        }
+        return null;
+    }
+
+    private static Method publicSetter(Class<?> owner, Field field) {
+        String name = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        try {
+            Method method = owner.getMethod(name, field.getType());
+            return (method.getReturnType() == void.class && isCallable(method)) ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean isCallable(Method method) {
+        return !Modifier.isStatic(method.getModifiers()) && isPublic(method.getDeclaringClass());
+    }
+
+    private static boolean isPublic(Class<?> clazz) {
+        for (Class<?> c = clazz; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void pushInt(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(Opcodes.ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.BIPUSH, value);
+        } else {
+            mv.visitIntInsn(Opcodes.SIPUSH, value);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.mapper.employee_mapper.mapper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers what has already been mapped within one unit of work (a single call, a
+ * bulk batch, or whatever the caller decides to share a context across).
+ *
+ * Every source object is registered, by identity, as soon as its target instance is
+ * created, so a source reached twice maps to the same target instance and a cyclic
+ * SDK graph resolves its back references instead of recursing forever. Optionally,
+ * nested objects are also shared by the value of their "id" field, so equal copies
+ * of the same company coming from different employees map to one Company.
+ *
+ * Shared targets are the same mutable instance in every parent that points at them.
+ * A context may be shared by concurrent mappings; a target taken from it is only
+ * guaranteed complete once every mapping using the context has returned.
+ */
+public final class MappingContext {
+
+    private final Map<IdentityKey, Object> byIdentity;
+    private final Map<IdKey, Object> byId;
+    private final StringDeduplicator strings;
+
+    private MappingContext(Map<IdentityKey, Object> byIdentity, Map<IdKey, Object> byId,
+                           StringDeduplicator strings) {
+        this.byIdentity = byIdentity;
+        this.byId = byId;
+        this.strings = strings;
+    }
+
+    /**
+     * A thread-safe context sharing by identity, and by id too if shareById is set.
+     */
+    public static MappingContext create(boolean shareById) {
+        return create(shareById, null);
+    }
+
+    /**
+     * Like {@link #create(boolean)}, with a string dictionary scoped to this context.
+     */
+    static MappingContext create(boolean shareById, StringDeduplicator strings) {
+        return new MappingContext(new ConcurrentHashMap<>(), shareById ? new ConcurrentHashMap<>() : null, strings);
+    }
+
+    /**
+     * A context confined to the calling thread, for a single {@code map} call.
+     */
+    static MappingContext local(boolean shareById) {
+        return new MappingContext(new HashMap<>(), shareById ? new HashMap<>() : null, null);
+    }
+
+    boolean sharesById() {
+        return byId != null;
+    }
+
+    /**
+     * The string dictionary scoped to this context, or null to use the mapper's own.
+     */
+    StringDeduplicator strings() {
+        return strings;
+    }
+
+    /**
+     * The target already created for source as targetClass, or null.
+     */
+    Object lookup(Object source, Class<?> targetClass) {
+        return byIdentity.get(new IdentityKey(source, targetClass));
+    }
+
+    /**
+     * Records a freshly created (possibly still empty) target for source. The first
+     * registration wins if two threads map the same source concurrently.
+     */
+    void register(Object source, Class<?> targetClass, Object target) {
+        byIdentity.putIfAbsent(new IdentityKey(source, targetClass), target);
+    }
+
+    /**
+     * Drops the registration of target for source after its mapping failed, so later
+     * references map it again instead of sharing a half-filled target. Only the given
+     * target is removed: in a shared context another thread may have won the
+     * registration, and its mapping is not the one that failed. Targets are compared
+     * by identity, since two half-filled domain objects are usually equal.
+     */
+    void unregister(Object source, Class<?> targetClass, Object target) {
+        byIdentity.computeIfPresent(new IdentityKey(source, targetClass),
+                (key, registered) -> registered == target ? null : registered);
+    }
+
+    Object lookupById(Class<?> targetClass, Object id) {
+        return byId.get(new IdKey(targetClass, id));
+    }
+
+    void registerById(Class<?> targetClass, Object id, Object target) {
+        byId.putIfAbsent(new IdKey(targetClass, id), target);
+    }
+
+    /**
+     * Number of distinct source objects mapped so far.
+     */
+    public int size() {
+        return byIdentity.size();
+    }
+
+    private static final class IdentityKey {
+        private final Object source;
+        private final Class<?> targetClass;
+
+        IdentityKey(Object source, Class<?> targetClass) {
+            this.source = source;
+            this.targetClass = targetClass;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof IdentityKey)) {
+                return false;
+            }
+            IdentityKey other = (IdentityKey) o;
+            return source == other.source && targetClass == other.targetClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(source) + targetClass.hashCode();
+        }
+    }
+
+    private record IdKey(Class<?> targetClass, Object id) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Outcome of {@link DeltaMapper#diff}: the freshly mapped object, its fingerprint (to
+ * store for the next sync) and the JSON Merge Patch (RFC 7386) that turns the previous
+ * record into the new one.
+ */
+public final class MappingDelta<T> {
+    private final T target;
+    private final MappingFingerprint fingerprint;
+    private final ObjectNode mergePatch;
+
+    MappingDelta(T target, MappingFingerprint fingerprint, ObjectNode mergePatch) {
+        this.target = target;
+        this.fingerprint = fingerprint;
+        this.mergePatch = mergePatch;
+    }
+
+    public T getTarget() {
+        return target;
+    }
+
+    public MappingFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Only the changed properties; nested objects are patched recursively, arrays are
+     * replaced whole and removed (or newly null) properties are set to null. Empty when
+     * nothing changed.
+     */
+    public ObjectNode getMergePatch() {
+        return mergePatch;
+    }
+
+    public boolean isChanged() {
+        return !mergePatch.isEmpty();
+    }
+}
@@ -0,0 +1,16 @@
+package com.mapper.employee_mapper.mapper;
+
+/**
+ * Selects which {@link DomainMapper} implementation serves the application.
+ */
+public enum MappingEngine {
+    /**
+     * {@link UniversalReflectionMapper}, driven by the runtime mapping registries.
+     */
+    REFLECTION,
+
+    /**
+     * SdkDomainMapperImpl, generated at build time from {@link SdkDomainMapper}.
+     */
+    GENERATED
+}
@@ -0,0 +1,114 @@
+package com.mapper.employee_mapper.mapper;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events emitted by {@link UniversalReflectionMapper}. They are all
+ * disabled by default; enable them in a recording (e.g. a .jfc file or
+ * {@code jcmd <pid> JFR.start settings=...}) to see which SDK shapes are slow in
+ * production. While disabled, begin/shouldCommit are no-ops the JIT removes, and the
+ * event fields are only filled in for events that are actually committed.
+ */
+final class MappingEvents {
+
+    static final String CATEGORY = "Employee Mapper";
+
+    private MappingEvents() {
+    }
+
+    /**
+     * Fields shared by the events describing the mapping of one object.
+     */
+    @StackTrace(false)
+    abstract static class ObjectMappingEvent extends Event {
+
+        @Label("Source Class")
+        Class<?> sourceClass;
+
+        @Label("Target Class")
+        Class<?> targetClass;
+
+        @Label("Field Count")
+        @Description("Fields copied by the mapping plan, -1 if the pair has no plan")
+        int fieldCount;
+
+        @Label("Leftover Size")
+        @Description("SDK fields that go into extraFields")
+        int leftoverSize;
+
+        @Label("Succeeded")
+        boolean succeeded;
+    }
+
+    /**
+     * A top-level map call, or one item of a bulk batch.
+     */
+    @Name("com.mapper.employee_mapper.Map")
+    @Label("Map")
+    @Category(CATEGORY)
+    @Description("Maps one top-level SDK object to its domain class")
+    static final class MapEvent extends ObjectMappingEvent {
+    }
+
+    /**
+     * A nested value mapped while mapping its parent.
+     */
+    @Name("com.mapper.employee_mapper.NestedMap")
+    @Label("Nested Map")
+    @Category(CATEGORY)
+    @Description("Maps a nested SDK object, possibly served from the result cache or the mapping context")
+    static final class NestedMapEvent extends ObjectMappingEvent {
+    }
+
+    @Name("com.mapper.employee_mapper.Leftover")
+    @Label("Leftover Extraction")
+    @Category(CATEGORY)
+    @Description("Fills extraFields from the SDK fields without a domain counterpart")
+    @StackTrace(false)
+    static final class LeftoverEvent extends Event {
+
+        @Label("Source Class")
+        Class<?> sourceClass;
+
+        @Label("Target Class")
+        Class<?> targetClass;
+
+        @Label("Leftover Size")
+        @Description("Entries put into extraFields")
+        int leftoverSize;
+
+        @Label("Lazy")
+        @Description("extraFields is built on first read instead of now")
+        boolean lazy;
+    }
+
+    /**
+     * A value whose type was not resolved when the plan was compiled, so the converter
+     * was looked up on its runtime type (or the conversion failed).
+     */
+    @Name("com.mapper.employee_mapper.ConversionFallback")
+    @Label("Conversion Fallback")
+    @Category(CATEGORY)
+    @Description("Converts a value through a runtime converter lookup")
+    @StackTrace(false)
+    static final class ConversionFallbackEvent extends Event {
+
+        @Label("Source Class")
+        Class<?> sourceClass;
+
+        @Label("Target Class")
+        Class<?> targetClass;
+
+        @Label("Converter Found")
+        boolean converterFound;
+
+        @Label("Failed")
+        @Description("The converter threw and the domain field was left null")
+        boolean failed;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mapper.employee_mapper.mapper;
+
+/**
+ * One item of a bulk mapping that could not be mapped. The batch carries on without it.
+ */
+public final class MappingFailure {
+    private final long index;
+    private final Object source;
+    private final Class<?> targetClass;
+    private final Exception cause;
+
+    MappingFailure(long index, Object source, Class<?> targetClass, Exception cause) {
+        this.index = index;
+        this.source = source;
+        this.targetClass = targetClass;
+        this.cause = cause;
+    }
+
+    /**
+     * Position of the failed item in the input collection or stream.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    public Object getSource() {
+        return source;
+    }
+
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    public Exception getCause() {
+        return cause;
+    }
+
+    @Override
+    public String toString() {
+        return "MappingFailure{index=" + index
+                + ", source=" + (source == null ? "null" : source.getClass().getSimpleName())
+                + ", target=" + targetClass.getSimpleName()
+                + ", cause=" + cause + "}";
+    }
+}
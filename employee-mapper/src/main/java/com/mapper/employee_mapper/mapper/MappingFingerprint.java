@@ -0,0 +1,121 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hash tree of a mapped domain object's JSON: one 64-bit hash per subtree, with the
+ * hashes of an object's properties kept as children so a later mapping can be compared
+ * property by property without the previous values. Arrays and scalars are leaves.
+ *
+ * Fingerprints are small and serialize to JSON, so they can be stored per record
+ * instead of the full previous record. Two subtrees with the same hash are treated as
+ * equal; with 64-bit hashes an accidental collision is negligible but not impossible.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class MappingFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long hash;
+    private final Map<String, MappingFingerprint> children;
+
+    @JsonCreator
+    MappingFingerprint(@JsonProperty("hash") long hash,
+                       @JsonProperty("children") Map<String, MappingFingerprint> children) {
+        this.hash = hash;
+        this.children = (children == null) ? null : Collections.unmodifiableMap(children);
+    }
+
+    /**
+     * Fingerprints a JSON tree (e.g. a domain object converted with valueToTree).
+     */
+    public static MappingFingerprint of(JsonNode node) {
+        if (!node.isObject()) {
+            return new MappingFingerprint(hash(node), null);
+        }
+        Map<String, MappingFingerprint> children = new LinkedHashMap<>();
+        long h = seed(node);
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            MappingFingerprint child = of(field.getValue());
+            children.put(field.getKey(), child);
+            h = mix(mix(h, hash(field.getKey())), child.hash);
+        }
+        return new MappingFingerprint(h, children);
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Property fingerprints of a JSON object, in document order; null for arrays and scalars.
+     */
+    public Map<String, MappingFingerprint> getChildren() {
+        return children;
+    }
+
+    @JsonIgnore
+    public boolean isObject() {
+        return children != null;
+    }
+
+    // Same combination as of(), without keeping the children of nested arrays' elements
+    static long hash(JsonNode node) {
+        long h = seed(node);
+        if (node.isObject()) {
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                h = mix(mix(h, hash(field.getKey())), hash(field.getValue()));
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                h = mix(h, hash(element));
+            }
+        } else if (!node.isNull()) {
+            h = mix(h, hash(node.asText()));
+        }
+        return h;
+    }
+
+    private static long seed(JsonNode node) {
+        return mix(FNV_OFFSET, node.getNodeType().ordinal());
+    }
+
+    static long hash(String text) {
+        long h = FNV_OFFSET;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    static long mix(long h, long value) {
+        // splitmix64 finalizer over the combined value, so child order matters
+        long z = (h * 31) ^ value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MappingFingerprint && ((MappingFingerprint) o).hash == hash;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
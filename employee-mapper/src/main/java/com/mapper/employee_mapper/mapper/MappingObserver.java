@@ -0,0 +1,42 @@
+package com.mapper.employee_mapper.mapper;
+
+/**
+ * Receives per-call measurements from {@link UniversalReflectionMapper}, so metrics
+ * backends can be plugged in without the mapper depending on them. Implementations
+ * are called on the mapping threads and must be cheap and thread-safe.
+ */
+public interface MappingObserver {
+
+    /**
+     * Does nothing; the mapper skips taking timings entirely when this is installed.
+     */
+    MappingObserver NOOP = new MappingObserver() {
+    };
+
+    /**
+     * A top-level mapping (a map call, or one item of a bulk batch) completed.
+     */
+    default void onMapped(Class<?> sourceClass, Class<?> targetClass, long elapsedNanos) {
+    }
+
+    /**
+     * Mapping sourceClass to targetClass failed, at the top level or for a nested value.
+     */
+    default void onFailure(Class<?> sourceClass, Class<?> targetClass, Throwable cause) {
+    }
+
+    /**
+     * A converter threw for a sourceType value landing on a targetType field; the field
+     * was left null (or at its primitive default) and mapping went on.
+     */
+    default void onConversionFailure(Class<?> sourceType, Class<?> targetType, Throwable cause) {
+    }
+
+    /**
+     * extraFields was filled for a targetClass instance with the given number of entries;
+     * maxDepth is how deep the leftover structure goes (0 when every value is a scalar),
+     * or -1 when it is built lazily and not known yet.
+     */
+    default void onExtraFields(Class<?> targetClass, int entries, int maxDepth) {
+    }
+}
@@ -0,0 +1,373 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.mapper.employee_mapper.domain.HasExtraFields;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable, precompiled description of how one SDK source class maps onto one
+ * domain class: which field pairs are copied, which of them recurse into another
+ * registered domain type, and which SDK fields are left over for extraFields.
+ *
+ * Plans are built once per (source class, target class) pair and cached by
+ * {@link UniversalReflectionMapper}, so the reflective lookups happen only on the
+ * first call for each pair. The resolved fields never change; the only mutable
+ * state is the execution tier, which is promoted from the reflective loop to a
+ * {@link GeneratedMapper} once the plan has been used often enough.
+ */
+final class MappingPlan {
+
+    private final Class<?> sourceClass;
+    private final Class<?> targetClass;
+    private final Constructor<?> targetConstructor;
+    private final List<FieldBinding> bindings;
+    private final List<FieldAccessor> leftoverFields;
+    private final boolean collectsExtraFields;
+
+    // Every domain field in declaration order (the order Jackson writes them), with its binding if any
+    private final List<DomainProperty> domainProperties;
+
+    // Binding of the domain "id" field, used to share nested targets by id; null if there is none
+    private final FieldBinding idBinding;
+
+    // Execution tier: calls seen on the reflective path, then the generated mapper once promoted
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicBoolean promotionAttempted = new AtomicBoolean();
+    private GeneratedMapper.Callbacks generatedCallbacks;
+    private volatile GeneratedMapper generatedMapper;
+
+    // Token-stream counterpart, compiled on the first JsonTokenMapper read
+    private volatile JsonTokenPlan tokenPlan;
+
+    private MappingPlan(Class<?> sourceClass, Class<?> targetClass, Constructor<?> targetConstructor,
+                        List<FieldBinding> bindings, List<FieldAccessor> leftoverFields, boolean collectsExtraFields,
+                        List<DomainProperty> domainProperties) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.targetConstructor = targetConstructor;
+        this.bindings = bindings;
+        this.leftoverFields = leftoverFields;
+        this.collectsExtraFields = collectsExtraFields;
+        this.domainProperties = domainProperties;
+        this.idBinding = bindings.stream()
+                .filter(binding -> binding.getDomainField().getName().equals("id"))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Resolves every domain field of targetClass against sourceClass, honoring the
+     * renames of the registry (if any) and the set of registered domain classes.
+     * Field access goes through accessors built for the given mode.
+     *
+     * Each binding is resolved once to one of: a direct copy, a nested mapping (registered
+     * domain classes, or unregistered beans copied field by field by name), or a converter
+     * from the registry for the SDK field's declared type.
+     */
+    static MappingPlan compile(Class<?> sourceClass, Class<?> targetClass, BaseMappingRegistry registry,
+                               Set<Class<?>> registeredDomainClasses, AccessorMode accessorMode,
+                               TypeConverterRegistry converters)
+            throws NoSuchMethodException {
+
+        Constructor<?> constructor = targetClass.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        Map<String, String> renames = (registry != null) ? registry.getFieldMappings() : Collections.emptyMap();
+
+        boolean collectsExtraFields = HasExtraFields.class.isAssignableFrom(targetClass);
+
+        List<FieldBinding> bindings = new ArrayList<>();
+        List<DomainProperty> domainProperties = new ArrayList<>();
+        Set<String> mappedSdkFieldNames = new HashSet<>();
+        for (Field domainField : targetClass.getDeclaredFields()) {
+            if (isIgnored(domainField)) {
+                continue;
+            }
+            String domainFieldName = domainField.getName();
+            String sdkFieldName = renames.getOrDefault(domainFieldName, domainFieldName);
+
+            Field sdkField = findFieldByName(sourceClass, sdkFieldName);
+            if (sdkField == null) {
+                boolean extraFields = collectsExtraFields && domainFieldName.equals("extraFields");
+                domainProperties.add(new DomainProperty(domainFieldName, null, extraFields));
+                continue;
+            }
+            domainField.setAccessible(true);
+            sdkField.setAccessible(true);
+
+            Class<?> domainType = domainField.getType();
+            Class<?> sdkValueType = valueTypeOf(sdkField);
+            boolean nested = registeredDomainClasses.contains(domainType);
+            TypeConverter<Object, Object> converter = null;
+            if (!nested && !isAssignable(domainType, sdkValueType)) {
+                converter = converters.find(sdkValueType, domainType);
+                nested = converter == null && isBeanType(domainType) && isBeanType(sdkValueType);
+            }
+            FieldBinding binding = new FieldBinding(
+                    sdkField,
+                    domainField,
+                    FieldAccessors.create(sdkField, accessorMode),
+                    FieldAccessors.create(domainField, accessorMode),
+                    nested,
+                    converter);
+            bindings.add(binding);
+            domainProperties.add(new DomainProperty(domainFieldName, binding, false));
+            mappedSdkFieldNames.add(sdkFieldName);
+        }
+
+        List<FieldAccessor> leftoverFields = new ArrayList<>();
+        if (collectsExtraFields) {
+            for (Field sdkField : sourceClass.getDeclaredFields()) {
+                if (isIgnored(sdkField) || mappedSdkFieldNames.contains(sdkField.getName())) {
+                    continue;
+                }
+                sdkField.setAccessible(true);
+                leftoverFields.add(FieldAccessors.create(sdkField, accessorMode));
+            }
+        }
+
+        return new MappingPlan(sourceClass, targetClass, constructor,
+                List.copyOf(bindings), List.copyOf(leftoverFields), collectsExtraFields,
+                List.copyOf(domainProperties));
+    }
+
+    Class<?> getSourceClass() {
+        return sourceClass;
+    }
+
+    Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    Object newTarget() throws ReflectiveOperationException {
+        return targetConstructor.newInstance();
+    }
+
+    List<FieldBinding> getBindings() {
+        return bindings;
+    }
+
+    List<FieldAccessor> getLeftoverFields() {
+        return leftoverFields;
+    }
+
+    List<DomainProperty> getDomainProperties() {
+        return domainProperties;
+    }
+
+    /**
+     * The SDK value feeding the domain "id" field (Optional unwrapped), or null.
+     */
+    Object readId(Object source) {
+        if (idBinding == null) {
+            return null;
+        }
+        Object id = idBinding.getSdkAccessor().get(source);
+        return (id instanceof Optional) ? ((Optional<?>) id).orElse(null) : id;
+    }
+
+    /**
+     * True if the target implements {@link HasExtraFields} and at least one SDK
+     * field is left unmapped, i.e. extraFields will be populated.
+     */
+    boolean hasLeftovers() {
+        return collectsExtraFields && !leftoverFields.isEmpty();
+    }
+
+    JsonTokenPlan getTokenPlan() {
+        return tokenPlan;
+    }
+
+    void setTokenPlan(JsonTokenPlan tokenPlan) {
+        this.tokenPlan = tokenPlan;
+    }
+
+    GeneratedMapper getGeneratedMapper() {
+        return generatedMapper;
+    }
+
+    GeneratedMapper.Callbacks getGeneratedCallbacks() {
+        return generatedCallbacks;
+    }
+
+    /**
+     * Counts one reflective call and returns true exactly once, on the call that
+     * reaches the threshold. A negative threshold disables promotion.
+     */
+    boolean shouldPromote(int threshold) {
+        if (threshold < 0 || promotionAttempted.get()) {
+            return false;
+        }
+        if (invocations.incrementAndGet() < threshold) {
+            return false;
+        }
+        return promotionAttempted.compareAndSet(false, true);
+    }
+
+    void promote(GeneratedMapper mapper, GeneratedMapper.Callbacks callbacks) {
+        // Callbacks are published by the volatile write of the mapper
+        this.generatedCallbacks = callbacks;
+        this.generatedMapper = mapper;
+    }
+
+    /**
+     * True for application classes that can be mapped field by field: concrete, non-JDK,
+     * non-enum classes with a no-arg constructor.
+     */
+    static boolean isBeanType(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isEnum() || type.isInterface()
+                || Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        String name = type.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.")) {
+            return false;
+        }
+        try {
+            type.getDeclaredConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Declared type of the values an SDK field holds, looking through Optional&lt;X&gt;.
+     */
+    static Class<?> valueTypeOf(Field sdkField) {
+        Class<?> type = sdkField.getType();
+        if (type == Optional.class && sdkField.getGenericType() instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) sdkField.getGenericType()).getActualTypeArguments()[0];
+            if (argument instanceof Class) {
+                return (Class<?>) argument;
+            }
+            if (argument instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) argument).getRawType();
+            }
+            return Object.class;
+        }
+        return type;
+    }
+
+    private static boolean isAssignable(Class<?> domainType, Class<?> sdkValueType) {
+        if (domainType.isPrimitive()) {
+            return domainType == sdkValueType;
+        }
+        return domainType.isAssignableFrom(sdkValueType);
+    }
+
+    private static boolean isIgnored(Field field) {
+        return Modifier.isStatic(field.getModifiers()) || field.isSynthetic();
+    }
+
+    private static Field findFieldByName(Class<?> clazz, String fieldName) {
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.getName().equals(fieldName) && !isIgnored(field)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One domain field as it appears in the domain object's JSON: either filled from
+     * a binding, the extraFields holder, or a field the source never fills.
+     */
+    static final class DomainProperty {
+        private final String name;
+        private final FieldBinding binding;
+        private final boolean extraFields;
+
+        DomainProperty(String name, FieldBinding binding, boolean extraFields) {
+            this.name = name;
+            this.binding = binding;
+            this.extraFields = extraFields;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * The binding that fills this property, or null if the source has no such field.
+         */
+        FieldBinding getBinding() {
+            return binding;
+        }
+
+        boolean isExtraFields() {
+            return extraFields;
+        }
+    }
+
+    /**
+     * One resolved (SDK field → domain field) pair.
+     */
+    static final class FieldBinding {
+        private final Field sdkField;
+        private final Field domainField;
+        private final FieldAccessor sdkAccessor;
+        private final FieldAccessor domainAccessor;
+        private final boolean nested;
+        private final TypeConverter<Object, Object> converter;
+
+        FieldBinding(Field sdkField, Field domainField, FieldAccessor sdkAccessor, FieldAccessor domainAccessor,
+                     boolean nested, TypeConverter<Object, Object> converter) {
+            this.sdkField = sdkField;
+            this.domainField = domainField;
+            this.sdkAccessor = sdkAccessor;
+            this.domainAccessor = domainAccessor;
+            this.nested = nested;
+            this.converter = converter;
+        }
+
+        Field getSdkField() {
+            return sdkField;
+        }
+
+        Field getDomainField() {
+            return domainField;
+        }
+
+        FieldAccessor getSdkAccessor() {
+            return sdkAccessor;
+        }
+
+        FieldAccessor getDomainAccessor() {
+            return domainAccessor;
+        }
+
+        Class<?> getDomainType() {
+            return domainField.getType();
+        }
+
+        /**
+         * True if the domain field type has its own registry, or is a plain bean fed
+         * from an SDK bean, and must be mapped recursively.
+         */
+        boolean isNested() {
+            return nested;
+        }
+
+        /**
+         * Converter resolved for the SDK field's declared type, or null when values are
+         * copied as-is (or the declared type is too loose and values are looked up at runtime).
+         */
+        TypeConverter<Object, Object> getConverter() {
+            return converter;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk store of serialized mapping results, keyed by a SHA-256 hash of the source
+ * object's content, so a sync re-run after a restart can skip mapping (and serializing)
+ * every record that has not changed.
+ *
+ * The whole file is memory-mapped once. Records are appended and never rewritten:
+ *
+ *   header:  int magic, long schema fingerprint, int reserved
+ *   record:  int payload length, int CRC32C of hash and payload, 32-byte content hash, payload bytes
+ *
+ * A record's length is written last, so a record cut short by a crash reads as the end
+ * of the file. The in-memory index (hash → offset) is rebuilt by scanning the file on
+ * open; a record whose CRC does not match (pages the OS never flushed, a damaged disk)
+ * also ends the scan, and new records overwrite it. Results are read back as read-only
+ * slices of the mapping, without copying.
+ *
+ * The schema is part of the header and of every content hash. It should describe
+ * everything that changes the stored results: the mapping rules' version plus the
+ * settings that shape the output (see MapperConfiguration), so a stale file is
+ * discarded on the next open. Once the file reaches its maximum size new results are
+ * simply not stored.
+ *
+ * The file belongs to one store at a time: open takes an exclusive lock on it and fails
+ * if another store (in this or another process) holds it, since two writers appending
+ * at their own positions would overwrite each other's records.
+ */
+@Slf4j
+public final class PersistentResultStore implements Closeable {
+
+    static final int MAGIC = 0x4D525332; // "MRS2"
+    static final int HEADER_SIZE = 16;
+    static final int HASH_SIZE = 32;
+    // Length and CRC
+    static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final ObjectMapper sourceMapper;
+    private final MessageDigest digestPrototype;
+    private final byte[] schemaSalt;
+    private final Map<ByteBuffer, Entry> index = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private int writePosition;
+    private boolean fullLogged;
+
+    private PersistentResultStore(FileChannel channel, MappedByteBuffer buffer, ObjectMapper sourceMapper,
+                                  MessageDigest digestPrototype, byte[] schemaSalt) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.sourceMapper = sourceMapper;
+        this.digestPrototype = digestPrototype;
+        this.schemaSalt = schemaSalt;
+    }
+
+    /**
+     * Opens (or creates) the store at file, reusing its records if they were written
+     * with the same schema.
+     *
+     * @param maxBytes     size of the mapping; at most Integer.MAX_VALUE
+     * @param schema       description of the mapping rules and settings the results depend on
+     * @param sourceMapper serializes source objects to compute their content hash
+     * @throws IOException if the file cannot be opened or another store holds its lock
+     */
+    public static PersistentResultStore open(Path file, long maxBytes, String schema,
+                                             ObjectMapper sourceMapper) throws IOException {
+        if (maxBytes <= HEADER_SIZE || maxBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxBytes must be between " + HEADER_SIZE + " and 2GB: " + maxBytes);
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] schemaSalt = schema.getBytes(StandardCharsets.UTF_8);
+        long schemaFingerprint = ByteBuffer.wrap(digest.digest(schemaSalt)).getLong();
+
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            lock(channel, file);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, maxBytes);
+            PersistentResultStore store = new PersistentResultStore(channel, buffer, sourceMapper,
+                    digest, schemaSalt);
+            store.load(schemaFingerprint);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void lock(FileChannel channel, Path file) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IOException("Mapped result store " + file + " is already open in another store");
+        }
+    }
+
+    private void load(long schemaFingerprint) {
+        if (buffer.getInt(0) != MAGIC || buffer.getLong(4) != schemaFingerprint) {
+            if (buffer.getInt(0) != 0) {
+                log.info("Discarding mapped result store written with another schema");
+            }
+            buffer.putInt(HEADER_SIZE, 0);
+            buffer.putLong(4, schemaFingerprint);
+            buffer.putInt(0, MAGIC);
+            writePosition = HEADER_SIZE;
+            return;
+        }
+        int position = HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE + HASH_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            int hashStart = position + RECORD_HEADER_SIZE;
+            int payloadStart = hashStart + HASH_SIZE;
+            if (length <= 0 || (long) payloadStart + length > buffer.capacity()) {
+                break;
+            }
+            if (crc(hashStart, HASH_SIZE + length) != buffer.getInt(position + Integer.BYTES)) {
+                log.warn("Mapped result store record at offset {} is corrupt; dropping it and the records after it",
+                        position);
+                break;
+            }
+            byte[] hash = new byte[HASH_SIZE];
+            buffer.get(hashStart, hash);
+            index.put(ByteBuffer.wrap(hash), new Entry(payloadStart, length));
+            position = payloadStart + length;
+        }
+        writePosition = position;
+        // Later writes start here, so nothing past this point may read as a record
+        if (position + Integer.BYTES <= buffer.capacity()) {
+            buffer.putInt(position, 0);
+        }
+        log.info("Loaded {} mapped results from the result store", index.size());
+    }
+
+    /**
+     * Content hash of source as mapped to targetClass under this store's schema.
+     */
+    public byte[] contentHash(Object source, Class<?> targetClass) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(schemaSalt);
+        digest.update(targetClass.getName().getBytes(StandardCharsets.UTF_8));
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            sourceMapper.writeValue(out, source);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * The stored result for contentHash as a read-only slice of the mapped file, or null.
+     * The hash stored in front of the payload must still be contentHash, so a record
+     * changed on disk since it was indexed is not served as another source's result.
+     */
+    public ByteBuffer get(byte[] contentHash) {
+        Entry entry = index.get(ByteBuffer.wrap(contentHash));
+        if (entry == null) {
+            return null;
+        }
+        if (!buffer.slice(entry.offset - HASH_SIZE, HASH_SIZE).equals(ByteBuffer.wrap(contentHash))) {
+            log.warn("Mapped result store record at offset {} no longer matches its hash; ignoring it",
+                    entry.offset - HASH_SIZE - RECORD_HEADER_SIZE);
+            return null;
+        }
+        return buffer.slice(entry.offset, entry.length).asReadOnlyBuffer();
+    }
+
+    /**
+     * Appends a result. Returns false if the hash is already stored or the file is full.
+     */
+    public synchronized boolean put(byte[] contentHash, byte[] payload) {
+        if (contentHash.length != HASH_SIZE) {
+            throw new IllegalArgumentException("Expected a " + HASH_SIZE + "-byte content hash");
+        }
+        ByteBuffer key = ByteBuffer.wrap(contentHash.clone());
+        if (payload.length == 0 || index.containsKey(key)) {
+            return false;
+        }
+        int hashStart = writePosition + RECORD_HEADER_SIZE;
+        int payloadStart = hashStart + HASH_SIZE;
+        // Keep room for the terminating zero length after the record
+        if ((long) payloadStart + payload.length + Integer.BYTES > buffer.capacity()) {
+            if (!fullLogged) {
+                log.warn("Mapped result store is full ({} bytes); new results are no longer stored",
+                        buffer.capacity());
+                fullLogged = true;
+            }
+            return false;
+        }
+        buffer.put(hashStart, contentHash);
+        buffer.put(payloadStart, payload);
+        buffer.putInt(writePosition + Integer.BYTES, crc(hashStart, HASH_SIZE + payload.length));
+        buffer.putInt(payloadStart + payload.length, 0);
+        // The length commits the record
+        buffer.putInt(writePosition, payload.length);
+        index.put(key, new Entry(payloadStart, payload.length));
+        writePosition = payloadStart + payload.length;
+        return true;
+    }
+
+    // CRC32C of the mapped bytes [offset, offset + length)
+    private int crc(int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Flushes the mapping to disk and closes the file. Slices handed out before stay
+     * readable until the mapping is garbage collected.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private record Entry(int offset, int length) {
+    }
+}
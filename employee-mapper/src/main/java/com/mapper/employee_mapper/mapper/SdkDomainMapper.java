@@ -0,0 +1,24 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.mapper.employee_mapper.domain.Company;
+import com.mapper.employee_mapper.domain.Employee;
+import com.mapper.employee_mapper.merge_sdk.SdkCompany;
+import com.mapper.employee_mapper.merge_sdk.SdkEmployee;
+import com.mapper.employee_mapper.processor.FieldMapping;
+import com.mapper.employee_mapper.processor.MapperDefinition;
+
+/**
+ * Build-time equivalent of {@link EmployeeMappingRegistry} and {@link CompanyMappingRegistry}.
+ * The annotation processor generates SdkDomainMapperImpl from these declarations, so keep
+ * the renames in sync with the registries.
+ */
+@MapperDefinition(source = SdkEmployee.class, target = Employee.class, fields = {
+        @FieldMapping(target = "email", source = "workEmail"),
+        @FieldMapping(target = "company", source = "company")
+})
+@MapperDefinition(source = SdkCompany.class, target = Company.class, fields = {
+        @FieldMapping(target = "name", source = "legalName"),
+        @FieldMapping(target = "address", source = "headquartersAddress")
+})
+public interface SdkDomainMapper extends DomainMapper {
+}
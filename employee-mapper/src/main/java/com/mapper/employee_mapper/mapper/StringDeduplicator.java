@@ -0,0 +1,95 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, concurrent dictionary that replaces equal strings copied out of SDK objects
+ * with one canonical instance, so millions of mapped records holding the same city,
+ * country, company name or group type retain one String each instead of one per record.
+ *
+ * Only strings up to maxLength chars are considered. The table is a Caffeine cache: when
+ * it is full, values seen only once (ids, e-mails...) are the first to go, and the few
+ * very frequent values stay. Deduplication never changes a value, only which instance is
+ * kept; unlike String.intern() nothing is pinned in the JVM-wide string table.
+ */
+public final class StringDeduplicator {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private final Cache<String, String> table;
+    private final int maxEntries;
+    private final int maxLength;
+    // Shared with the per-batch copies, so the ratio covers every batch
+    private final LongAdder lookups;
+    private final LongAdder hits;
+
+    public StringDeduplicator(int maxEntries, int maxLength) {
+        this(maxEntries, maxLength, new LongAdder(), new LongAdder());
+    }
+
+    private StringDeduplicator(int maxEntries, int maxLength, LongAdder lookups, LongAdder hits) {
+        if (maxEntries < 1 || maxLength < 1) {
+            throw new IllegalArgumentException("Limits must be positive: " + maxEntries + ", " + maxLength);
+        }
+        this.table = Caffeine.newBuilder().maximumSize(maxEntries).build();
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+        this.lookups = lookups;
+        this.hits = hits;
+    }
+
+    /**
+     * An empty dictionary with the same limits that reports into this one's counters,
+     * for deduplicating within a single batch.
+     */
+    public StringDeduplicator forBatch() {
+        return new StringDeduplicator(maxEntries, maxLength, lookups, hits);
+    }
+
+    /**
+     * The canonical instance equal to value (value itself the first time it is seen).
+     */
+    public String dedupe(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        lookups.increment();
+        String canonical = table.asMap().putIfAbsent(value, value);
+        if (canonical == null) {
+            return value;
+        }
+        hits.increment();
+        return canonical;
+    }
+
+    /**
+     * Strings looked up so far, over this dictionary and its per-batch copies.
+     */
+    public long lookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * Lookups that returned an existing instance, i.e. String copies not retained.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Share of looked-up strings that were replaced by an existing instance (0 to 1).
+     */
+    public double dedupRatio() {
+        long total = lookups();
+        return (total == 0) ? 0.0 : (double) hits() / total;
+    }
+
+    public long size() {
+        return table.estimatedSize();
+    }
+}
@@ -0,0 +1,12 @@
+package com.mapper.employee_mapper.mapper;
+
+/**
+ * Converts an SDK value into the type of the domain field it is copied to.
+ * Registered on a {@link TypeConverterRegistry} for one (source type, target type) pair;
+ * never called with null.
+ */
+@FunctionalInterface
+public interface TypeConverter<S, T> {
+
+    T convert(S source);
+}
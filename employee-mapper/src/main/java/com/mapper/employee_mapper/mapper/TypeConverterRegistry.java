@@ -0,0 +1,265 @@
+package com.mapper.employee_mapper.mapper;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Converters from SDK value types to domain field types, keyed by (source type, target type).
+ *
+ * Lookups walk the source type's superclasses and interfaces for an explicitly registered
+ * converter, then fall back to the built-in families:
+ *   - String / enum → enum (by name, case-insensitive for strings), enum → String
+ *   - Number or String → any boxed numeric type or BigDecimal/BigInteger (exact, no silent truncation)
+ *   - numbers, booleans, enums, UUIDs, URIs and java.time values → String
+ * plus the temporal and string pairs registered by {@link #withDefaults()}.
+ *
+ * Results, including misses, are cached per pair, so the walk happens once; mapping plans
+ * additionally resolve each binding's converter once at compile time.
+ */
+public final class TypeConverterRegistry {
+
+    private static final TypeConverter<Object, Object> IDENTITY = value -> value;
+
+    // Cached "no converter" marker; never returned to callers
+    private static final TypeConverter<Object, Object> NONE = value -> null;
+
+    private static final Map<Class<?>, Class<?>> BOXES = Map.of(
+            boolean.class, Boolean.class, byte.class, Byte.class, short.class, Short.class,
+            char.class, Character.class, int.class, Integer.class, long.class, Long.class,
+            float.class, Float.class, double.class, Double.class);
+
+    private final Map<ConverterKey, TypeConverter<Object, Object>> registered = new ConcurrentHashMap<>();
+    private final Map<ConverterKey, TypeConverter<Object, Object>> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * A registry with the built-in temporal and string converters.
+     */
+    public static TypeConverterRegistry withDefaults() {
+        TypeConverterRegistry registry = new TypeConverterRegistry();
+
+        // Temporal
+        registry.register(OffsetDateTime.class, Instant.class, OffsetDateTime::toInstant);
+        registry.register(OffsetDateTime.class, ZonedDateTime.class, OffsetDateTime::toZonedDateTime);
+        registry.register(OffsetDateTime.class, LocalDateTime.class, OffsetDateTime::toLocalDateTime);
+        registry.register(OffsetDateTime.class, LocalDate.class, OffsetDateTime::toLocalDate);
+        registry.register(OffsetDateTime.class, Date.class, value -> Date.from(value.toInstant()));
+        registry.register(ZonedDateTime.class, OffsetDateTime.class, ZonedDateTime::toOffsetDateTime);
+        registry.register(ZonedDateTime.class, Instant.class, ZonedDateTime::toInstant);
+        registry.register(Instant.class, OffsetDateTime.class, value -> value.atOffset(ZoneOffset.UTC));
+        registry.register(Instant.class, Date.class, Date::from);
+        registry.register(Date.class, Instant.class, Date::toInstant);
+        registry.register(Date.class, OffsetDateTime.class, value -> value.toInstant().atOffset(ZoneOffset.UTC));
+        registry.register(Long.class, Instant.class, Instant::ofEpochMilli);
+
+        // String parsing (ISO-8601 for temporal values)
+        registry.register(String.class, OffsetDateTime.class, OffsetDateTime::parse);
+        registry.register(String.class, Instant.class, Instant::parse);
+        registry.register(String.class, ZonedDateTime.class, ZonedDateTime::parse);
+        registry.register(String.class, LocalDateTime.class, LocalDateTime::parse);
+        registry.register(String.class, LocalDate.class, LocalDate::parse);
+        registry.register(String.class, UUID.class, UUID::fromString);
+        registry.register(String.class, URI.class, URI::create);
+        registry.register(String.class, Boolean.class, TypeConverterRegistry::parseBoolean);
+        return registry;
+    }
+
+    /**
+     * Registers (or replaces) the converter for one pair. Converters registered for a
+     * supertype also apply to its subtypes unless a more specific one is registered.
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> TypeConverterRegistry register(Class<S> sourceType, Class<T> targetType,
+                                                 TypeConverter<? super S, ? extends T> converter) {
+        registered.put(new ConverterKey(box(sourceType), box(targetType)), (TypeConverter<Object, Object>) converter);
+        resolved.clear();
+        return this;
+    }
+
+    /**
+     * The registered pairs, sorted, as "source->target" joined by commas (e.g.
+     * "java.lang.Long->java.time.Instant,..."). Converters are code, so only the pairs
+     * they cover can be described.
+     */
+    public String describe() {
+        return registered.keySet().stream()
+                .map(key -> key.sourceType().getName() + "->" + key.targetType().getName())
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * The converter from sourceType to targetType, the identity if no conversion is
+     * needed, or null if the pair cannot be converted.
+     */
+    public TypeConverter<Object, Object> find(Class<?> sourceType, Class<?> targetType) {
+        ConverterKey key = new ConverterKey(box(sourceType), box(targetType));
+        TypeConverter<Object, Object> converter = resolved.get(key);
+        if (converter == null) {
+            converter = resolve(key.sourceType(), key.targetType());
+            resolved.putIfAbsent(key, (converter != null) ? converter : NONE);
+        }
+        return (converter == NONE) ? null : converter;
+    }
+
+    private TypeConverter<Object, Object> resolve(Class<?> sourceType, Class<?> targetType) {
+        if (targetType.isAssignableFrom(sourceType)) {
+            return IDENTITY;
+        }
+        TypeConverter<Object, Object> converter = findRegistered(sourceType, targetType);
+        if (converter != null) {
+            return converter;
+        }
+        if (targetType.isEnum()) {
+            if (sourceType == String.class || Enum.class.isAssignableFrom(sourceType)) {
+                return enumConverter(targetType);
+            }
+            return null;
+        }
+        if (isNumeric(targetType) && (Number.class.isAssignableFrom(sourceType) || sourceType == String.class)) {
+            return numberConverter(targetType);
+        }
+        if (targetType == String.class) {
+            if (Enum.class.isAssignableFrom(sourceType)) {
+                return value -> ((Enum<?>) value).name();
+            }
+            if (isStringable(sourceType)) {
+                return Object::toString;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Registered converter for the source type or its nearest supertype.
+     */
+    private TypeConverter<Object, Object> findRegistered(Class<?> sourceType, Class<?> targetType) {
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        Set<Class<?>> seen = new HashSet<>();
+        pending.add(sourceType);
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.poll();
+            if (!seen.add(type)) {
+                continue;
+            }
+            TypeConverter<Object, Object> converter = registered.get(new ConverterKey(type, targetType));
+            if (converter != null) {
+                return converter;
+            }
+            if (type.getSuperclass() != null) {
+                pending.add(type.getSuperclass());
+            }
+            pending.addAll(List.of(type.getInterfaces()));
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static TypeConverter<Object, Object> enumConverter(Class<?> enumType) {
+        Class<? extends Enum> type = (Class<? extends Enum>) enumType;
+        return value -> {
+            String name = (value instanceof Enum) ? ((Enum<?>) value).name() : value.toString().trim();
+            try {
+                return Enum.valueOf(type, name);
+            } catch (IllegalArgumentException e) {
+                for (Enum<?> constant : type.getEnumConstants()) {
+                    if (constant.name().equalsIgnoreCase(name)) {
+                        return constant;
+                    }
+                }
+                throw e;
+            }
+        };
+    }
+
+    private static TypeConverter<Object, Object> numberConverter(Class<?> targetType) {
+        Function<BigDecimal, Object> exact;
+        if (targetType == Integer.class) {
+            exact = BigDecimal::intValueExact;
+        } else if (targetType == Long.class) {
+            exact = BigDecimal::longValueExact;
+        } else if (targetType == Short.class) {
+            exact = BigDecimal::shortValueExact;
+        } else if (targetType == Byte.class) {
+            exact = BigDecimal::byteValueExact;
+        } else if (targetType == Double.class) {
+            exact = BigDecimal::doubleValue;
+        } else if (targetType == Float.class) {
+            exact = BigDecimal::floatValue;
+        } else if (targetType == BigInteger.class) {
+            exact = BigDecimal::toBigIntegerExact;
+        } else {
+            exact = value -> value;
+        }
+        return value -> exact.apply(toBigDecimal(value));
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    private static Boolean parseBoolean(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals("true")) {
+            return Boolean.TRUE;
+        }
+        if (normalized.equals("false")) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + value);
+    }
+
+    private static boolean isNumeric(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == Double.class || type == Float.class
+                || type == BigDecimal.class || type == BigInteger.class;
+    }
+
+    /**
+     * Value types whose toString() is their canonical text form.
+     */
+    private static boolean isStringable(Class<?> type) {
+        return Number.class.isAssignableFrom(type)
+                || CharSequence.class.isAssignableFrom(type)
+                || type == Boolean.class
+                || type == Character.class
+                || type == UUID.class
+                || type == URI.class
+                || (Temporal.class.isAssignableFrom(type) && type.getName().startsWith("java.time."));
+    }
+
+    private static Class<?> box(Class<?> type) {
+        return type.isPrimitive() ? BOXES.get(type) : type;
+    }
+
+    private record ConverterKey(Class<?> sourceType, Class<?> targetType) {
+    }
+}
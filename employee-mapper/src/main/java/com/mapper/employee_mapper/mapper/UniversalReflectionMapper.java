@@ -0,0 +1,1417 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.mapper.employee_mapper.domain.HasExtraFields;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A universal reflection-based mapper that transforms a "SDK-like" source object
+ * into one of our domain objects (Employee, Company, etc.).
+ *
+ * This version does not handle final fields or custom getter-based reflection
+ * logic. It simply looks for matching fields by name, unwrapping Optionals,
+ * and storing everything unmapped into extraFields. Field resolution is done
+ * once per (source class, target class) pair and cached as a {@link MappingPlan}.
+ *
+ * Plans start on the reflective copy loop; after generationThreshold calls a plan
+ * is promoted to a runtime-generated {@link GeneratedMapper} that performs the same
+ * copies as straight-line code.
+ */
+@Slf4j
+public class UniversalReflectionMapper implements DomainMapper {
+
+    public static final int DEFAULT_GENERATION_THRESHOLD = 10_000;
+
+    public static final int DEFAULT_BULK_CHUNK_SIZE = 256;
+
+    public static final int DEFAULT_LEFTOVER_MAX_DEPTH = 32;
+
+    public static final int DEFAULT_LEFTOVER_MAX_ELEMENTS = 10_000;
+
+    static final String MAX_DEPTH_MARKER = "MAX_DEPTH_EXCEEDED";
+
+    private final Map<Class<?>, BaseMappingRegistry> registryMap = new ConcurrentHashMap<>();
+
+    private volatile AccessorMode accessorMode = AccessorMode.REFLECTION;
+
+    // Calls on the reflective path before a plan is promoted to generated code; negative disables
+    private volatile int generationThreshold = DEFAULT_GENERATION_THRESHOLD;
+
+    // Whether extraFields is built on first read instead of during mapping
+    private volatile boolean lazyExtraFields;
+
+    // Bounds applied while converting leftover values
+    private volatile int leftoverMaxDepth = DEFAULT_LEFTOVER_MAX_DEPTH;
+    private volatile int leftoverMaxElements = DEFAULT_LEFTOVER_MAX_ELEMENTS;
+
+    // Streams leftover values from JSON for the token plans (for the SDK ObjectMapper last asked for)
+    private volatile JsonLeftoverReader jsonLeftoverReader;
+
+    // Whether nested objects with the same id share one mapped target within a context
+    private volatile boolean shareNestedById;
+
+    // Cross-call cache of mapped nested results; null when disabled
+    private volatile MappedResultCache resultCache;
+
+    // Canonicalizes short strings copied into domain objects; null disables it
+    private volatile StringDeduplicator stringDeduplicator;
+    // true: one fresh dictionary per bulk batch / context instead of the shared one
+    private volatile boolean dedupePerBatch;
+
+    // Receives timings, failures and extraFields sizes; NOOP skips the measurements
+    private volatile MappingObserver observer = MappingObserver.NOOP;
+
+    // Pool and leaf size used by mapAll / mapStream
+    private volatile ForkJoinPool bulkPool = ForkJoinPool.commonPool();
+    // When set, bulk chunks run as independent tasks here instead of fork/join on bulkPool
+    private volatile Executor bulkExecutor;
+    private volatile int bulkChunkSize = DEFAULT_BULK_CHUNK_SIZE;
+
+    // Compiled plans per (source class, target class); rebuilt lazily after registerMapping
+    private final Map<PlanKey, MappingPlan> planCache = new ConcurrentHashMap<>();
+
+    // Converters for binding values whose SDK type is not assignable to the domain type
+    private final TypeConverterRegistry converters = TypeConverterRegistry.withDefaults();
+
+    // Accessible declared fields of classes reflected into while building leftovers or copying cached results
+    private final Map<Class<?>, Field[]> leftoverFieldCache = new ConcurrentHashMap<>();
+
+    /**
+     * Fluent method to register a domain class + its mapping registry.
+     * Example usage:
+     *   universalMapper
+     *      .registerMapping(Employee.class, new EmployeeMappingRegistry())
+     *      .registerMapping(Company.class, new CompanyMappingRegistry());
+     */
+    public UniversalReflectionMapper registerMapping(Class<?> domainClass, BaseMappingRegistry registry) {
+        this.registryMap.put(domainClass, registry);
+        // Nested-registry targets are resolved at compile time, so existing plans are stale
+        this.planCache.clear();
+        return this;
+    }
+
+    /**
+     * Fluent method to choose how fields are read and written (reflection by default).
+     */
+    public UniversalReflectionMapper withAccessorMode(AccessorMode accessorMode) {
+        this.accessorMode = Objects.requireNonNull(accessorMode, "accessorMode");
+        this.planCache.clear();
+        return this;
+    }
+
+    public AccessorMode getAccessorMode() {
+        return accessorMode;
+    }
+
+    /**
+     * Fluent method to set after how many calls a class pair is promoted to a
+     * generated mapper. Zero promotes on the first call; a negative value keeps
+     * every pair on the reflective path.
+     */
+    public UniversalReflectionMapper withGenerationThreshold(int generationThreshold) {
+        this.generationThreshold = generationThreshold;
+        return this;
+    }
+
+    public int getGenerationThreshold() {
+        return generationThreshold;
+    }
+
+    /**
+     * Fluent method to defer building extraFields until it is first read or serialized.
+     * The mapped object then keeps a reference to its SDK source until that happens.
+     */
+    public UniversalReflectionMapper withLazyExtraFields(boolean lazyExtraFields) {
+        this.lazyExtraFields = lazyExtraFields;
+        return this;
+    }
+
+    /**
+     * Fluent method to bound leftover conversion: values nested deeper than maxDepth
+     * are replaced by a marker, and maps, collections and arrays keep at most
+     * maxElements entries.
+     */
+    public UniversalReflectionMapper withLeftoverLimits(int maxDepth, int maxElements) {
+        if (maxDepth < 1 || maxElements < 1) {
+            throw new IllegalArgumentException("Leftover limits must be positive: " + maxDepth + ", " + maxElements);
+        }
+        this.leftoverMaxDepth = maxDepth;
+        this.leftoverMaxElements = maxElements;
+        return this;
+    }
+
+    int leftoverMaxDepth() {
+        return leftoverMaxDepth;
+    }
+
+    int leftoverMaxElements() {
+        return leftoverMaxElements;
+    }
+
+    /**
+     * Fluent method to set the pool that bulk mapping runs on (the common pool by default).
+     */
+    public UniversalReflectionMapper withBulkPool(ForkJoinPool bulkPool) {
+        this.bulkPool = Objects.requireNonNull(bulkPool, "bulkPool");
+        return this;
+    }
+
+    /**
+     * Fluent method to run bulk mapping as one task per chunk on executor instead of
+     * fork/join on the bulk pool; suits a virtual-thread-per-task executor when mapping
+     * blocks on I/O (e.g. converters that fetch). Null goes back to the bulk pool.
+     */
+    public UniversalReflectionMapper withBulkExecutor(Executor bulkExecutor) {
+        this.bulkExecutor = bulkExecutor;
+        return this;
+    }
+
+    /**
+     * Fluent method to set how many items a single fork/join leaf (or executor task) maps sequentially.
+     */
+    public UniversalReflectionMapper withBulkChunkSize(int bulkChunkSize) {
+        if (bulkChunkSize < 1) {
+            throw new IllegalArgumentException("bulkChunkSize must be positive: " + bulkChunkSize);
+        }
+        this.bulkChunkSize = bulkChunkSize;
+        return this;
+    }
+
+    /**
+     * Fluent method to share nested targets by id within a mapping context: nested
+     * sources of the same domain type whose "id" values are equal are mapped once
+     * (the first one wins) and the result is shared by every parent. Identical
+     * instances are always shared, with or without this setting.
+     */
+    public UniversalReflectionMapper withShareNestedById(boolean shareNestedById) {
+        this.shareNestedById = shareNestedById;
+        return this;
+    }
+
+    /**
+     * Fluent method to put a cross-call cache in front of nested mapping (and leftover
+     * conversion) for the types it is configured with; null disables caching.
+     */
+    public UniversalReflectionMapper withResultCache(MappedResultCache resultCache) {
+        this.resultCache = resultCache;
+        return this;
+    }
+
+    /**
+     * Fluent method to deduplicate the short strings copied from SDK objects into domain
+     * fields and extraFields. With perBatch each bulk batch (and each {@link #newContext()})
+     * gets an empty copy of the dictionary that is dropped with it, and single map calls
+     * are not deduplicated; otherwise the dictionary is shared by every call. Null disables
+     * deduplication.
+     */
+    public UniversalReflectionMapper withStringDeduplicator(StringDeduplicator stringDeduplicator, boolean perBatch) {
+        this.stringDeduplicator = stringDeduplicator;
+        this.dedupePerBatch = perBatch;
+        // Generated code copies String fields directly unless deduplication is on
+        this.planCache.clear();
+        return this;
+    }
+
+    /**
+     * Fluent method to install the observer that receives per-call measurements
+     * (e.g. a Micrometer-backed one).
+     */
+    public UniversalReflectionMapper withObserver(MappingObserver observer) {
+        this.observer = Objects.requireNonNull(observer, "observer");
+        return this;
+    }
+
+    /**
+     * Fluent method to register (or replace) the converter used when an SDK value of
+     * sourceType lands on a domain field of targetType. It takes precedence over the
+     * built-in conversions and over copying beans field by field.
+     */
+    public <S, T> UniversalReflectionMapper withConverter(Class<S> sourceType, Class<T> targetType,
+                                                          TypeConverter<? super S, ? extends T> converter) {
+        this.converters.register(sourceType, targetType, converter);
+        // Converters are resolved per binding at compile time
+        this.planCache.clear();
+        return this;
+    }
+
+    /**
+     * The source/target pairs with a registered converter, built-in ones included; see
+     * {@link TypeConverterRegistry#describe()}.
+     */
+    public String describeConverters() {
+        return converters.describe();
+    }
+
+    /**
+     * Main entry point: maps the given sourceObject (SDK object) to an instance
+     * of the specified domain type.
+     */
+    @Override
+    public <T> T map(Object sourceObject, Class<T> targetClass) {
+        if (sourceObject == null) {
+            log.warn("Source object is null; returning null for {}", targetClass.getSimpleName());
+            return null;
+        }
+        return mapTopLevel(sourceObject, targetClass, MappingContext.local(shareNestedById));
+    }
+
+    /**
+     * Maps sourceObject within a caller-supplied context, so nested objects (and the
+     * results themselves) are shared across every call made with the same context.
+     */
+    public <T> T map(Object sourceObject, Class<T> targetClass, MappingContext context) {
+        if (sourceObject == null) {
+            log.warn("Source object is null; returning null for {}", targetClass.getSimpleName());
+            return null;
+        }
+        return mapTopLevel(sourceObject, targetClass, Objects.requireNonNull(context, "context"));
+    }
+
+    /**
+     * A fresh thread-safe context using this mapper's id-sharing setting.
+     */
+    public MappingContext newContext() {
+        return MappingContext.create(shareNestedById, batchStrings());
+    }
+
+    /**
+     * Maps every item of sources on the bulk pool, keeping input order. Items that fail
+     * are reported in the result's failures and leave a null in their slot; they never
+     * abort the rest of the batch. Null items map to null. Nested objects are shared
+     * across the whole batch through one {@link MappingContext}.
+     */
+    public <T> BulkMappingResult<T> mapAll(Collection<?> sources, Class<T> targetClass) {
+        List<?> list = (sources instanceof List && sources instanceof RandomAccess)
+                ? (List<?>) sources
+                : new ArrayList<>(sources);
+        return mapBatch(list, 0, targetClass);
+    }
+
+    /**
+     * Streaming variant of {@link #mapAll}: pulls sources in batches of batchSize, maps
+     * each batch in parallel on the bulk pool and emits the results in input order.
+     * Null and failed items are skipped; failures are handed to failureHandler.
+     */
+    public <T> Stream<T> mapStream(Stream<?> sources, Class<T> targetClass, int batchSize,
+                                   Consumer<MappingFailure> failureHandler) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        BatchMappingSpliterator<T> spliterator = new BatchMappingSpliterator<>(
+                sources.spliterator(), batchSize,
+                (batch, baseIndex) -> mapBatch(batch, baseIndex, targetClass),
+                failureHandler);
+        return StreamSupport.stream(spliterator, false).onClose(sources::close);
+    }
+
+    private <T> BulkMappingResult<T> mapBatch(List<?> sources, long baseIndex, Class<T> targetClass) {
+        Object[] results = new Object[sources.size()];
+        Queue<MappingFailure> failures = new ConcurrentLinkedQueue<>();
+        if (!sources.isEmpty()) {
+            MappingContext context = MappingContext.create(shareNestedById, batchStrings());
+            BulkMappingTask.ItemMapper itemMapper =
+                    source -> source == null ? null : mapItem(source, targetClass, context);
+            Executor executor = bulkExecutor;
+            if (executor == null) {
+                bulkPool.invoke(new BulkMappingTask(sources, results, 0, sources.size(), bulkChunkSize, baseIndex,
+                        targetClass, itemMapper, failures));
+            } else {
+                runChunks(executor, sources, results, baseIndex, targetClass, itemMapper, failures);
+            }
+        }
+
+        List<T> mapped = new ArrayList<>(results.length);
+        for (Object result : results) {
+            mapped.add(targetClass.cast(result));
+        }
+        List<MappingFailure> sortedFailures = new ArrayList<>(failures);
+        sortedFailures.sort(Comparator.comparingLong(MappingFailure::getIndex));
+        return new BulkMappingResult<>(mapped, sortedFailures);
+    }
+
+    /**
+     * Splits the batch into bulkChunkSize slices, maps each as its own task on executor
+     * and waits for all of them.
+     */
+    private void runChunks(Executor executor, List<?> sources, Object[] results, long baseIndex,
+                           Class<?> targetClass, BulkMappingTask.ItemMapper itemMapper,
+                           Queue<MappingFailure> failures) {
+        int chunkSize = bulkChunkSize;
+        List<CompletableFuture<Void>> chunks = new ArrayList<>((sources.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < sources.size(); from += chunkSize) {
+            BulkMappingTask chunk = new BulkMappingTask(sources, results, from,
+                    Math.min(from + chunkSize, sources.size()), chunkSize, baseIndex, targetClass, itemMapper, failures);
+            chunks.add(CompletableFuture.runAsync(chunk::mapSlice, executor));
+        }
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    /**
+     * A top-level map call, timed when an observer is installed or a JFR recording is running.
+     */
+    private <T> T mapTopLevel(Object source, Class<T> targetClass, MappingContext context) {
+        MappingEvents.MapEvent event = new MappingEvents.MapEvent();
+        event.begin();
+        MappingObserver observer = this.observer;
+        long start = (observer != MappingObserver.NOOP) ? System.nanoTime() : 0L;
+        T result = mapObjectToDomain(source, targetClass, context);
+        if (result != null && observer != MappingObserver.NOOP) {
+            observer.onMapped(source.getClass(), targetClass, System.nanoTime() - start);
+        }
+        commit(event, source, targetClass, result != null);
+        return result;
+    }
+
+    /**
+     * One bulk item: like {@link #mapTopLevel} but failures propagate to the batch.
+     */
+    private <T> T mapItem(Object source, Class<T> targetClass, MappingContext context) throws Exception {
+        MappingEvents.MapEvent event = new MappingEvents.MapEvent();
+        event.begin();
+        MappingObserver observer = this.observer;
+        long start = (observer != MappingObserver.NOOP) ? System.nanoTime() : 0L;
+        boolean succeeded = false;
+        try {
+            T result = doMap(source, targetClass, context);
+            succeeded = true;
+            if (observer != MappingObserver.NOOP) {
+                observer.onMapped(source.getClass(), targetClass, System.nanoTime() - start);
+            }
+            return result;
+        } catch (Exception e) {
+            observer.onFailure(source.getClass(), targetClass, e);
+            throw e;
+        } finally {
+            commit(event, source, targetClass, succeeded);
+        }
+    }
+
+    /**
+     * Fills in and commits a map event, only when a recording has it enabled.
+     */
+    private void commit(MappingEvents.ObjectMappingEvent event, Object source, Class<?> targetClass,
+                        boolean succeeded) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+        if (source instanceof Optional) {
+            source = ((Optional<?>) source).orElse(null);
+        }
+        event.targetClass = targetClass;
+        event.succeeded = succeeded;
+        event.fieldCount = -1;
+        if (source != null) {
+            event.sourceClass = source.getClass();
+            try {
+                MappingPlan plan = planFor(source.getClass(), targetClass);
+                event.fieldCount = plan.getBindings().size();
+                event.leftoverSize = plan.getLeftoverFields().size();
+            } catch (NoSuchMethodException e) {
+                // No plan for the pair: the mapping itself failed on the same lookup
+            }
+        }
+        event.commit();
+    }
+
+    /**
+     * Recursively maps sourceObject → target domain object, logging and returning
+     * null on failure so a broken nested value never fails its parent.
+     */
+    private <T> T mapObjectToDomain(Object source, Class<T> targetClass, MappingContext context) {
+        try {
+            return doMap(source, targetClass, context);
+        } catch (Exception e) {
+            log.error("Error mapping from {} to {}",
+                    source.getClass().getSimpleName(), targetClass.getSimpleName(), e);
+            observer.onFailure(source.getClass(), targetClass, e);
+            return null;
+        }
+    }
+
+    /**
+     * Maps sourceObject → target domain object using the cached mapping plan for
+     * the (source class, target class) pair. A source already seen in the context
+     * (including one still being mapped further up a cyclic graph) returns its
+     * existing target.
+     */
+    private <T> T doMap(Object source, Class<T> targetClass, MappingContext context) throws Exception {
+        // Unwrap Optional if present
+        if (source instanceof Optional) {
+            source = ((Optional<?>) source).orElse(null);
+            if (source == null) {
+                return null;
+            }
+        }
+
+        Object existing = context.lookup(source, targetClass);
+        if (existing != null) {
+            return targetClass.cast(existing);
+        }
+
+        return doMap(source, targetClass, planFor(source.getClass(), targetClass), context);
+    }
+
+    private <T> T doMap(Object source, Class<T> targetClass, MappingPlan plan, MappingContext context)
+            throws Exception {
+        GeneratedMapper generated = plan.getGeneratedMapper();
+        if (generated == null && plan.shouldPromote(generationThreshold)) {
+            generated = promote(plan);
+        }
+        if (generated != null) {
+            return targetClass.cast(generated.map(source, plan.getGeneratedCallbacks(), context));
+        }
+
+        T targetInstance = targetClass.cast(plan.newTarget());
+        context.register(source, targetClass, targetInstance);
+        try {
+            for (MappingPlan.FieldBinding binding : plan.getBindings()) {
+                Object sdkValue = binding.getSdkAccessor().get(source);
+                setBindingValue(binding, targetInstance, convertBindingValue(binding, sdkValue, context));
+            }
+
+            // For leftover SDK fields, store them in extraFields if domain implements HasExtraFields
+            if (plan.hasLeftovers()) {
+                fillLeftovers(source, targetInstance, plan, context);
+            }
+        } catch (Exception | Error e) {
+            context.unregister(source, targetClass, targetInstance);
+            throw e;
+        }
+
+        return targetInstance;
+    }
+
+    /**
+     * Stores a converted binding value; a null (absent or unconvertible value) leaves a
+     * primitive domain field at its default.
+     */
+    void setBindingValue(MappingPlan.FieldBinding binding, Object targetInstance, Object value) {
+        if (value == null && binding.getDomainType().isPrimitive()) {
+            return;
+        }
+        binding.getDomainAccessor().set(targetInstance, value);
+    }
+
+    /**
+     * Turns the raw SDK value of one binding into the value stored on the domain field.
+     */
+    Object convertBindingValue(MappingPlan.FieldBinding binding, Object sdkValue, MappingContext context) {
+        // Unwrap if it's an Optional
+        if (sdkValue instanceof Optional) {
+            sdkValue = ((Optional<?>) sdkValue).orElse(null);
+        }
+
+        // If the target field type also has a registry, treat it as nested domain
+        if (binding.isNested() && sdkValue != null) {
+            return mapNested(sdkValue, binding.getDomainType(), context);
+        }
+        Object value = convertValue(binding, sdkValue);
+        if (value instanceof String) {
+            StringDeduplicator strings = stringsFor(context);
+            if (strings != null) {
+                return strings.dedupe((String) value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * The per-batch dictionary for a new bulk context, or null.
+     */
+    private StringDeduplicator batchStrings() {
+        StringDeduplicator strings = stringDeduplicator;
+        return (strings != null && dedupePerBatch) ? strings.forBatch() : null;
+    }
+
+    /**
+     * The dictionary strings mapped within context go through, or null.
+     */
+    private StringDeduplicator stringsFor(MappingContext context) {
+        StringDeduplicator strings = context.strings();
+        if (strings != null) {
+            return strings;
+        }
+        return dedupePerBatch ? null : stringDeduplicator;
+    }
+
+    /**
+     * Maps a nested value through the cross-call result cache when its type is cached.
+     */
+    private Object mapNested(Object sdkValue, Class<?> domainType, MappingContext context) {
+        MappingEvents.NestedMapEvent event = new MappingEvents.NestedMapEvent();
+        event.begin();
+        Object mapped = mapNestedThroughCache(sdkValue, domainType, context);
+        commit(event, sdkValue, domainType, mapped != null);
+        return mapped;
+    }
+
+    private Object mapNestedThroughCache(Object sdkValue, Class<?> domainType, MappingContext context) {
+        MappedResultCache cache = resultCache;
+        if (cache == null || !cache.cachesDomainType(domainType)) {
+            return mapNestedInContext(sdkValue, domainType, context);
+        }
+        Object key = cache.keyFor(sdkValue, domainType);
+        if (key == null) {
+            return mapNestedInContext(sdkValue, domainType, context);
+        }
+        Object cached = cache.get(key);
+        if (cached != null) {
+            return copyOfCached(sdkValue, domainType, cached, context);
+        }
+        // A target already in the context may still be filling up further up a cycle; don't publish it
+        boolean fresh = context.lookup(sdkValue, domainType) == null;
+        Object mapped = mapNestedInContext(sdkValue, domainType, context);
+        if (fresh && mapped != null) {
+            // The caller owns mapped; the cache keeps its own copy
+            cache.put(key, copyThroughPlan(mapped, planOrNull(sdkValue.getClass(), domainType), new IdentityHashMap<>()));
+        }
+        return mapped;
+    }
+
+    /**
+     * A private copy of a cached nested result, so no caller ever holds (and mutates)
+     * the cached instance. Within a context that shares by id, the copy is shared like
+     * a freshly mapped target would be.
+     */
+    private Object copyOfCached(Object sdkValue, Class<?> domainType, Object cached, MappingContext context) {
+        Object id = null;
+        if (context.sharesById()) {
+            try {
+                id = planFor(sdkValue.getClass(), domainType).readId(sdkValue);
+            } catch (NoSuchMethodException e) {
+                // Cannot happen for a value that was mapped and cached; just don't share it
+            }
+        }
+        if (id != null) {
+            Object shared = context.lookupById(domainType, id);
+            if (shared != null) {
+                return shared;
+            }
+        }
+        Object copy = copyThroughPlan(cached, planOrNull(sdkValue.getClass(), domainType), new IdentityHashMap<>());
+        if (id != null) {
+            context.registerById(domainType, id, copy);
+        }
+        return copy;
+    }
+
+    private MappingPlan planOrNull(Class<?> sourceClass, Class<?> targetClass) {
+        try {
+            return planFor(sourceClass, targetClass);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Deep copy of a domain object mapped with plan, through the plan's own accessors:
+     * bound fields are copied (nested ones with the plan of their SDK field's type),
+     * unbound fields are left at their defaults as a fresh mapping would. Domain objects
+     * with extraFields, or without a plan, fall back to {@link #copyMapped}.
+     */
+    private Object copyThroughPlan(Object mapped, MappingPlan plan, Map<Object, Object> copies) {
+        if (plan == null || plan.hasLeftovers() || mapped.getClass() != plan.getTargetClass()) {
+            return copyMapped(mapped, copies);
+        }
+        Object copy = copies.get(mapped);
+        if (copy != null) {
+            return copy;
+        }
+        try {
+            copy = plan.newTarget();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to copy cached " + mapped.getClass().getSimpleName(), e);
+        }
+        copies.put(mapped, copy);
+        for (MappingPlan.FieldBinding binding : plan.getBindings()) {
+            Object value = binding.getDomainAccessor().get(mapped);
+            if (value != null && binding.isNested()) {
+                value = copyThroughPlan(value,
+                        planOrNull(MappingPlan.valueTypeOf(binding.getSdkField()), binding.getDomainType()), copies);
+            } else {
+                value = copyMapped(value, copies);
+            }
+            setBindingValue(binding, copy, value);
+        }
+        return copy;
+    }
+
+    /**
+     * Deep copy of a mapped value: maps and collections into new containers, JSON trees
+     * with deepCopy, domain beans outside any plan reflectively field by field; immutable
+     * values (strings, numbers, enums, java.time...) are shared.
+     */
+    private Object copyMapped(Object value, Map<Object, Object> copies) {
+        if (value == null) {
+            return null;
+        }
+        Class<?> valueClass = value.getClass();
+        if (isSimpleType(valueClass) || (isJdkValueType(valueClass) && !valueClass.isArray())) {
+            return value;
+        }
+        Object copy = copies.get(value);
+        if (copy != null) {
+            return copy;
+        }
+        if (value instanceof JsonNode) {
+            copy = ((JsonNode) value).deepCopy();
+            copies.put(value, copy);
+            return copy;
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> mapCopy = new LinkedHashMap<>();
+            copies.put(value, mapCopy);
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                mapCopy.put(entry.getKey(), copyMapped(entry.getValue(), copies));
+            }
+            return mapCopy;
+        }
+        if (value instanceof Collection) {
+            Collection<Object> collectionCopy = (value instanceof Set) ? new LinkedHashSet<>() : new ArrayList<>();
+            copies.put(value, collectionCopy);
+            for (Object item : (Collection<?>) value) {
+                collectionCopy.add(copyMapped(item, copies));
+            }
+            return collectionCopy;
+        }
+        if (valueClass.isArray() || !MappingPlan.isBeanType(valueClass)) {
+            return value;
+        }
+        try {
+            Constructor<?> constructor = valueClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            copy = constructor.newInstance();
+            copies.put(value, copy);
+            for (Field f : accessibleFieldsOf(valueClass)) {
+                if (!Modifier.isStatic(f.getModifiers())) {
+                    f.set(copy, copyMapped(f.get(value), copies));
+                }
+            }
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to copy cached " + valueClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Maps a nested value, reusing the target of an equal-id source when the context
+     * shares by id.
+     */
+    private Object mapNestedInContext(Object sdkValue, Class<?> domainType, MappingContext context) {
+        if (!context.sharesById()) {
+            return mapObjectToDomain(sdkValue, domainType, context);
+        }
+        Object id;
+        try {
+            id = planFor(sdkValue.getClass(), domainType).readId(sdkValue);
+        } catch (NoSuchMethodException e) {
+            // Not mappable at all; let mapObjectToDomain report it
+            return mapObjectToDomain(sdkValue, domainType, context);
+        }
+        if (id == null) {
+            return mapObjectToDomain(sdkValue, domainType, context);
+        }
+        Object shared = context.lookupById(domainType, id);
+        if (shared != null) {
+            return shared;
+        }
+        Object mapped = mapObjectToDomain(sdkValue, domainType, context);
+        if (mapped != null) {
+            context.registerById(domainType, id, mapped);
+        }
+        return mapped;
+    }
+
+    /**
+     * Converts an unwrapped, non-nested binding value with the converter resolved in the
+     * plan, falling back to a lookup on the value's runtime type.
+     */
+    Object convertValue(MappingPlan.FieldBinding binding, Object sdkValue) {
+        if (sdkValue == null) {
+            return null;
+        }
+        TypeConverter<Object, Object> converter = binding.getConverter();
+        if (converter == null) {
+            return mapValue(sdkValue, binding.getDomainType());
+        }
+        Object converted = applyConverter(converter, sdkValue, binding.getDomainType());
+        if (converted == null) {
+            MappingEvents.ConversionFallbackEvent event = new MappingEvents.ConversionFallbackEvent();
+            if (event.shouldCommit()) {
+                event.sourceClass = sdkValue.getClass();
+                event.targetClass = binding.getDomainType();
+                event.converterFound = true;
+                event.failed = true;
+                event.commit();
+            }
+        }
+        return converted;
+    }
+
+    private void fillLeftovers(Object source, Object targetInstance, MappingPlan plan, MappingContext context) {
+        fillLeftovers(source, null, lazyExtraFields ? null : leftoverWalk(context), targetInstance, plan);
+    }
+
+    /**
+     * Fills extraFields with the values {@link JsonTokenMapper} built straight from JSON
+     * through walk (see {@link #leftoverWalk}), one per leftover field of the plan. They
+     * are always built eagerly.
+     */
+    void fillLeftovers(Object[] leftoverValues, LeftoverWalk walk, Object targetInstance, MappingPlan plan) {
+        fillLeftovers(null, leftoverValues, walk, targetInstance, plan);
+    }
+
+    /**
+     * State for building one object's extraFields eagerly within context, or null when
+     * neither the observer nor a string dictionary needs one.
+     */
+    LeftoverWalk leftoverWalk(MappingContext context) {
+        StringDeduplicator strings = stringsFor(context);
+        return (observer != MappingObserver.NOOP || strings != null) ? new LeftoverWalk(strings) : null;
+    }
+
+    private void fillLeftovers(Object source, Object[] leftoverValues, LeftoverWalk walk, Object targetInstance,
+                               MappingPlan plan) {
+        MappingEvents.LeftoverEvent event = new MappingEvents.LeftoverEvent();
+        event.begin();
+        MappingObserver observer = this.observer;
+        boolean lazy = lazyExtraFields && leftoverValues == null;
+        Map<String, Object> leftover;
+        if (lazy) {
+            leftover = new LazyExtraFields(source, plan.getLeftoverFields(), this);
+            if (observer != MappingObserver.NOOP) {
+                observer.onExtraFields(plan.getTargetClass(), leftover.size(), -1);
+            }
+        } else {
+            leftover = buildLeftoverStructure(source, leftoverValues, plan, walk);
+            if (observer != MappingObserver.NOOP) {
+                observer.onExtraFields(plan.getTargetClass(), leftover.size(), walk.maxDepth);
+            }
+        }
+        ((HasExtraFields) targetInstance).setExtraFields(leftover);
+        if (event.shouldCommit()) {
+            event.sourceClass = plan.getSourceClass();
+            event.targetClass = plan.getTargetClass();
+            event.leftoverSize = leftover.size();
+            event.lazy = lazy;
+            event.commit();
+        }
+    }
+
+    /**
+     * Generates the straight-line mapper for a hot plan. Plans that cannot be
+     * generated simply stay on the reflective path.
+     */
+    private GeneratedMapper promote(MappingPlan plan) {
+        try {
+            GeneratedMapper generated = MapperBytecodeGenerator.generate(plan, stringDeduplicator != null);
+            if (generated == null) {
+                log.debug("Mapping {} -> {} is not eligible for code generation; staying reflective",
+                        plan.getSourceClass().getSimpleName(), plan.getTargetClass().getSimpleName());
+                return null;
+            }
+            plan.promote(generated, new PlanCallbacks(plan));
+            log.info("Promoted mapping {} -> {} to generated code",
+                    plan.getSourceClass().getSimpleName(), plan.getTargetClass().getSimpleName());
+            return generated;
+        } catch (Exception | LinkageError e) {
+            log.warn("Unable to generate mapper for {} -> {}; staying reflective",
+                    plan.getSourceClass().getSimpleName(), plan.getTargetClass().getSimpleName(), e);
+            return null;
+        }
+    }
+
+    MappingPlan planFor(Class<?> sourceClass, Class<?> targetClass) throws NoSuchMethodException {
+        PlanKey key = new PlanKey(sourceClass, targetClass);
+        MappingPlan plan = planCache.get(key);
+        if (plan == null) {
+            // Compiling twice under a race is harmless; the plans are equivalent
+            plan = MappingPlan.compile(sourceClass, targetClass, registryMap.get(targetClass),
+                    registryMap.keySet(), accessorMode, converters);
+            planCache.putIfAbsent(key, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Plan used by {@link JsonTokenMapper} to read JSON of sourceClass straight into
+     * targetClass; compiled once per mapping plan (for the SDK ObjectMapper it was last
+     * asked for).
+     */
+    JsonTokenPlan tokenPlanFor(Class<?> sourceClass, Class<?> targetClass, ObjectMapper sdkMapper)
+            throws NoSuchMethodException {
+        MappingPlan plan = planFor(sourceClass, targetClass);
+        JsonTokenPlan tokenPlan = plan.getTokenPlan();
+        if (tokenPlan == null || tokenPlan.getSdkMapper() != sdkMapper) {
+            // Compiling twice under a race is harmless; the plans are equivalent
+            JsonLeftoverReader leftoverReader = jsonLeftoverReader;
+            if (leftoverReader == null || leftoverReader.getSdkMapper() != sdkMapper) {
+                leftoverReader = new JsonLeftoverReader(this, sdkMapper);
+                jsonLeftoverReader = leftoverReader;
+            }
+            tokenPlan = JsonTokenPlan.compile(plan, leftoverReader);
+            plan.setTokenPlan(tokenPlan);
+        }
+        return tokenPlan;
+    }
+
+    /**
+     * Builds a structure (Map) of leftover fields from the SDK object that were not mapped
+     * to any domain field, as precomputed by the plan. If walk is given, it records the
+     * deepest nesting level reached and supplies the string dictionary. The values are
+     * built from source, or taken as they are from leftoverValues (by leftover index)
+     * when it is given.
+     */
+    private Map<String, Object> buildLeftoverStructure(Object source, Object[] leftoverValues, MappingPlan plan,
+                                                       LeftoverWalk walk) {
+        Map<String, Object> leftover = new LinkedHashMap<>();
+        List<FieldAccessor> leftoverFields = plan.getLeftoverFields();
+        for (int i = 0; i < leftoverFields.size(); i++) {
+            FieldAccessor sdkField = leftoverFields.get(i);
+            if (leftoverValues != null) {
+                leftover.put(sdkField.getName(), leftoverValues[i]);
+                continue;
+            }
+            try {
+                leftover.put(sdkField.getName(), buildLeftoverValue(sdkField.get(source), 0, walk));
+            } catch (IllegalStateException e) {
+                log.warn("Unable to read leftover field {}: {}", sdkField.getName(), e.getMessage());
+            }
+        }
+        return leftover;
+    }
+
+    /**
+     * Recursively constructs leftover data for unmapped fields, exactly as they are stored
+     * in extraFields. The build-time generated mapper can take it as its opt-in converter
+     * for leftover values of classes it did not see at build time.
+     */
+    public Object buildLeftoverValue(Object sdkVal) {
+        // Lazy extraFields are built outside any batch, so only the shared dictionary applies
+        StringDeduplicator strings = dedupePerBatch ? null : stringDeduplicator;
+        return buildLeftoverValue(sdkVal, 0, (strings != null) ? new LeftoverWalk(strings) : null);
+    }
+
+    /**
+     * Recursively constructs leftover data for unmapped fields.
+     * - JsonNode trees (remote_data, field_mappings) are copied as trees; JDK value types
+     *   such as OffsetDateTime are passed through untouched. Jackson writes both natively.
+     * - Maps, collections and arrays are copied element by element.
+     * - If it's a simple type, use it directly.
+     * - Otherwise, reflect its fields into a map.
+     * Containers are cut at leftoverMaxElements entries and anything nested deeper
+     * than leftoverMaxDepth is replaced by a marker, so huge or cyclic blobs stay bounded.
+     */
+    Object buildLeftoverValue(Object sdkVal, int depth, LeftoverWalk walk) {
+        if (sdkVal == null) return null;
+        if (walk != null && depth > walk.maxDepth) {
+            walk.maxDepth = depth;
+        }
+
+        // Unwrap Optional
+        if (sdkVal instanceof Optional) {
+            sdkVal = ((Optional<?>) sdkVal).orElse(null);
+            if (sdkVal == null) return null;
+        }
+
+        // Jackson trees are already a JSON representation; never reflect into them
+        if (sdkVal instanceof JsonNode) {
+            return copyLeftoverNode((JsonNode) sdkVal, depth, walk);
+        }
+
+        // If it's a "simple" type, return as is
+        Class<?> valueClass = sdkVal.getClass();
+        if (valueClass == String.class && walk != null && walk.strings != null) {
+            return walk.strings.dedupe((String) sdkVal);
+        }
+        if (isSimpleType(valueClass) || isJdkValueType(valueClass)) {
+            return sdkVal;
+        }
+
+        if (depth >= leftoverMaxDepth) {
+            return MAX_DEPTH_MARKER;
+        }
+
+        // If it's a map, copy it with string keys
+        if (sdkVal instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) sdkVal;
+            Map<String, Object> resultMap = new LinkedHashMap<>(Math.min(map.size(), leftoverMaxElements) * 4 / 3 + 1);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (resultMap.size() >= leftoverMaxElements) {
+                    break;
+                }
+                resultMap.put(String.valueOf(entry.getKey()), buildLeftoverValue(entry.getValue(), depth + 1, walk));
+            }
+            return resultMap;
+        }
+
+        // If it's a collection, map each element
+        if (sdkVal instanceof Collection) {
+            Collection<?> coll = (Collection<?>) sdkVal;
+            List<Object> resultList = new ArrayList<>(Math.min(coll.size(), leftoverMaxElements));
+            for (Object item : coll) {
+                if (resultList.size() >= leftoverMaxElements) {
+                    break;
+                }
+                resultList.add(buildLeftoverValue(item, depth + 1, walk));
+            }
+            return resultList;
+        }
+
+        // Object arrays become lists; primitive arrays are written natively by Jackson
+        if (valueClass.isArray()) {
+            if (valueClass.getComponentType().isPrimitive()) {
+                return sdkVal;
+            }
+            Object[] array = (Object[]) sdkVal;
+            int length = Math.min(array.length, leftoverMaxElements);
+            List<Object> resultList = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                resultList.add(buildLeftoverValue(array[i], depth + 1, walk));
+            }
+            return resultList;
+        }
+
+        // Otherwise, treat it as a complex object => reflect and build a map
+        MappedResultCache cache = resultCache;
+        if (cache != null && cache.cachesLeftoverType(valueClass) && usesSharedStrings(walk)) {
+            Object cached = cachedLeftoverObject(cache, sdkVal, valueClass, depth, walk);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return reflectLeftoverObject(sdkVal, valueClass, depth, walk);
+    }
+
+    /**
+     * Cached leftovers are shared by every call, so they can only go through the shared
+     * dictionary (or none); a walk with a per-batch dictionary builds its own.
+     */
+    private boolean usesSharedStrings(LeftoverWalk walk) {
+        return walk == null || walk.strings == null || walk.strings == stringDeduplicator;
+    }
+
+    /**
+     * The leftover map of a cached type, built once at depth 0 and handed out read-only,
+     * or null when it would be cut by the depth limit at this depth and must be built here.
+     * The cached map is read-only all the way down and shared by every hit, unless it holds
+     * JSON trees or primitive arrays, which cannot be frozen: then each hit gets its own
+     * read-only copy, so no caller can change what the next one sees.
+     */
+    private Object cachedLeftoverObject(MappedResultCache cache, Object sdkVal, Class<?> valueClass, int depth,
+                                        LeftoverWalk walk) {
+        Object key = cache.keyFor(sdkVal, Map.class);
+        if (key == null) {
+            return null;
+        }
+        CachedLeftover cached = (CachedLeftover) cache.get(key);
+        if (cached == null) {
+            LeftoverWalk own = new LeftoverWalk((walk != null) ? walk.strings : null);
+            Object value = readOnlyLeftover(reflectLeftoverObject(sdkVal, valueClass, 0, own));
+            cached = new CachedLeftover(value, own.maxDepth, hasMutableLeaves(value));
+            cache.put(key, cached);
+        }
+        // Built at depth 0, the map is the same as one built here only if nothing in it reaches the limit
+        if (depth + cached.height() >= leftoverMaxDepth) {
+            return null;
+        }
+        if (walk != null && depth + cached.height() > walk.maxDepth) {
+            walk.maxDepth = depth + cached.height();
+        }
+        return cached.copyPerHit() ? readOnlyLeftover(cached.value()) : cached.value();
+    }
+
+    /**
+     * Copy of a built leftover structure with unmodifiable maps and lists at every level;
+     * JSON containers and primitive arrays are copied, immutable leaves shared.
+     */
+    private static Object readOnlyLeftover(Object value) {
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Map<String, Object> copy = new LinkedHashMap<>(map.size() * 4 / 3 + 1);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put((String) entry.getKey(), readOnlyLeftover(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object item : list) {
+                copy.add(readOnlyLeftover(item));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        if (value instanceof JsonNode) {
+            return ((JsonNode) value).deepCopy();
+        }
+        if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        return value;
+    }
+
+    // Whether a read-only leftover structure still holds values a caller could mutate
+    private static boolean hasMutableLeaves(Object value) {
+        if (value instanceof Map) {
+            for (Object item : ((Map<?, ?>) value).values()) {
+                if (hasMutableLeaves(item)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                if (hasMutableLeaves(item)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return (value instanceof JsonNode && ((JsonNode) value).isContainerNode())
+                || (value != null && value.getClass().isArray());
+    }
+
+    /**
+     * Copies a Jackson tree under the same limits as any other leftover value. The SDK's
+     * trees are mutable, so containers are always copied rather than shared with the
+     * domain object; value nodes are immutable and kept as they are.
+     */
+    private Object copyLeftoverNode(JsonNode node, int depth, LeftoverWalk walk) {
+        if (!node.isContainerNode()) {
+            return node;
+        }
+        if (depth >= leftoverMaxDepth) {
+            return MAX_DEPTH_MARKER;
+        }
+        if (node.isObject()) {
+            ObjectNode copy = JsonNodeFactory.instance.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext() && copy.size() < leftoverMaxElements) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                copy.set(field.getKey(), asNode(buildLeftoverValue(field.getValue(), depth + 1, walk)));
+            }
+            return copy;
+        }
+        ArrayNode copy = JsonNodeFactory.instance.arrayNode(Math.min(node.size(), leftoverMaxElements));
+        for (JsonNode item : node) {
+            if (copy.size() >= leftoverMaxElements) {
+                break;
+            }
+            copy.add(asNode(buildLeftoverValue(item, depth + 1, walk)));
+        }
+        return copy;
+    }
+
+    // A copied child is a node, or the depth marker in its place
+    private static JsonNode asNode(Object copied) {
+        return (copied instanceof JsonNode) ? (JsonNode) copied : TextNode.valueOf((String) copied);
+    }
+
+    private Map<String, Object> reflectLeftoverObject(Object sdkVal, Class<?> valueClass, int depth, LeftoverWalk walk) {
+        Map<String, Object> objMap = new LinkedHashMap<>();
+        for (Field f : accessibleFieldsOf(valueClass)) {
+            try {
+                Object val = f.get(sdkVal);
+                objMap.put(f.getName(), buildLeftoverValue(val, depth + 1, walk));
+            } catch (Exception e) {
+                objMap.put(f.getName(), "ERROR_READING_FIELD");
+            }
+        }
+        return objMap;
+    }
+
+    /**
+     * Writes the JSON that {@link #buildLeftoverValue(Object)} would produce for sdkVal
+     * straight to the generator, applying the same limits but without building the
+     * intermediate maps and lists.
+     */
+    void writeLeftoverValue(Object sdkVal, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeLeftoverValue(sdkVal, 0, gen, provider);
+    }
+
+    private void writeLeftoverValue(Object sdkVal, int depth, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        if (sdkVal instanceof Optional) {
+            sdkVal = ((Optional<?>) sdkVal).orElse(null);
+        }
+        if (sdkVal == null) {
+            gen.writeNull();
+            return;
+        }
+
+        Class<?> valueClass = sdkVal.getClass();
+        if (isSimpleType(valueClass) || isJdkValueType(valueClass)
+                || (sdkVal instanceof JsonNode && !((JsonNode) sdkVal).isContainerNode())) {
+            provider.defaultSerializeValue(sdkVal, gen);
+            return;
+        }
+
+        if (depth >= leftoverMaxDepth) {
+            gen.writeString(MAX_DEPTH_MARKER);
+            return;
+        }
+
+        if (sdkVal instanceof JsonNode) {
+            writeLeftoverNode((JsonNode) sdkVal, depth, gen, provider);
+            return;
+        }
+
+        if (sdkVal instanceof Map) {
+            gen.writeStartObject();
+            int written = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) sdkVal).entrySet()) {
+                if (written++ >= leftoverMaxElements) {
+                    break;
+                }
+                gen.writeFieldName(String.valueOf(entry.getKey()));
+                writeLeftoverValue(entry.getValue(), depth + 1, gen, provider);
+            }
+            gen.writeEndObject();
+            return;
+        }
+
+        if (sdkVal instanceof Collection) {
+            gen.writeStartArray();
+            int written = 0;
+            for (Object item : (Collection<?>) sdkVal) {
+                if (written++ >= leftoverMaxElements) {
+                    break;
+                }
+                writeLeftoverValue(item, depth + 1, gen, provider);
+            }
+            gen.writeEndArray();
+            return;
+        }
+
+        if (valueClass.isArray()) {
+            if (valueClass.getComponentType().isPrimitive()) {
+                provider.defaultSerializeValue(sdkVal, gen);
+                return;
+            }
+            Object[] array = (Object[]) sdkVal;
+            int length = Math.min(array.length, leftoverMaxElements);
+            gen.writeStartArray();
+            for (int i = 0; i < length; i++) {
+                writeLeftoverValue(array[i], depth + 1, gen, provider);
+            }
+            gen.writeEndArray();
+            return;
+        }
+
+        gen.writeStartObject();
+        for (Field f : accessibleFieldsOf(valueClass)) {
+            Object val;
+            try {
+                val = f.get(sdkVal);
+            } catch (Exception e) {
+                gen.writeStringField(f.getName(), "ERROR_READING_FIELD");
+                continue;
+            }
+            gen.writeFieldName(f.getName());
+            writeLeftoverValue(val, depth + 1, gen, provider);
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeLeftoverNode(JsonNode node, int depth, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        int written = 0;
+        if (node.isObject()) {
+            gen.writeStartObject();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext() && written++ < leftoverMaxElements) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                gen.writeFieldName(field.getKey());
+                writeLeftoverValue(field.getValue(), depth + 1, gen, provider);
+            }
+            gen.writeEndObject();
+            return;
+        }
+        gen.writeStartArray();
+        for (JsonNode item : node) {
+            if (written++ >= leftoverMaxElements) {
+                break;
+            }
+            writeLeftoverValue(item, depth + 1, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * Declared fields of clazz, made accessible once and cached. Classes whose fields
+     * cannot be opened (e.g. JDK internals) are not cached, so the failure surfaces
+     * on every call exactly as it would without the cache.
+     */
+    Field[] accessibleFieldsOf(Class<?> clazz) {
+        Field[] fields = leftoverFieldCache.get(clazz);
+        if (fields == null) {
+            fields = clazz.getDeclaredFields();
+            for (Field f : fields) {
+                f.setAccessible(true);
+            }
+            leftoverFieldCache.putIfAbsent(clazz, fields);
+        }
+        return fields;
+    }
+
+    /**
+     * If the domain field is e.g. a String, and the SDK value is also a String,
+     * we can directly assign. Otherwise, use the converter registered for the pair,
+     * or return null (fallback) if there is none.
+     */
+    Object mapValue(Object sourceValue, Class<?> targetType) {
+        if (sourceValue == null) return null;
+        if (targetType.isAssignableFrom(sourceValue.getClass())) {
+            return sourceValue;
+        }
+        MappingEvents.ConversionFallbackEvent event = new MappingEvents.ConversionFallbackEvent();
+        event.begin();
+        TypeConverter<Object, Object> converter = converters.find(sourceValue.getClass(), targetType);
+        Object converted = (converter != null) ? applyConverter(converter, sourceValue, targetType) : null;
+        if (event.shouldCommit()) {
+            event.sourceClass = sourceValue.getClass();
+            event.targetClass = targetType;
+            event.converterFound = converter != null;
+            event.failed = converter != null && converted == null;
+            event.commit();
+        }
+        return converted;
+    }
+
+    /**
+     * A value that fails to convert (unparseable text, out-of-range number...) leaves
+     * the domain field null (or, for a primitive, at its default) instead of failing the
+     * whole object; the failure is reported to the observer.
+     */
+    private Object applyConverter(TypeConverter<Object, Object> converter, Object sourceValue, Class<?> targetType) {
+        try {
+            return converter.convert(sourceValue);
+        } catch (RuntimeException e) {
+            log.debug("Unable to convert {} to {}: {}", sourceValue.getClass().getSimpleName(),
+                    targetType.getSimpleName(), e.toString());
+            observer.onConversionFailure(sourceValue.getClass(), targetType, e);
+            return null;
+        }
+    }
+
+    /**
+     * Any other JDK class (java.time types, Locale, URI...) is a value we cannot and
+     * should not reflect into; it is kept as-is for Jackson to serialize.
+     */
+    boolean isJdkValueType(Class<?> clazz) {
+        String name = clazz.getName();
+        return (name.startsWith("java.") || name.startsWith("javax."))
+                && !Map.class.isAssignableFrom(clazz)
+                && !Collection.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * A helper check to see if a class is a "simple" type (String, Number, Boolean, etc.)
+     */
+    boolean isSimpleType(Class<?> clazz) {
+        return clazz.isPrimitive()
+                || Number.class.isAssignableFrom(clazz)
+                || CharSequence.class.isAssignableFrom(clazz)
+                || Boolean.class.isAssignableFrom(clazz)
+                || Date.class.isAssignableFrom(clazz)
+                || UUID.class.isAssignableFrom(clazz)
+                || clazz.isEnum();
+    }
+
+    /**
+     * Bridges generated code back to the plan's conversion and leftover logic.
+     */
+    private final class PlanCallbacks implements GeneratedMapper.Callbacks {
+        private final MappingPlan plan;
+
+        PlanCallbacks(MappingPlan plan) {
+            this.plan = plan;
+        }
+
+        @Override
+        public void created(Object source, Object target, MappingContext context) {
+            context.register(source, plan.getTargetClass(), target);
+        }
+
+        @Override
+        public void failed(Object source, Object target, MappingContext context) {
+            context.unregister(source, plan.getTargetClass(), target);
+        }
+
+        @Override
+        public Object convert(int bindingIndex, Object sdkValue, MappingContext context) {
+            return convertBindingValue(plan.getBindings().get(bindingIndex), sdkValue, context);
+        }
+
+        @Override
+        public void fillLeftovers(Object source, Object target, MappingContext context) {
+            UniversalReflectionMapper.this.fillLeftovers(source, target, plan, context);
+        }
+    }
+
+    /**
+     * State carried through one leftover walk: the deepest level reached and the
+     * dictionary strings go through (null for none).
+     */
+    static final class LeftoverWalk {
+        private final StringDeduplicator strings;
+        private int maxDepth;
+
+        LeftoverWalk(StringDeduplicator strings) {
+            this.strings = strings;
+        }
+
+        /**
+         * Records that the walk reached depth.
+         */
+        void reached(int depth) {
+            if (depth > maxDepth) {
+                maxDepth = depth;
+            }
+        }
+
+        /**
+         * The string as stored in extraFields: through the dictionary, if any.
+         */
+        String dedupe(String value) {
+            return (strings != null) ? strings.dedupe(value) : value;
+        }
+    }
+
+    private record PlanKey(Class<?> sourceClass, Class<?> targetClass) {
+    }
+
+    /**
+     * A cached leftover map, how far below its own level the walk that built it went, and
+     * whether every hit needs its own copy.
+     */
+    private record CachedLeftover(Object value, int height, boolean copyPerHit) {
+    }
+}
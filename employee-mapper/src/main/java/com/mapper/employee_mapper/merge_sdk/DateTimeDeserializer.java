@@ -0,0 +1,176 @@
+package com.mapper.employee_mapper.merge_sdk;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+
+/**
+ * Reads OffsetDateTime from epoch seconds or from an ISO-8601 date-time, with or without
+ * an offset (UTC is assumed when it is missing).
+ *
+ * The common RFC-3339 shapes (yyyy-MM-ddTHH:mm[:ss[.fraction]] followed by nothing, Z or
+ * ±HH:MM[:SS]) are parsed by hand straight from the parser's character buffer. Anything
+ * else, including every invalid value, goes through ISO_DATE_TIME as before, so exotic
+ * inputs (region ids, lowercase separators...) and error messages are unchanged.
+ */
+class DateTimeDeserializer extends JsonDeserializer<OffsetDateTime> {
+    private static final SimpleModule MODULE = (new SimpleModule()).addDeserializer(OffsetDateTime.class, new DateTimeDeserializer());
+
+    private static final int MAX_OFFSET_MINUTES = 18 * 60;
+
+    // Offsets by total minutes + MAX_OFFSET_MINUTES, filled on first use
+    private static final ZoneOffset[] OFFSETS = new ZoneOffset[2 * MAX_OFFSET_MINUTES + 1];
+
+    private static final int[] NANOS_SCALE = {0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+    DateTimeDeserializer() {
+    }
+
+    public static SimpleModule getModule() {
+        return MODULE;
+    }
+
+    public OffsetDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return OffsetDateTime.ofInstant(Instant.ofEpochSecond(parser.getValueAsLong()), ZoneOffset.UTC);
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            OffsetDateTime parsed = parseRfc3339(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        return parseIso(parser.getValueAsString());
+    }
+
+    /**
+     * The formatter-based path, for everything parseRfc3339 does not handle.
+     */
+    static OffsetDateTime parseIso(String text) {
+        TemporalAccessor temporal = DateTimeFormatter.ISO_DATE_TIME.parseBest(text, OffsetDateTime::from, LocalDateTime::from);
+        return temporal.query(TemporalQueries.offset()) == null ? LocalDateTime.from(temporal).atOffset(ZoneOffset.UTC) : OffsetDateTime.from(temporal);
+    }
+
+    /**
+     * Parses buf[start, start + length) if it has one of the common shapes and is valid,
+     * otherwise returns null.
+     */
+    static OffsetDateTime parseRfc3339(char[] buf, int start, int length) {
+        int end = start + length;
+        // yyyy-MM-ddTHH:mm
+        if (length < 16 || buf[start + 4] != '-' || buf[start + 7] != '-' || buf[start + 10] != 'T'
+                || buf[start + 13] != ':') {
+            return null;
+        }
+        int year = digits(buf, start, 4);
+        int month = digits(buf, start + 5, 2);
+        int day = digits(buf, start + 8, 2);
+        int hour = digits(buf, start + 11, 2);
+        int minute = digits(buf, start + 14, 2);
+        if ((year | month | day | hour | minute) < 0) {
+            return null;
+        }
+        int pos = start + 16;
+        int second = 0;
+        int nano = 0;
+        if (pos < end && buf[pos] == ':') {
+            second = (pos + 3 <= end) ? digits(buf, pos + 1, 2) : -1;
+            if (second < 0) {
+                return null;
+            }
+            pos += 3;
+            if (pos < end && buf[pos] == '.') {
+                int fractionStart = ++pos;
+                while (pos < end && pos - fractionStart < 9 && isDigit(buf[pos])) {
+                    nano = nano * 10 + (buf[pos++] - '0');
+                }
+                int fractionDigits = pos - fractionStart;
+                if (fractionDigits == 0) {
+                    return null;
+                }
+                nano *= NANOS_SCALE[fractionDigits];
+            }
+        }
+        ZoneOffset offset;
+        if (pos == end) {
+            offset = ZoneOffset.UTC;
+        } else if (buf[pos] == 'Z' && pos + 1 == end) {
+            offset = ZoneOffset.UTC;
+        } else {
+            offset = parseOffset(buf, pos, end);
+            if (offset == null) {
+                return null;
+            }
+        }
+        try {
+            return OffsetDateTime.of(year, month, day, hour, minute, second, nano, offset);
+        } catch (DateTimeException e) {
+            // Out-of-range field: let the formatter report it
+            return null;
+        }
+    }
+
+    // ±HH:MM or ±HH:MM:SS
+    private static ZoneOffset parseOffset(char[] buf, int pos, int end) {
+        char sign = buf[pos];
+        int length = end - pos;
+        if ((sign != '+' && sign != '-') || (length != 6 && length != 9) || buf[pos + 3] != ':') {
+            return null;
+        }
+        int hours = digits(buf, pos + 1, 2);
+        int minutes = digits(buf, pos + 4, 2);
+        int seconds = 0;
+        if (length == 9) {
+            seconds = (buf[pos + 6] == ':') ? digits(buf, pos + 7, 2) : -1;
+        }
+        if ((hours | minutes | seconds) < 0 || minutes > 59 || seconds > 59) {
+            return null;
+        }
+        int totalSeconds = hours * 3600 + minutes * 60 + seconds;
+        if (totalSeconds > MAX_OFFSET_MINUTES * 60) {
+            return null;
+        }
+        if (sign == '-') {
+            totalSeconds = -totalSeconds;
+        }
+        if (seconds != 0) {
+            return ZoneOffset.ofTotalSeconds(totalSeconds);
+        }
+        int index = totalSeconds / 60 + MAX_OFFSET_MINUTES;
+        ZoneOffset cached = OFFSETS[index];
+        if (cached == null) {
+            // Benign race: ZoneOffset is immutable and equal instances are interchangeable
+            cached = ZoneOffset.ofTotalSeconds(totalSeconds);
+            OFFSETS[index] = cached;
+        }
+        return cached;
+    }
+
+    // Non-negative value of count ASCII digits, or -1
+    private static int digits(char[] buf, int pos, int count) {
+        int value = 0;
+        for (int i = pos; i < pos + count; i++) {
+            char c = buf[i];
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -1,13 +1,8 @@
 package com.mapper.employee_mapper.merge_sdk;
 
 import com.fasterxml.jackson.annotation.JsonValue;
-import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
-import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 
-import java.io.IOException;
 import java.util.Objects;
 
 @JsonDeserialize(
@@ -65,23 +60,11 @@ public final class EmployeeGroupsItem {
         return new EmployeeGroupsItem(value, 1);
     }
 
-    static final class Deserializer extends StdDeserializer<EmployeeGroupsItem> {
+    static final class Deserializer extends UnionDeserializer<EmployeeGroupsItem> {
         Deserializer() {
-            super(EmployeeGroupsItem.class);
-        }
-
-        public EmployeeGroupsItem deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-            Object value = p.readValueAs(Object.class);
-
-            try {
-                return EmployeeGroupsItem.of((String)ObjectMappers.JSON_MAPPER.convertValue(value, String.class));
-            } catch (IllegalArgumentException var6) {
-                try {
-                    return EmployeeGroupsItem.of((Group)ObjectMappers.JSON_MAPPER.convertValue(value, Group.class));
-                } catch (IllegalArgumentException var5) {
-                    throw new JsonParseException(p, "Failed to deserialize");
-                }
-            }
+            super(UnionDeserializer.of(EmployeeGroupsItem.class)
+                    .stringBranch(EmployeeGroupsItem::of)
+                    .objectBranch(Group.class, EmployeeGroupsItem::of));
         }
     }
 
@@ -9,7 +9,6 @@ import com.fasterxml.jackson.annotation.Nulls;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
-import lombok.Builder;
 
 import java.time.OffsetDateTime;
 import java.util.HashMap;
@@ -20,7 +19,7 @@ import java.util.Optional;
 
 @JsonInclude(Include.NON_EMPTY)
 @JsonDeserialize(
-        builder = Builder.class
+        builder = Group.Builder.class
 )
 public final class Group {
     private final Optional<String> id;
@@ -1,12 +1,7 @@
 package com.mapper.employee_mapper.merge_sdk;
 
 import com.fasterxml.jackson.annotation.JsonValue;
-import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
-import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import java.io.IOException;
 import java.util.Objects;
 
 @JsonDeserialize(
@@ -64,23 +59,11 @@ public final class GroupType {
         return new GroupType(value, 1);
     }
 
-    static final class Deserializer extends StdDeserializer<GroupType> {
+    static final class Deserializer extends UnionDeserializer<GroupType> {
         Deserializer() {
-            super(GroupType.class);
-        }
-
-        public GroupType deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-            Object value = p.readValueAs(Object.class);
-
-            try {
-                return GroupType.of((GroupTypeEnum)ObjectMappers.JSON_MAPPER.convertValue(value, GroupTypeEnum.class));
-            } catch (IllegalArgumentException var6) {
-                try {
-                    return GroupType.of((String)ObjectMappers.JSON_MAPPER.convertValue(value, String.class));
-                } catch (IllegalArgumentException var5) {
-                    throw new JsonParseException(p, "Failed to deserialize");
-                }
-            }
+            super(UnionDeserializer.of(GroupType.class)
+                    .enumBranch(GroupTypeEnum.class, GroupType::of)
+                    .stringBranch(GroupType::of));
         }
     }
 
@@ -0,0 +1,97 @@
+package com.mapper.employee_mapper.merge_sdk;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.io.IOException;
+
+/**
+ * The SDK's shared ObjectMapper, plus prebuilt readers and writers for it.
+ *
+ * JSON_MAPPER must not be reconfigured once built: it is shared by every thread. Hot
+ * paths should go through {@link #reader(Class)} and {@link #writer(Class)}, which are
+ * immutable, built once per type and have their root (de)serializer already resolved.
+ *
+ * With -Dmapper.jackson.blackbird=true the mapper also registers Jackson's Blackbird
+ * module, which replaces reflective property access with generated lambdas.
+ */
+public final class ObjectMappers {
+    public static final String BLACKBIRD_PROPERTY = "mapper.jackson.blackbird";
+
+    // Read once, before JSON_MAPPER is built, so the answer always matches the mapper
+    private static final boolean BLACKBIRD_ENABLED = Boolean.getBoolean(BLACKBIRD_PROPERTY);
+
+    public static final ObjectMapper JSON_MAPPER;
+
+    private static final ClassValue<ObjectReader> READERS = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return JSON_MAPPER.readerFor(type);
+        }
+    };
+
+    private static final ClassValue<ObjectWriter> WRITERS = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return JSON_MAPPER.writerFor(type);
+        }
+    };
+
+    private static final ObjectWriter PRETTY_WRITER;
+
+    private ObjectMappers() {
+    }
+
+    /**
+     * The shared reader for type.
+     */
+    public static ObjectReader reader(Class<?> type) {
+        return READERS.get(type);
+    }
+
+    /**
+     * The shared writer for type.
+     */
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.get(type);
+    }
+
+    /**
+     * Whether JSON_MAPPER was built with Blackbird. This is the only place the flag is
+     * read; anything that has to agree with the SDK mapper should ask here.
+     */
+    public static boolean isBlackbirdEnabled() {
+        return BLACKBIRD_ENABLED;
+    }
+
+    public static String stringify(Object o) {
+        try {
+            return PRETTY_WRITER.writeValueAsString(o);
+        } catch (IOException var2) {
+            return o.getClass().getName() + "@" + Integer.toHexString(o.hashCode());
+        }
+    }
+
+    static {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new Jdk8Module())
+                .addModule(new JavaTimeModule())
+                .addModule(DateTimeDeserializer.getModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                // What stringify used to set on the shared mapper at every call
+                .serializationInclusion(Include.ALWAYS);
+        if (isBlackbirdEnabled()) {
+            builder.addModule(new BlackbirdModule());
+        }
+        JSON_MAPPER = builder.build();
+        PRETTY_WRITER = JSON_MAPPER.writerWithDefaultPrettyPrinter();
+    }
+}
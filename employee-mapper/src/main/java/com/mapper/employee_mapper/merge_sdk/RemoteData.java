@@ -9,7 +9,6 @@ import com.fasterxml.jackson.annotation.Nulls;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
-import lombok.Builder;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -18,7 +17,7 @@ import java.util.Optional;
 
 @JsonInclude(Include.NON_EMPTY)
 @JsonDeserialize(
-        builder = Builder.class
+        builder = RemoteData.Builder.class
 )
 public final class RemoteData {
     private final String path;
@@ -0,0 +1,119 @@
+package com.mapper.employee_mapper.merge_sdk;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Deserializer for the SDK's union types (a value that is either an enum constant or a
+ * free-form string, either a string or an object, ...).
+ *
+ * The branch is chosen from the current token instead of buffering the value and trying
+ * each branch with convertValue until one stops throwing:
+ *
+ *   - strings (and other scalars, as their text) are looked up in a table of the enum
+ *     branch's constants, built once from their JSON names, then fall back to the string
+ *     branch;
+ *   - objects are read straight from the parser as the object branch's type.
+ *
+ * A union type declares its branches once, in its Deserializer's constructor:
+ *
+ *   Deserializer() {
+ *       super(UnionDeserializer.of(GroupType.class)
+ *               .enumBranch(GroupTypeEnum.class, GroupType::of)
+ *               .stringBranch(GroupType::of));
+ *   }
+ */
+abstract class UnionDeserializer<T> extends StdDeserializer<T> {
+
+    private final Map<String, T> enumValues;
+    private final Function<String, T> fromString;
+    private final Class<?> objectType;
+    private final Function<Object, T> fromObject;
+
+    protected UnionDeserializer(Branches<T> branches) {
+        super(branches.unionType);
+        this.enumValues = Map.copyOf(branches.enumValues);
+        this.fromString = branches.fromString;
+        this.objectType = branches.objectType;
+        this.fromObject = branches.fromObject;
+    }
+
+    static <T> Branches<T> of(Class<T> unionType) {
+        return new Branches<>(unionType);
+    }
+
+    @Override
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.FIELD_NAME) {
+            if (objectType != null) {
+                return fromObject.apply(ctxt.readValue(p, objectType));
+            }
+        } else if (token != null && token.isScalarValue()) {
+            String text = p.getText();
+            T constant = enumValues.get(text);
+            if (constant != null) {
+                return constant;
+            }
+            if (fromString != null) {
+                return fromString.apply(text);
+            }
+        }
+        throw new JsonParseException(p, "Failed to deserialize " + handledType().getSimpleName()
+                + ": no branch accepts " + token);
+    }
+
+    /**
+     * The branches of a union type; each is optional.
+     */
+    static final class Branches<T> {
+
+        private final Class<T> unionType;
+        private final Map<String, T> enumValues = new HashMap<>();
+        private Function<String, T> fromString;
+        private Class<?> objectType;
+        private Function<Object, T> fromObject;
+
+        private Branches(Class<T> unionType) {
+            this.unionType = unionType;
+        }
+
+        /**
+         * Strings naming a constant of enumType (by its JSON name, i.e. toString()) map to
+         * the union holding it. Union values are immutable, so one instance per constant
+         * is built here and returned for every occurrence.
+         */
+        <E extends Enum<E>> Branches<T> enumBranch(Class<E> enumType, Function<E, T> factory) {
+            for (E constant : enumType.getEnumConstants()) {
+                enumValues.put(constant.toString(), factory.apply(constant));
+            }
+            return this;
+        }
+
+        /**
+         * Any other string (or scalar, as its text).
+         */
+        Branches<T> stringBranch(Function<String, T> factory) {
+            this.fromString = factory;
+            return this;
+        }
+
+        /**
+         * JSON objects, read as objectType.
+         */
+        @SuppressWarnings("unchecked")
+        <V> Branches<T> objectBranch(Class<V> objectType, Function<V, T> factory) {
+            this.objectType = objectType;
+            this.fromObject = value -> factory.apply((V) value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.mapper.employee_mapper.metrics;
+
+import com.mapper.employee_mapper.mapper.MappingObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MappingObserver} publishing the mapper's measurements to Micrometer:
+ *
+ *   mapper.map                    timer per source/target class (with a percentile histogram)
+ *   mapper.failures               counter per source/target class
+ *   mapper.conversion_failures    counter per source/target value type
+ *   mapper.extra_fields.entries   summary of extraFields entries per target class
+ *   mapper.extra_fields.depth     summary of extraFields nesting depth per target class
+ *
+ * Meters are resolved once per class pair and kept, so the hot path is a map lookup
+ * plus the record call.
+ */
+public class MicrometerMappingObserver implements MappingObserver {
+
+    public static final String MAP_TIMER = "mapper.map";
+    public static final String FAILURES = "mapper.failures";
+    public static final String CONVERSION_FAILURES = "mapper.conversion_failures";
+    public static final String EXTRA_FIELDS_ENTRIES = "mapper.extra_fields.entries";
+    public static final String EXTRA_FIELDS_DEPTH = "mapper.extra_fields.depth";
+
+    private final MeterRegistry registry;
+
+    private final Map<ClassPair, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<ClassPair, Counter> failures = new ConcurrentHashMap<>();
+    private final Map<ClassPair, Counter> conversionFailures = new ConcurrentHashMap<>();
+    private final Map<Class<?>, DistributionSummary> extraFieldsEntries = new ConcurrentHashMap<>();
+    private final Map<Class<?>, DistributionSummary> extraFieldsDepth = new ConcurrentHashMap<>();
+
+    public MicrometerMappingObserver(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onMapped(Class<?> sourceClass, Class<?> targetClass, long elapsedNanos) {
+        timers.computeIfAbsent(new ClassPair(sourceClass, targetClass), pair -> Timer.builder(MAP_TIMER)
+                        .description("Time to map one top-level SDK object")
+                        .tag("source", pair.source().getSimpleName())
+                        .tag("target", pair.target().getSimpleName())
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onFailure(Class<?> sourceClass, Class<?> targetClass, Throwable cause) {
+        failures.computeIfAbsent(new ClassPair(sourceClass, targetClass), pair -> Counter.builder(FAILURES)
+                        .description("Mappings that failed, top-level or nested")
+                        .tag("source", pair.source().getSimpleName())
+                        .tag("target", pair.target().getSimpleName())
+                        .register(registry))
+                .increment();
+    }
+
+    @Override
+    public void onConversionFailure(Class<?> sourceType, Class<?> targetType, Throwable cause) {
+        conversionFailures.computeIfAbsent(new ClassPair(sourceType, targetType), pair -> Counter.builder(CONVERSION_FAILURES)
+                        .description("Values a converter could not convert, left null on the domain object")
+                        .tag("source", pair.source().getSimpleName())
+                        .tag("target", pair.target().getSimpleName())
+                        .register(registry))
+                .increment();
+    }
+
+    @Override
+    public void onExtraFields(Class<?> targetClass, int entries, int maxDepth) {
+        extraFieldsEntries.computeIfAbsent(targetClass, target -> DistributionSummary.builder(EXTRA_FIELDS_ENTRIES)
+                        .description("Leftover entries put into extraFields")
+                        .tag("target", target.getSimpleName())
+                        .register(registry))
+                .record(entries);
+        // Lazy extraFields are not walked at map time, so their depth is unknown
+        if (maxDepth >= 0) {
+            extraFieldsDepth.computeIfAbsent(targetClass, target -> DistributionSummary.builder(EXTRA_FIELDS_DEPTH)
+                            .description("Deepest nesting level inside extraFields")
+                            .tag("target", target.getSimpleName())
+                            .register(registry))
+                    .record(maxDepth);
+        }
+    }
+
+    private record ClassPair(Class<?> source, Class<?> target) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.mapper.employee_mapper.columnar;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mapper.employee_mapper.domain.Company;
+import com.mapper.employee_mapper.domain.Employee;
+import com.mapper.employee_mapper.mapper.CompanyMappingRegistry;
+import com.mapper.employee_mapper.mapper.EmployeeMappingRegistry;
+import com.mapper.employee_mapper.mapper.UniversalReflectionMapper;
+import com.mapper.employee_mapper.merge_sdk.EmployeeGroupsItem;
+import com.mapper.employee_mapper.merge_sdk.SdkAddress;
+import com.mapper.employee_mapper.merge_sdk.SdkCompany;
+import com.mapper.employee_mapper.merge_sdk.SdkEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeColumnsTests {
+
+    private static final ObjectMapper JSON = new ObjectMapper().findAndRegisterModules();
+
+    private static List<Employee> employees(int count) {
+        UniversalReflectionMapper mapper = new UniversalReflectionMapper()
+                .registerMapping(Employee.class, new EmployeeMappingRegistry())
+                .registerMapping(Company.class, new CompanyMappingRegistry());
+        SdkCompany company = SdkCompany.builder().id("COMP-1").legalName("Acme").build();
+        return IntStream.range(0, count)
+                .mapToObj(i -> SdkEmployee.builder()
+                        .id("EMP-" + i)
+                        .firstName("Jane")
+                        .lastName("Doe")
+                        .workEmail("jane@acme.com")
+                        .company(Optional.of(company))
+                        .addresses(List.of(SdkAddress.builder().street("1 Lane").city("City").country("Land").build()))
+                        .groups(Optional.of(List.of(Optional.of(EmployeeGroupsItem.of("Ad-hoc")))))
+                        .build())
+                .map(source -> mapper.map(source, Employee.class))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void roundTripsEmployeesAndTheirJson() throws Exception {
+        List<Employee> employees = employees(50);
+
+        EmployeeColumns columns = new EmployeeColumns(JSON).addAll(employees);
+        columns.trimToSize();
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        columns.writeNdjson(ndjson);
+
+        assertThat(columns.size()).isEqualTo(50);
+        // Names and the single company's values are stored once, not once per row
+        assertThat(columns.dictionarySize()).isLessThan(10);
+        assertThat(columns.row(7).toEmployee()).isEqualTo(JSON.convertValue(employees.get(7), Employee.class));
+        assertThat(columns.row(7).getCompany()).isEqualTo(employees.get(7).getCompany());
+        String expected = employees.stream().map(e -> {
+            try {
+                return JSON.writeValueAsString(e) + "\n";
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).collect(Collectors.joining());
+        assertThat(ndjson.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    void acceptsRowsAfterBeingTrimmed() {
+        List<Employee> employees = employees(3);
+        EmployeeColumns empty = new EmployeeColumns(JSON);
+        empty.trimToSize();
+        EmployeeColumns single = new EmployeeColumns(JSON).addAll(employees.subList(0, 1));
+        single.trimToSize();
+
+        empty.addAll(employees);
+        single.addAll(employees.subList(1, 3));
+
+        assertThat(empty.size()).isEqualTo(3);
+        assertThat(single.size()).isEqualTo(3);
+        assertThat(single.row(2).toEmployee()).isEqualTo(JSON.convertValue(employees.get(2), Employee.class));
+    }
+
+    @Test
+    void trimmedIntColumnGrowsFromZeroAndOne() {
+        IntColumn column = new IntColumn(0);
+        column.trim();
+        column.add(1);
+        column.trim();
+        column.add(2);
+        column.add(3);
+
+        assertThat(column.size()).isEqualTo(3);
+        assertThat(column.get(2)).isEqualTo(3);
+    }
+}
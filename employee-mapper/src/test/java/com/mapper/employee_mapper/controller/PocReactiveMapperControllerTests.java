@@ -0,0 +1,138 @@
+package com.mapper.employee_mapper.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.mapper.employee_mapper.controller.PocSingleMapperControllerTests.GOOD_LINE;
+import static com.mapper.employee_mapper.controller.PocSingleMapperControllerTests.stream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "mapper.tenant.max-concurrent-requests=1",
+        "mapper.reactive.max-in-flight=4"})
+@AutoConfigureMockMvc
+class PocReactiveMapperControllerTests {
+
+    private static final int MAX_IN_FLIGHT = 4;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PocReactiveMapperController controller;
+
+    @Autowired
+    private TenantConcurrencyLimiter tenantLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void keepsInputOrderAndWritesNullForFailedRecords() throws Exception {
+        double failuresBefore = failures();
+        String body = IntStream.range(0, 40)
+                .mapToObj(i -> i % 10 == 3 ? "{\"id\":\"E" + i + "\",\"groups\":42}" : GOOD_LINE.replace("E1", "E" + i))
+                .collect(Collectors.joining("\n")) + "\n";
+
+        String[] lines = stream(mvc, "/poc/transform/reactive", body);
+
+        assertThat(lines).hasSize(41);
+        for (int i = 0; i < 40; i++) {
+            if (i % 10 == 3) {
+                assertThat(lines[i]).isEqualTo("null");
+            } else {
+                assertThat(objectMapper.readTree(lines[i]).path("id").asText()).isEqualTo("E" + i);
+            }
+        }
+        assertThat(failures() - failuresBefore).isEqualTo(4.0);
+        assertThat(tenantLimiter.trackedTenants()).isZero();
+    }
+
+    @Test
+    void readsTheBodyOnlyAsFastAsTheClientConsumes() throws Exception {
+        EndlessNdjson body = new EndlessNdjson();
+        List<Object> received = new CopyOnWriteArrayList<>();
+        CountDownLatch gotThree = new CountDownLatch(3);
+        BaseSubscriber<Object> slowClient = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(3);
+            }
+
+            @Override
+            protected void hookOnNext(Object value) {
+                received.add(value);
+                gotThree.countDown();
+            }
+        };
+
+        controller.transformReactive(body, new MockHttpServletRequest()).subscribe(slowClient);
+        assertThat(gotThree.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+
+        // Three delivered, at most max-in-flight being mapped, plus what the line reader buffers
+        assertThat(body.generated.get()).isLessThanOrEqualTo(3 + MAX_IN_FLIGHT + 2);
+        assertThat(received).hasSize(3);
+        slowClient.dispose();
+        assertThat(tenantLimiter.trackedTenants()).isZero();
+    }
+
+    private double failures() {
+        return meterRegistry.get("mapper.stream.failures").tag("ingest", "SDK").counter().count();
+    }
+
+    /**
+     * An NDJSON body that never ends, with lines longer than the reader's buffer so
+     * read-ahead stays within a line or two; counts the lines handed out.
+     */
+    static final class EndlessNdjson extends InputStream {
+        private final AtomicInteger generated = new AtomicInteger();
+        private byte[] line = new byte[0];
+        private int position;
+
+        @Override
+        public int read() {
+            if (position == line.length) {
+                int index = generated.getAndIncrement();
+                line = ("{\"id\":\"E" + index + "\",\"firstName\":\"" + "x".repeat(10_000) + "\"}\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return line[position++];
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            buffer[offset] = (byte) read();
+            int count = 1;
+            while (count < length && position < line.length) {
+                buffer[offset + count++] = line[position++];
+            }
+            return count;
+        }
+    }
+}
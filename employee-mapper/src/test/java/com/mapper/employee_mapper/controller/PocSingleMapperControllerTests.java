@@ -0,0 +1,104 @@
+package com.mapper.employee_mapper.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "mapper.tenant.max-concurrent-requests=1")
+@AutoConfigureMockMvc
+class PocSingleMapperControllerTests {
+
+    static final String GOOD_LINE = "{\"id\":\"E1\",\"firstName\":\"Jane\",\"workEmail\":\"jane@acme.com\","
+            + "\"company\":{\"id\":\"C1\",\"legalName\":\"Acme\"},"
+            + "\"groups\":[\"Ad-hoc\",{\"name\":\"Engineering\",\"type\":\"TEAM\","
+            + "\"remote_data\":[{\"path\":\"/groups\",\"data\":{\"department\":\"R&D\"}}]}]}";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TenantConcurrencyLimiter tenantLimiter;
+
+    /**
+     * Posts an NDJSON body to the streaming endpoint and returns the response lines.
+     */
+    static String[] stream(MockMvc mvc, String path, String body) throws Exception {
+        MvcResult started = mvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String response = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(response).endsWith("\n");
+        return response.split("\n", -1);
+    }
+
+    @Test
+    void streamWritesOneLinePerRecordAndNullForBadOnes() throws Exception {
+        String body = String.join("\n",
+                GOOD_LINE,
+                "null",
+                "{\"id\":\"E3\",\"groups\":42}",
+                "{\"id\":",
+                "",
+                GOOD_LINE.replace("E1", "E5")) + "\n";
+
+        String[] lines = stream(mvc, "/poc/transform/stream", body);
+
+        // Five records (the blank line is skipped) plus the empty string after the final newline
+        assertThat(lines).hasSize(6);
+        assertThat(lines[1]).isEqualTo("null");
+        assertThat(lines[2]).isEqualTo("null");
+        assertThat(lines[3]).isEqualTo("null");
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.path("id").asText()).isEqualTo("E1");
+        assertThat(first.path("email").asText()).isEqualTo("jane@acme.com");
+        assertThat(first.path("company").path("name").asText()).isEqualTo("Acme");
+        assertThat(first.path("extraFields").path("groups")).hasSize(2);
+        assertThat(first.path("extraFields").path("groups").toString()).contains("Engineering", "R&D");
+        assertThat(objectMapper.readTree(lines[4]).path("id").asText()).isEqualTo("E5");
+    }
+
+    @Test
+    void everyMappingEndpointTakesATenantSlot() throws Exception {
+        try (TenantConcurrencyLimiter.Permit busy = tenantLimiter.acquire("busy")) {
+            mvc.perform(get("/poc/transform").header("X-Tenant-Id", "busy"))
+                    .andExpect(status().isTooManyRequests());
+            mvc.perform(get("/poc/transform/fused").header("X-Tenant-Id", "busy"))
+                    .andExpect(status().isTooManyRequests());
+            mvc.perform(post("/poc/transform/delta").header("X-Tenant-Id", "busy")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"previous\":null,\"current\":" + GOOD_LINE + "}"))
+                    .andExpect(status().isTooManyRequests());
+            mvc.perform(post("/poc/transform/stream").header("X-Tenant-Id", "busy")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(GOOD_LINE + "\n"))
+                    .andExpect(status().isTooManyRequests());
+        }
+
+        mvc.perform(get("/poc/transform/fused").header("X-Tenant-Id", "busy"))
+                .andExpect(status().isOk());
+        assertThat(stream(mvc, "/poc/transform/stream", GOOD_LINE + "\n")).hasSize(2);
+        assertThat(tenantLimiter.trackedTenants()).isZero();
+    }
+}
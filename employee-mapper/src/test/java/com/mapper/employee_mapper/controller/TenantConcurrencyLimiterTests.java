@@ -0,0 +1,47 @@
+package com.mapper.employee_mapper.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantConcurrencyLimiterTests {
+
+    @Test
+    void rejectsMalformedTenantIds() {
+        TenantConcurrencyLimiter limiter = new TenantConcurrencyLimiter(1, Duration.ZERO);
+
+        assertThatThrownBy(() -> limiter.acquire("x".repeat(65)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> limiter.acquire("tenant\nid"))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(limiter.trackedTenants()).isZero();
+    }
+
+    @Test
+    void forgetsTenantsOnceTheirLastPermitIsReleased() {
+        TenantConcurrencyLimiter limiter = new TenantConcurrencyLimiter(1, Duration.ZERO);
+
+        TenantConcurrencyLimiter.Permit first = limiter.acquire("acme");
+        TenantConcurrencyLimiter.Permit other = limiter.acquire("globex");
+        assertThatThrownBy(() -> limiter.acquire("acme"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        assertThat(limiter.trackedTenants()).isEqualTo(2);
+
+        first.close();
+        first.close();
+        other.close();
+        assertThat(limiter.trackedTenants()).isZero();
+
+        // A second close must not have handed out an extra slot
+        TenantConcurrencyLimiter.Permit again = limiter.acquire("acme");
+        assertThatThrownBy(() -> limiter.acquire("acme")).isInstanceOf(ResponseStatusException.class);
+        again.close();
+    }
+}
@@ -0,0 +1,137 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.mapper.employee_mapper.domain.Employee;
+import com.mapper.employee_mapper.merge_sdk.ObjectMappers;
+import com.mapper.employee_mapper.merge_sdk.SdkEmployee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersistentResultStoreTests {
+
+    private static final int MAX_BYTES = 1 << 16;
+
+    private static PersistentResultStore open(Path file, String schema) throws Exception {
+        return PersistentResultStore.open(file, MAX_BYTES, schema, ObjectMappers.JSON_MAPPER);
+    }
+
+    private static SdkEmployee sdkEmployee(String id) {
+        return SdkEmployee.builder().id(id).firstName("Jane").workEmail("jane@acme.com").build();
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void readsResultsBackAfterReopening(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("results.dat");
+        byte[] hash;
+        try (PersistentResultStore store = open(file, "1")) {
+            hash = store.contentHash(sdkEmployee("EMP-1"), Employee.class);
+            assertThat(store.put(hash, utf8("{\"id\":\"EMP-1\"}"))).isTrue();
+            assertThat(store.put(hash, utf8("{}"))).isFalse();
+        }
+
+        try (PersistentResultStore reopened = open(file, "1")) {
+            assertThat(reopened.contentHash(sdkEmployee("EMP-1"), Employee.class)).isEqualTo(hash);
+            assertThat(reopened.contentHash(sdkEmployee("EMP-2"), Employee.class)).isNotEqualTo(hash);
+            assertThat(StandardCharsets.UTF_8.decode(reopened.get(hash)).toString()).isEqualTo("{\"id\":\"EMP-1\"}");
+        }
+        try (PersistentResultStore newSchema = open(file, "2")) {
+            assertThat(newSchema.size()).isZero();
+        }
+    }
+
+    @Test
+    void corruptRecordEndsTheFileAndIsOverwritten(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("results.dat");
+        byte[] first;
+        byte[] second;
+        try (PersistentResultStore store = open(file, "1")) {
+            first = store.contentHash(sdkEmployee("EMP-1"), Employee.class);
+            second = store.contentHash(sdkEmployee("EMP-2"), Employee.class);
+            store.put(first, utf8("{\"id\":\"EMP-1\"}"));
+            store.put(second, utf8("{\"id\":\"EMP-2\"}"));
+        }
+        // Flip one byte of the second payload, as a page that never reached the disk would
+        int recordOverhead = PersistentResultStore.RECORD_HEADER_SIZE + PersistentResultStore.HASH_SIZE;
+        long secondPayload = PersistentResultStore.HEADER_SIZE + recordOverhead
+                + "{\"id\":\"EMP-1\"}".length() + recordOverhead;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(utf8("X")), secondPayload + 1);
+        }
+
+        try (PersistentResultStore reopened = open(file, "1")) {
+            assertThat(reopened.size()).isEqualTo(1);
+            assertThat(reopened.get(first)).isNotNull();
+            assertThat(reopened.get(second)).isNull();
+            assertThat(reopened.put(second, utf8("{\"id\":\"EMP-2\"}"))).isTrue();
+        }
+        try (PersistentResultStore reopened = open(file, "1")) {
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(StandardCharsets.UTF_8.decode(reopened.get(second)).toString()).isEqualTo("{\"id\":\"EMP-2\"}");
+        }
+    }
+
+    @Test
+    void fileCanOnlyBeOpenedByOneStoreAtATime(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("results.dat");
+        try (PersistentResultStore store = open(file, "1")) {
+            assertThatThrownBy(() -> open(file, "1"))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("already open");
+            store.put(store.contentHash(sdkEmployee("EMP-1"), Employee.class), utf8("{}"));
+        }
+        try (PersistentResultStore reopened = open(file, "1")) {
+            assertThat(reopened.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void recordWhoseStoredHashChangedIsNotServed(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("results.dat");
+        try (PersistentResultStore store = open(file, "1")) {
+            byte[] hash = store.contentHash(sdkEmployee("EMP-1"), Employee.class);
+            store.put(hash, utf8("{\"id\":\"EMP-1\"}"));
+            assertThat(store.get(hash)).isNotNull();
+
+            // Another writer scribbles over the stored hash behind the store's back
+            long storedHash = PersistentResultStore.HEADER_SIZE + PersistentResultStore.RECORD_HEADER_SIZE;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{(byte) ~hash[0]}), storedHash);
+            }
+
+            assertThat(store.get(hash)).isNull();
+        }
+    }
+
+    @Test
+    void registeringAConverterChangesTheDescribedSchema(@TempDir Path dir) throws Exception {
+        UniversalReflectionMapper mapper = new UniversalReflectionMapper();
+        String before = mapper.describeConverters();
+        mapper.withConverter(String.class, Instant.class, value -> Instant.EPOCH);
+        assertThat(mapper.describeConverters()).isEqualTo(before);
+        mapper.withConverter(Integer.class, Instant.class, Instant::ofEpochSecond);
+        String after = mapper.describeConverters();
+        assertThat(after).isNotEqualTo(before).contains("java.lang.Integer->java.time.Instant");
+
+        Path file = dir.resolve("results.dat");
+        try (PersistentResultStore store = open(file, before)) {
+            store.put(store.contentHash(sdkEmployee("EMP-1"), Employee.class), utf8("{}"));
+        }
+        try (PersistentResultStore reopened = open(file, after)) {
+            assertThat(reopened.size()).isZero();
+        }
+    }
+}
@@ -0,0 +1,843 @@
+package com.mapper.employee_mapper.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mapper.employee_mapper.domain.Address;
+import com.mapper.employee_mapper.domain.Company;
+import com.mapper.employee_mapper.domain.Employee;
+import com.mapper.employee_mapper.domain.HasExtraFields;
+import com.mapper.employee_mapper.merge_sdk.EmployeeGroupsItem;
+import com.mapper.employee_mapper.merge_sdk.Group;
+import com.mapper.employee_mapper.merge_sdk.GroupType;
+import com.mapper.employee_mapper.merge_sdk.GroupTypeEnum;
+import com.mapper.employee_mapper.merge_sdk.ObjectMappers;
+import com.mapper.employee_mapper.merge_sdk.RemoteData;
+import com.mapper.employee_mapper.merge_sdk.SdkAddress;
+import com.mapper.employee_mapper.merge_sdk.SdkCompany;
+import com.mapper.employee_mapper.merge_sdk.SdkEmployee;
+import com.mapper.employee_mapper.metrics.MicrometerMappingObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UniversalReflectionMapperTests {
+
+    private static UniversalReflectionMapper newMapper() {
+        return new UniversalReflectionMapper()
+                .registerMapping(Employee.class, new EmployeeMappingRegistry())
+                .registerMapping(Company.class, new CompanyMappingRegistry());
+    }
+
+    private static SdkEmployee sdkEmployee(String id) {
+        SdkCompany company = SdkCompany.builder()
+                .id("COMP-1")
+                .legalName("Acme")
+                .build();
+        return SdkEmployee.builder()
+                .id(id)
+                .firstName("Jane")
+                .lastName("Doe")
+                .workEmail("jane@acme.com")
+                .company(Optional.of(company))
+                .addresses(List.of(SdkAddress.builder().street("1 Lane").city("City").country("Land").build()))
+                .groups(Optional.of(List.of(Optional.of(EmployeeGroupsItem.of("Ad-hoc")))))
+                .build();
+    }
+
+    @Test
+    void mapsRenamedNestedAndLeftoverFields() {
+        Employee employee = newMapper().map(sdkEmployee("EMP-1"), Employee.class);
+
+        assertThat(employee.getId()).isEqualTo("EMP-1");
+        assertThat(employee.getEmail()).isEqualTo("jane@acme.com");
+        assertThat(employee.getCompany().getId()).isEqualTo("COMP-1");
+        assertThat(employee.getCompany().getName()).isEqualTo("Acme");
+        assertThat(employee.getExtraFields()).containsOnlyKeys("addresses", "groups");
+        assertThat(employee.getExtraFields().get("addresses"))
+                .isEqualTo(List.of(Map.of("street", "1 Lane", "city", "City", "country", "Land")));
+    }
+
+    @Test
+    void reusesPlanAcrossCalls() {
+        UniversalReflectionMapper mapper = newMapper();
+
+        Employee first = mapper.map(sdkEmployee("EMP-1"), Employee.class);
+        Employee second = mapper.map(sdkEmployee("EMP-2"), Employee.class);
+
+        assertThat(second.getId()).isEqualTo("EMP-2");
+        assertThat(second.getCompany()).isEqualTo(first.getCompany());
+        assertThat(second.getExtraFields()).isEqualTo(first.getExtraFields());
+    }
+
+    @Test
+    void registeringAfterMappingRecompilesPlans() {
+        UniversalReflectionMapper mapper = new UniversalReflectionMapper()
+                .registerMapping(Employee.class, new EmployeeMappingRegistry());
+
+        // Without its registry Company is copied field by field, so legalName is not renamed
+        assertThat(mapper.map(sdkEmployee("EMP-1"), Employee.class).getCompany().getName()).isNull();
+
+        mapper.registerMapping(Company.class, new CompanyMappingRegistry());
+
+        assertThat(mapper.map(sdkEmployee("EMP-1"), Employee.class).getCompany().getName()).isEqualTo("Acme");
+    }
+
+    @Test
+    void methodHandleModeMatchesReflectionMode() {
+        UniversalReflectionMapper reflective = newMapper();
+        UniversalReflectionMapper methodHandles = newMapper().withAccessorMode(AccessorMode.METHOD_HANDLE);
+
+        Employee expected = reflective.map(sdkEmployee("EMP-1"), Employee.class);
+        Employee actual = methodHandles.map(sdkEmployee("EMP-1"), Employee.class);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void generatedMapperMatchesReflectivePath() throws Exception {
+        UniversalReflectionMapper reflective = newMapper().withGenerationThreshold(-1);
+        UniversalReflectionMapper generated = newMapper().withGenerationThreshold(0);
+
+        Employee expected = reflective.map(sdkEmployee("EMP-1"), Employee.class);
+        Employee first = generated.map(sdkEmployee("EMP-1"), Employee.class);
+        Employee second = generated.map(sdkEmployee("EMP-1"), Employee.class);
+
+        assertThat(first).isEqualTo(expected);
+        assertThat(second).isEqualTo(expected);
+        // Both runs must have gone through generated code, not the reflective fallback
+        assertThat(generated.planFor(SdkEmployee.class, Employee.class).getGeneratedMapper()).isNotNull();
+        assertThat(generated.planFor(SdkCompany.class, Company.class).getGeneratedMapper()).isNotNull();
+        assertThat(reflective.planFor(SdkEmployee.class, Employee.class).getGeneratedMapper()).isNull();
+    }
+
+    @Test
+    void ineligiblePlansStayOnTheReflectivePath() throws Exception {
+        UniversalReflectionMapper generated = newMapper().withGenerationThreshold(0);
+
+        // Package-private classes and a primitive domain field (TypedTarget.count)
+        TypedTarget first = generated.map(new TypedSource(), TypedTarget.class);
+        TypedTarget second = generated.map(new TypedSource(), TypedTarget.class);
+
+        assertThat(generated.planFor(TypedSource.class, TypedTarget.class).getGeneratedMapper()).isNull();
+        assertThat(first.count).isEqualTo(42);
+        assertThat(second.count).isEqualTo(42);
+        assertThat(second.address.getCity()).isEqualTo("City");
+    }
+
+    @Test
+    void buildTimeMapperMatchesReflectiveFieldCopies() throws Exception {
+        // Every kind of leftover value: SDK beans, unions, Optionals, java.time, Jackson trees, maps of any values
+        Group engineering = ObjectMappers.JSON_MAPPER.readValue("{\"id\":\"G1\",\"name\":\"Engineering\","
+                + "\"type\":\"TEAM\",\"created_at\":\"2021-09-15T00:00:00Z\",\"remote_was_deleted\":false,"
+                + "\"field_mappings\":{\"org\":{\"cost_center\":[1,2,3]}},\"extra\":{\"tags\":[\"a\",\"b\",\"c\"]},"
+                + "\"remote_data\":[{\"path\":\"/groups\",\"data\":{\"department\":{\"name\":\"R&D\",\"floors\":[3,4,5]}}}]}",
+                Group.class);
+        SdkEmployee source = SdkEmployee.builder()
+                .id("EMP-1")
+                .firstName("Jane")
+                .workEmail("jane@acme.com")
+                .addresses(List.of(SdkAddress.builder().street("1 Lane").city("City").build()))
+                .company(Optional.of(SdkCompany.builder().id("COMP-1").legalName("Acme")
+                        .headquartersAddress(SdkAddress.builder().street("1 Main St").city("Springfield").build())
+                        .build()))
+                .groups(Optional.of(List.of(Optional.of(EmployeeGroupsItem.of("Ad-hoc")), Optional.empty(),
+                        Optional.of(EmployeeGroupsItem.of(engineering)),
+                        Optional.of(EmployeeGroupsItem.of(Group.builder().type(GroupType.of("GUILD")).build())))))
+                .build();
+
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+        Employee expected = newMapper().map(source, Employee.class);
+        Employee actual = new SdkDomainMapperImpl().map(Optional.of(source), Employee.class);
+        assertThat(actual.getCompany().getAddress().getCity()).isEqualTo("Springfield");
+        assertThat(json.writeValueAsString(actual)).isEqualTo(json.writeValueAsString(expected));
+
+        // Cut at every depth and container size the same way
+        for (int maxDepth = 1; maxDepth <= 9; maxDepth++) {
+            Employee cutExpected = newMapper().withLeftoverLimits(maxDepth, 2).map(source, Employee.class);
+            Employee cutActual = new SdkDomainMapperImpl(maxDepth, 2).map(source, Employee.class);
+            assertThat(json.writeValueAsString(cutActual)).as("max depth %d", maxDepth)
+                    .isEqualTo(json.writeValueAsString(cutExpected));
+        }
+    }
+
+    @Test
+    void buildTimeMapperLogsAndReturnsNullLikeTheReflectiveOne() {
+        SdkEmployee exploding = new SdkEmployee("EMP-1", null, null, null, Optional.empty(), List.of(), Optional.empty()) {
+            @Override
+            public String getFirstName() {
+                throw new IllegalStateException("boom");
+            }
+        };
+        SdkDomainMapperImpl generated = new SdkDomainMapperImpl();
+
+        assertThat(generated.map(exploding, Employee.class)).isNull();
+        assertThat(generated.map(sdkEmployee("EMP-1"), Company.class)).isNull();
+        assertThat(generated.map(sdkEmployee("EMP-1"), Employee.class).getId()).isEqualTo("EMP-1");
+    }
+
+    @Test
+    void mapAllKeepsOrderAndReportsFailuresWithoutAbortingTheBatch() {
+        UniversalReflectionMapper mapper = new UniversalReflectionMapper().withBulkChunkSize(2);
+        List<Object> sources = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            sources.add(i == 3 || i == 7 ? new ExplodingSource("ID-" + i) : new PlainSource("ID-" + i));
+        }
+        sources.set(5, null);
+
+        BulkMappingResult<StrictTarget> result = mapper.mapAll(sources, StrictTarget.class);
+
+        assertThat(result.getResults()).hasSize(10);
+        assertThat(result.getResults().get(0).getId()).isEqualTo("ID-0");
+        assertThat(result.getResults().get(9).getId()).isEqualTo("ID-9");
+        assertThat(result.getResults().get(3)).isNull();
+        assertThat(result.getResults().get(5)).isNull();
+        assertThat(result.getFailures()).extracting(MappingFailure::getIndex).containsExactly(3L, 7L);
+    }
+
+    @Test
+    void mapAllOnAnExecutorRunsChunksAsTasks() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            UniversalReflectionMapper mapper = new UniversalReflectionMapper()
+                    .withBulkExecutor(executor)
+                    .withBulkChunkSize(3);
+            List<Object> sources = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                sources.add(i == 4 ? new ExplodingSource("ID-" + i) : new PlainSource("ID-" + i));
+            }
+
+            BulkMappingResult<StrictTarget> result = mapper.mapAll(sources, StrictTarget.class);
+
+            assertThat(result.getResults()).hasSize(10);
+            assertThat(result.getResults().get(9).getId()).isEqualTo("ID-9");
+            assertThat(result.getResults().get(4)).isNull();
+            assertThat(result.getFailures()).extracting(MappingFailure::getIndex).containsExactly(4L);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void mapStreamEmitsInOrderAndSkipsFailures() {
+        UniversalReflectionMapper mapper = new UniversalReflectionMapper();
+        List<MappingFailure> failures = new ArrayList<>();
+
+        List<String> ids = mapper.mapStream(
+                        IntStream.range(0, 25).mapToObj(i -> i == 12 ? new ExplodingSource("X") : new PlainSource("ID-" + i)),
+                        StrictTarget.class, 4, failures::add)
+                .map(StrictTarget::getId)
+                .collect(Collectors.toList());
+
+        assertThat(ids).hasSize(24).startsWith("ID-0", "ID-1").endsWith("ID-24");
+        assertThat(failures).extracting(MappingFailure::getIndex).containsExactly(12L);
+    }
+
+    @Test
+    void tokenMapperProducesTheSameEmployeeAsTheSdkIngestPath() throws Exception {
+        String json = "{\"id\":\"EMP-1\",\"workEmail\":\"jane@acme.com\",\"unknown\":{\"a\":1},"
+                + "\"company\":{\"id\":\"COMP-1\",\"legalName\":\"Acme\",\"headquartersAddress\":{\"city\":\"X\"}},"
+                + "\"groups\":[\"Ad-hoc\",{\"id\":\"GRP-1\",\"remote_id\":\"r-1\",\"type\":\"TEAM\","
+                + "\"created_at\":\"2024-01-01T10:00:00Z\",\"remote_data\":[{\"path\":\"/g\",\"data\":{\"k\":[1,2]}}]}]}";
+        UniversalReflectionMapper mapper = newMapper();
+
+        Employee fromSdk = mapper.map(ObjectMappers.reader(SdkEmployee.class).readValue(json), Employee.class);
+        Employee fromTokens;
+        try (JsonParser parser = ObjectMappers.JSON_MAPPER.createParser(json)) {
+            fromTokens = new JsonTokenMapper(mapper, ObjectMappers.JSON_MAPPER).read(parser, SdkEmployee.class, Employee.class);
+        }
+
+        ObjectMapper out = ObjectMappers.JSON_MAPPER;
+        assertThat(out.writeValueAsString(fromTokens)).isEqualTo(out.writeValueAsString(fromSdk));
+        assertThat(fromTokens.getEmail()).isEqualTo("jane@acme.com");
+        assertThat(fromTokens.getCompany().getAddress().getCity()).isEqualTo("X");
+        assertThat(fromTokens.getExtraFields()).containsOnlyKeys("addresses", "groups").containsEntry("addresses", null);
+    }
+
+    @Test
+    void tokenMapperStreamsLeftoversLikeTheSdkIngestPathAtEveryLimit() throws Exception {
+        String json = "{\"id\":\"EMP-1\",\"addresses\":[{\"street\":\"Main\",\"city\":\"X\",\"zip\":\"1\"},null,{}],"
+                + "\"groups\":[\"Ad-hoc\",null,{\"id\":\"GRP-1\",\"remote_id\":\"r-1\",\"type\":\"GUILD\","
+                + "\"name\":null,\"is_commonly_used_as_team\":true,\"created_at\":\"2024-01-01T10:00:00Z\","
+                + "\"field_mappings\":{\"org\":{\"a\":[1,2.5,12345678901,\"s\",null,true]},\"n\":null},"
+                + "\"remote_data\":[{\"path\":\"/g\",\"data\":{\"k\":[1,{\"deep\":[[{}]]}]},\"extra\":1},{\"path\":\"/h\"}],"
+                + "\"unknown\":{\"nested\":[1,2,3]},\"other\":\"o\"},{\"type\":\"TEAM\"},{}]}";
+
+        for (int maxDepth = 1; maxDepth <= 9; maxDepth++) {
+            int[] observedDepth = new int[2];
+            UniversalReflectionMapper sdkMapper = newMapper().withLeftoverLimits(maxDepth, 2)
+                    .withObserver(depthObserver(observedDepth, 0));
+            UniversalReflectionMapper tokenMapper = newMapper().withLeftoverLimits(maxDepth, 2)
+                    .withObserver(depthObserver(observedDepth, 1))
+                    .withStringDeduplicator(new StringDeduplicator(100, 32), false);
+
+            Employee fromSdk = sdkMapper.map(ObjectMappers.reader(SdkEmployee.class).readValue(json), Employee.class);
+            Employee fromTokens;
+            try (JsonParser parser = ObjectMappers.JSON_MAPPER.createParser(json)) {
+                fromTokens = new JsonTokenMapper(tokenMapper, ObjectMappers.JSON_MAPPER)
+                        .read(parser, SdkEmployee.class, Employee.class);
+            }
+
+            ObjectMapper out = ObjectMappers.JSON_MAPPER;
+            assertThat(out.writeValueAsString(fromTokens)).as("max depth %d", maxDepth)
+                    .isEqualTo(out.writeValueAsString(fromSdk));
+            assertThat(fromTokens.getExtraFields()).as("max depth %d", maxDepth).isEqualTo(fromSdk.getExtraFields());
+            assertThat(observedDepth[1]).as("max depth %d", maxDepth).isEqualTo(observedDepth[0]);
+        }
+    }
+
+    private static MappingObserver depthObserver(int[] observedDepth, int slot) {
+        return new MappingObserver() {
+            @Override
+            public void onExtraFields(Class<?> targetClass, int entries, int maxDepth) {
+                observedDepth[slot] = maxDepth;
+            }
+        };
+    }
+
+    @Test
+    void tokenMapperFailsOnValuesThatDoNotFitTheSdkType() throws Exception {
+        try (JsonParser parser = ObjectMappers.JSON_MAPPER.createParser("{\"id\":\"EMP-1\",\"groups\":42}")) {
+            JsonTokenMapper tokenMapper = new JsonTokenMapper(newMapper(), ObjectMappers.JSON_MAPPER);
+            assertThatThrownBy(() -> tokenMapper.read(parser, SdkEmployee.class, Employee.class))
+                    .isInstanceOf(JsonMappingException.class);
+        }
+    }
+
+    @Test
+    void lazyExtraFieldsSerializeLikeEagerOnesWithoutMaterializing() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        Employee eager = newMapper().map(sdkEmployee("EMP-1"), Employee.class);
+        Employee lazy = newMapper().withLazyExtraFields(true).map(sdkEmployee("EMP-1"), Employee.class);
+
+        assertThat(json.writeValueAsString(lazy)).isEqualTo(json.writeValueAsString(eager));
+        assertThat(((LazyExtraFields) lazy.getExtraFields()).isMaterialized()).isFalse();
+
+        assertThat(lazy.getExtraFields()).isEqualTo(eager.getExtraFields());
+        assertThat(((LazyExtraFields) lazy.getExtraFields()).isMaterialized()).isTrue();
+    }
+
+    @Test
+    void leftoverJsonNodesMapsAndDatesArePassedThrough() {
+        ObjectNode remotePayload = JsonNodeFactory.instance.objectNode().put("department", "R&D");
+        OffsetDateTime createdAt = OffsetDateTime.parse("2024-01-01T10:00:00Z");
+        Group group = Group.builder()
+                .id("GRP-1")
+                .createdAt(createdAt)
+                .fieldMappings(Map.of("org", remotePayload))
+                .remoteData(List.of(RemoteData.builder().path("/groups").data(remotePayload).build()))
+                .build();
+        SdkEmployee source = SdkEmployee.builder()
+                .id("EMP-1")
+                .groups(Optional.of(List.of(Optional.of(EmployeeGroupsItem.of(group)))))
+                .build();
+
+        Employee employee = newMapper().map(source, Employee.class);
+
+        Map<?, ?> groupItem = (Map<?, ?>) ((List<?>) employee.getExtraFields().get("groups")).get(0);
+        Map<?, ?> groupValue = (Map<?, ?>) groupItem.get("value");
+        assertThat(groupValue.get("createdAt")).isSameAs(createdAt);
+        assertThat(groupValue.get("fieldMappings")).isEqualTo(Map.of("org", remotePayload));
+        assertThat(groupValue.get("additionalProperties")).isEqualTo(Map.of());
+        Map<?, ?> remoteData = (Map<?, ?>) ((List<?>) groupValue.get("remoteData")).get(0);
+        assertThat(remoteData.get("data")).isEqualTo(remotePayload).isNotSameAs(remotePayload);
+    }
+
+    @Test
+    void leftoverJsonTreesAreCopiedWithinTheLimits() throws Exception {
+        ObjectNode payload = JsonNodeFactory.instance.objectNode();
+        IntStream.range(0, 50).forEach(payload.putArray("wide")::add);
+        payload.putObject("deep").putObject("a").putObject("b").put("c", 1);
+        Group group = Group.builder()
+                .id("GRP-1")
+                .remoteData(List.of(RemoteData.builder().path("/groups").data(payload).build()))
+                .build();
+        SdkEmployee source = SdkEmployee.builder()
+                .id("EMP-1")
+                .groups(Optional.of(List.of(Optional.of(EmployeeGroupsItem.of(group)))))
+                .build();
+        UniversalReflectionMapper mapper = newMapper().withLeftoverLimits(8, 10);
+
+        Employee employee = mapper.map(source, Employee.class);
+        payload.put("addedLater", true);
+
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+        JsonNode data = json.valueToTree(employee).at("/extraFields/groups/0/value/remoteData/0/data");
+        assertThat(data.get("wide")).hasSize(10);
+        assertThat(data.at("/deep/a/b").asText()).isEqualTo(UniversalReflectionMapper.MAX_DEPTH_MARKER);
+        assertThat(data.has("addedLater")).isFalse();
+        assertThat(json.writeValueAsString(new DomainJsonWriter(mapper).asJson(source, Employee.class)))
+                .isEqualTo(json.writeValueAsString(mapper.map(source, Employee.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void leftoverLimitsBoundDepthAndSize() {
+        SdkEmployee source = SdkEmployee.builder()
+                .id("EMP-1")
+                .addresses(Collections.nCopies(50, SdkAddress.builder().city("City").build()))
+                .build();
+
+        Employee employee = newMapper().withLeftoverLimits(1, 10).map(source, Employee.class);
+
+        List<Object> addresses = (List<Object>) employee.getExtraFields().get("addresses");
+        assertThat(addresses).hasSize(10).containsOnly(UniversalReflectionMapper.MAX_DEPTH_MARKER);
+    }
+
+    @Test
+    void fusedWriterMatchesMappingThenSerializing() throws Exception {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+        Group group = Group.builder()
+                .id("GRP-1")
+                .createdAt(OffsetDateTime.parse("2024-01-01T10:00:00Z"))
+                .remoteData(List.of(RemoteData.builder().path("/groups")
+                        .data(JsonNodeFactory.instance.objectNode().put("department", "R&D")).build()))
+                .build();
+        SdkEmployee source = SdkEmployee.builder()
+                .id("EMP-1")
+                .workEmail("jane@acme.com")
+                .company(Optional.of(SdkCompany.builder().id("COMP-1").legalName("Acme").build()))
+                .addresses(List.of(SdkAddress.builder().street("1 Lane").build()))
+                .groups(Optional.of(List.of(Optional.of(EmployeeGroupsItem.of(group)))))
+                .build();
+        UniversalReflectionMapper mapper = newMapper().withLeftoverLimits(4, 10);
+        DomainJsonWriter writer = new DomainJsonWriter(mapper);
+
+        String expected = json.writeValueAsString(mapper.map(source, Employee.class));
+
+        assertThat(json.writeValueAsString(writer.asJson(source, Employee.class))).isEqualTo(expected);
+        assertThat(json.writeValueAsString(writer.asJson(new PlainSource("P-1"), Employee.class)))
+                .isEqualTo(json.writeValueAsString(mapper.map(new PlainSource("P-1"), Employee.class)));
+    }
+
+    @Test
+    void convertsTemporalNumericEnumAndBeanValues() {
+        TypedSource source = new TypedSource();
+
+        TypedTarget target = newMapper().map(source, TypedTarget.class);
+
+        assertThat(target.createdAt).isEqualTo("2024-01-01T10:00Z");
+        assertThat(target.modifiedAt).isEqualTo(Instant.parse("2024-02-01T00:00:00Z"));
+        assertThat(target.count).isEqualTo(42);
+        assertThat(target.total).isNull();
+        assertThat(target.level).isEqualTo(Level.HIGH);
+        assertThat(target.address).isEqualTo(Address.builder().street("1 Lane").city("City").build());
+
+        TypedTarget custom = newMapper()
+                .withConverter(String.class, Level.class, value -> Level.LOW)
+                .map(source, TypedTarget.class);
+        assertThat(custom.level).isEqualTo(Level.LOW);
+    }
+
+    @Test
+    void unconvertibleValueLeavesPrimitiveAtDefaultAndIsReported() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UniversalReflectionMapper mapper = newMapper().withObserver(new MicrometerMappingObserver(registry));
+
+        TypedTarget target = mapper.map(new UnparseableSource(), TypedTarget.class);
+
+        assertThat(target).isNotNull();
+        assertThat(target.count).isZero();
+        assertThat(registry.get(MicrometerMappingObserver.CONVERSION_FAILURES)
+                .tag("source", "String").tag("target", "int").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void sharesNestedTargetsWithinABatch() {
+        SdkCompany company = SdkCompany.builder().id("COMP-1").legalName("Acme").build();
+        SdkEmployee first = SdkEmployee.builder().id("EMP-1").company(Optional.of(company)).build();
+        SdkEmployee second = SdkEmployee.builder().id("EMP-2").company(Optional.of(company)).build();
+        SdkEmployee copy = SdkEmployee.builder().id("EMP-3")
+                .company(Optional.of(SdkCompany.builder().id("COMP-1").legalName("Acme").build())).build();
+
+        List<Employee> byIdentity = newMapper().mapAll(List.of(first, second, copy), Employee.class).getResults();
+        assertThat(byIdentity.get(1).getCompany()).isSameAs(byIdentity.get(0).getCompany());
+        assertThat(byIdentity.get(2).getCompany()).isNotSameAs(byIdentity.get(0).getCompany());
+
+        List<Employee> byId = newMapper().withShareNestedById(true)
+                .mapAll(List.of(first, second, copy), Employee.class).getResults();
+        assertThat(byId.get(2).getCompany()).isSameAs(byId.get(0).getCompany());
+    }
+
+    @Test
+    void cyclicSourcesMapToCyclicTargets() {
+        NodeSource a = new NodeSource();
+        NodeSource b = new NodeSource();
+        a.id = "A";
+        a.next = b;
+        b.id = "B";
+        b.next = a;
+
+        NodeTarget mapped = newMapper().map(a, NodeTarget.class);
+
+        assertThat(mapped.next.id).isEqualTo("B");
+        assertThat(mapped.next.next).isSameAs(mapped);
+    }
+
+    @Test
+    void failedMappingOnlyDropsItsOwnRegistration() throws Exception {
+        SdkEmployee source = sdkEmployee("EMP-1");
+        MappingContext context = MappingContext.create(false);
+        Employee winner = new Employee();
+        context.register(source, Employee.class, winner);
+        Employee loser = new Employee();
+        context.register(source, Employee.class, loser);
+        context.unregister(source, Employee.class, loser);
+        assertThat(context.lookup(source, Employee.class)).isSameAs(winner);
+
+        UniversalReflectionMapper mapper = new UniversalReflectionMapper();
+        MappingContext shared = mapper.newContext();
+        ExplodingSource exploding = new ExplodingSource("ID-1");
+        assertThat(mapper.map(exploding, StrictTarget.class, shared)).isNull();
+        assertThat(shared.lookup(exploding, StrictTarget.class)).isNull();
+
+        // The generated mapper drops its registration through the failed callback
+        UniversalReflectionMapper generating = newMapper().withGenerationThreshold(0);
+        generating.map(sdkEmployee("EMP-1"), Employee.class);
+        GeneratedMapper generated = generating.planFor(SdkEmployee.class, Employee.class).getGeneratedMapper();
+        assertThat(generated).isNotNull();
+        MappingContext generatedContext = generating.newContext();
+        GeneratedMapper.Callbacks callbacks = new GeneratedMapper.Callbacks() {
+            @Override
+            public void created(Object source, Object target, MappingContext context) {
+                context.register(source, Employee.class, target);
+            }
+
+            @Override
+            public void failed(Object source, Object target, MappingContext context) {
+                context.unregister(source, Employee.class, target);
+            }
+
+            @Override
+            public Object convert(int bindingIndex, Object sdkValue, MappingContext context) {
+                throw new IllegalStateException("boom");
+            }
+
+            @Override
+            public void fillLeftovers(Object source, Object target, MappingContext context) {
+            }
+        };
+        assertThatThrownBy(() -> generated.map(source, callbacks, generatedContext))
+                .isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(generatedContext.lookup(source, Employee.class)).isNull();
+    }
+
+    @Test
+    void resultCacheReusesCompaniesAndGroupsAcrossCalls() {
+        MappedResultCache cache = new MappedResultCache(100, Duration.ofMinutes(1),
+                Set.of(Company.class), Set.of(Group.class));
+        UniversalReflectionMapper mapper = newMapper().withResultCache(cache);
+        Group group = Group.builder().id("GRP-1").modifiedAt(OffsetDateTime.parse("2024-01-01T10:00:00Z")).build();
+        SdkEmployee source = SdkEmployee.builder()
+                .id("EMP-1")
+                .company(Optional.of(SdkCompany.builder().id("COMP-1").legalName("Acme").build()))
+                .groups(Optional.of(List.of(Optional.of(EmployeeGroupsItem.of(group)))))
+                .build();
+
+        Employee first = mapper.map(source, Employee.class);
+        Employee second = mapper.map(source, Employee.class);
+        Employee renamed = mapper.map(SdkEmployee.builder()
+                .id("EMP-2")
+                .company(Optional.of(SdkCompany.builder().id("COMP-1").legalName("Acme Corp").build()))
+                .build(), Employee.class);
+
+        assertThat(second.getCompany()).isEqualTo(first.getCompany()).isNotSameAs(first.getCompany());
+        assertThat(second.getExtraFields()).isEqualTo(first.getExtraFields());
+        assertThat(renamed.getCompany().getName()).isEqualTo("Acme Corp");
+        assertThat(cache.stats().hitCount()).isEqualTo(2);
+        assertThat(cache.stats().missCount()).isEqualTo(3);
+    }
+
+    @Test
+    void cachedCompaniesAreCopiedPerCall() {
+        MappedResultCache cache = new MappedResultCache(100, Duration.ofMinutes(1), Set.of(Company.class), Set.of());
+        UniversalReflectionMapper mapper = newMapper().withResultCache(cache);
+        SdkEmployee source = SdkEmployee.builder()
+                .id("EMP-1")
+                .company(Optional.of(SdkCompany.builder().id("COMP-1").legalName("Acme")
+                        .headquartersAddress(SdkAddress.builder().city("X").build()).build()))
+                .build();
+
+        mapper.map(source, Employee.class).getCompany().getAddress().setCity("Changed");
+        Employee second = mapper.map(source, Employee.class);
+
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(second.getCompany().getAddress().getCity()).isEqualTo("X");
+    }
+
+    @Test
+    void cacheKeysFollowTheContentOfRecordsWithoutModifiedAt() {
+        MappedResultCache cache = new MappedResultCache(100, Duration.ofMinutes(1), Set.of(Company.class), Set.of());
+        UniversalReflectionMapper mapper = newMapper().withResultCache(cache);
+
+        Employee first = mapper.map(employeeOfCompanyIn("X"), Employee.class);
+        Employee equalCopy = mapper.map(employeeOfCompanyIn("X"), Employee.class);
+        Employee moved = mapper.map(employeeOfCompanyIn("Y"), Employee.class);
+
+        assertThat(equalCopy.getCompany()).isEqualTo(first.getCompany()).isNotSameAs(first.getCompany());
+        assertThat(moved.getCompany().getAddress().getCity()).isEqualTo("Y");
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+    }
+
+    private static SdkEmployee employeeOfCompanyIn(String city) {
+        return SdkEmployee.builder()
+                .id("EMP-1")
+                .company(Optional.of(SdkCompany.builder().id("COMP-1").legalName("Acme")
+                        .headquartersAddress(SdkAddress.builder().city(city).build()).build()))
+                .build();
+    }
+
+    @Test
+    void cachedGroupLeftoversMatchUncachedOnesAtEveryDepth() {
+        Group group = Group.builder().id("GRP-1").remoteData(List.of(RemoteData.builder().path("/g").build())).build();
+        GroupsSource source = new GroupsSource(List.of(group), List.of(List.of(group)));
+        SimpleMeterRegistry cachedRegistry = new SimpleMeterRegistry();
+        SimpleMeterRegistry plainRegistry = new SimpleMeterRegistry();
+        UniversalReflectionMapper cached = newMapper().withLeftoverLimits(3, 100)
+                .withObserver(new MicrometerMappingObserver(cachedRegistry))
+                .withResultCache(new MappedResultCache(100, Duration.ofMinutes(1), Set.of(), Set.of(Group.class)));
+        UniversalReflectionMapper plain = newMapper().withLeftoverLimits(3, 100)
+                .withObserver(new MicrometerMappingObserver(plainRegistry));
+
+        cached.map(source, GroupsTarget.class);
+        GroupsTarget fromCache = cached.map(source, GroupsTarget.class);
+        GroupsTarget expected = plain.map(source, GroupsTarget.class);
+
+        assertThat(fromCache.extraFields).isEqualTo(expected.extraFields);
+        Map<?, ?> deepGroup = (Map<?, ?>) ((List<?>) ((List<?>) fromCache.extraFields.get("deep")).get(0)).get(0);
+        assertThat(deepGroup.get("remoteData")).isEqualTo(UniversalReflectionMapper.MAX_DEPTH_MARKER);
+        assertThat(cachedRegistry.get(MicrometerMappingObserver.EXTRA_FIELDS_DEPTH).summary().max())
+                .isEqualTo(plainRegistry.get(MicrometerMappingObserver.EXTRA_FIELDS_DEPTH).summary().max());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cachedGroupLeftoversCannotBeChangedByCallers() throws Exception {
+        Group withTree = ObjectMappers.JSON_MAPPER.readValue(
+                "{\"id\":\"GRP-1\",\"remote_data\":[{\"path\":\"/g\",\"data\":{\"k\":[1,2]}}]}", Group.class);
+        Group plain = Group.builder().id("GRP-2").remoteData(List.of(RemoteData.builder().path("/p").build())).build();
+        GroupsSource source = new GroupsSource(List.of(withTree, plain), List.of());
+        UniversalReflectionMapper mapper = newMapper()
+                .withResultCache(new MappedResultCache(100, Duration.ofMinutes(1), Set.of(), Set.of(Group.class)));
+        GroupsTarget expected = mapper.map(source, GroupsTarget.class);
+
+        List<?> groups = (List<?>) mapper.map(source, GroupsTarget.class).extraFields.get("shallow");
+        List<Object> plainRemoteData = (List<Object>) ((Map<?, ?>) groups.get(1)).get("remoteData");
+        assertThatThrownBy(() -> plainRemoteData.add("changed")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> ((Map<String, Object>) plainRemoteData.get(0)).put("path", "changed"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        Map<?, ?> treeRemoteData = (Map<?, ?>) ((List<?>) ((Map<?, ?>) groups.get(0)).get("remoteData")).get(0);
+        ((ObjectNode) treeRemoteData.get("data")).put("k", "changed");
+
+        assertThat(mapper.map(source, GroupsTarget.class).extraFields).isEqualTo(expected.extraFields);
+    }
+
+    @Test
+    void observerRecordsLatencyFailuresAndExtraFieldsSizes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UniversalReflectionMapper mapper = newMapper().withObserver(new MicrometerMappingObserver(registry));
+
+        mapper.map(sdkEmployee("EMP-1"), Employee.class);
+        mapper.map(sdkEmployee("EMP-2"), Employee.class);
+        mapper.mapAll(List.of(new PlainSource("ID-1"), new ExplodingSource("ID-2")), StrictTarget.class);
+
+        assertThat(registry.get(MicrometerMappingObserver.MAP_TIMER)
+                .tags("source", "SdkEmployee", "target", "Employee").timer().count()).isEqualTo(2);
+        assertThat(registry.get(MicrometerMappingObserver.FAILURES)
+                .tags("source", "ExplodingSource", "target", "StrictTarget").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get(MicrometerMappingObserver.EXTRA_FIELDS_ENTRIES)
+                .tag("target", "Employee").summary().count()).isEqualTo(2);
+        // groups → list → item
+        assertThat(registry.get(MicrometerMappingObserver.EXTRA_FIELDS_DEPTH)
+                .tag("target", "Employee").summary().max()).isGreaterThanOrEqualTo(1.0);
+    }
+
+    @Test
+    void emitsFlightRecorderEventsWhenEnabled(@TempDir Path dir) throws Exception {
+        UniversalReflectionMapper mapper = newMapper();
+        Path file = dir.resolve("mapping.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MappingEvents.MapEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(MappingEvents.NestedMapEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(MappingEvents.LeftoverEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            mapper.map(sdkEmployee("EMP-1"), Employee.class);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent map = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.mapper.employee_mapper.Map"))
+                .findFirst().orElseThrow();
+        assertThat(map.getClass("sourceClass").getName()).isEqualTo(SdkEmployee.class.getName());
+        assertThat(map.getInt("fieldCount")).isPositive();
+        assertThat(map.getBoolean("succeeded")).isTrue();
+        assertThat(events).extracting(e -> e.getEventType().getName())
+                .contains("com.mapper.employee_mapper.NestedMap", "com.mapper.employee_mapper.Leftover");
+    }
+
+    @Test
+    void deltaMappingEmitsOnlyChangedSubtrees() throws Exception {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+        DeltaMapper delta = new DeltaMapper(newMapper(), json);
+        MappingDelta<Employee> first = delta.diff((MappingFingerprint) null, sdkEmployee("EMP-1"), Employee.class);
+        // Fingerprints are meant to be stored between syncs
+        MappingFingerprint stored = json.readValue(json.writeValueAsString(first.getFingerprint()),
+                MappingFingerprint.class);
+
+        MappingDelta<Employee> unchanged = delta.diff(stored, sdkEmployee("EMP-1"), Employee.class);
+        SdkEmployee renamed = SdkEmployee.builder()
+                .id("EMP-1")
+                .firstName("Jane")
+                .lastName("Doe")
+                .workEmail("jane@acme.com")
+                .company(Optional.of(SdkCompany.builder().id("COMP-1").legalName("Acme Corp").build()))
+                .build();
+        MappingDelta<Employee> changed = delta.diff(stored, renamed, Employee.class);
+
+        assertThat(first.getMergePatch().path("id").asText()).isEqualTo("EMP-1");
+        assertThat(stored.getHash()).isEqualTo(first.getFingerprint().getHash());
+        assertThat(unchanged.isChanged()).isFalse();
+        assertThat(changed.getMergePatch().toString())
+                .isEqualTo("{\"company\":{\"name\":\"Acme Corp\"},\"extraFields\":{\"addresses\":null,\"groups\":null}}");
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "StringOperationCanBeSimplified"})
+    void stringDeduplicatorSharesRepeatedValuesAcrossMappedRecords() {
+        StringDeduplicator strings = new StringDeduplicator(100, 16);
+        List<SdkEmployee> sources = IntStream.range(0, 2)
+                .mapToObj(i -> SdkEmployee.builder()
+                        .id("EMP-" + i)
+                        .firstName(new String("Jane"))
+                        .addresses(List.of(SdkAddress.builder().city(new String("City")).build()))
+                        .build())
+                .collect(Collectors.toList());
+
+        for (boolean perBatch : new boolean[] {false, true}) {
+            List<Employee> employees = newMapper().withStringDeduplicator(strings, perBatch)
+                    .mapAll(sources, Employee.class).getResults();
+
+            assertThat(employees.get(0).getFirstName()).isEqualTo("Jane")
+                    .isSameAs(employees.get(1).getFirstName());
+            Object city0 = ((List<Map<String, Object>>) employees.get(0).getExtraFields().get("addresses")).get(0).get("city");
+            Object city1 = ((List<Map<String, Object>>) employees.get(1).getExtraFields().get("addresses")).get(0).get("city");
+            assertThat(city0).isEqualTo("City").isSameAs(city1);
+        }
+        assertThat(strings.hits()).isPositive();
+        assertThat(strings.dedupRatio()).isBetween(0.0, 1.0);
+        // Per-batch dictionaries are dropped with their batch
+        assertThat(strings.size()).isLessThan(strings.lookups());
+    }
+
+    static class NodeSource {
+        private String id;
+        private NodeSource next;
+    }
+
+    static class NodeTarget {
+        private String id;
+        private NodeTarget next;
+    }
+
+    enum Level { LOW, HIGH }
+
+    static class TypedSource {
+        private final OffsetDateTime createdAt = OffsetDateTime.parse("2024-01-01T10:00:00Z");
+        private final Optional<String> modifiedAt = Optional.of("2024-02-01T00:00:00Z");
+        private final String count = "42";
+        private final Long total = Long.MAX_VALUE;
+        private final String level = "high";
+        private final SdkAddress address = SdkAddress.builder().street("1 Lane").city("City").build();
+    }
+
+    static class UnparseableSource {
+        private final String count = "forty-two";
+    }
+
+    static class TypedTarget {
+        private String createdAt;
+        private Instant modifiedAt;
+        private int count;
+        private Integer total;
+        private Level level;
+        private Address address;
+    }
+
+    static class PlainSource {
+        private final String id;
+
+        PlainSource(String id) {
+            this.id = id;
+        }
+    }
+
+    static class ExplodingSource {
+        private final String id;
+        private final String unmapped = "boom";
+
+        ExplodingSource(String id) {
+            this.id = id;
+        }
+    }
+
+    static class GroupsSource {
+        private final String id = "GS-1";
+        private final List<Group> shallow;
+        private final List<List<Group>> deep;
+
+        GroupsSource(List<Group> shallow, List<List<Group>> deep) {
+            this.shallow = shallow;
+            this.deep = deep;
+        }
+    }
+
+    static class GroupsTarget implements HasExtraFields {
+        private String id;
+        private Map<String, Object> extraFields;
+
+        @Override
+        public void setExtraFields(Map<String, Object> extraFields) {
+            this.extraFields = extraFields;
+        }
+    }
+
+    static class StrictTarget implements HasExtraFields {
+        private String id;
+
+        String getId() {
+            return id;
+        }
+
+        @Override
+        public void setExtraFields(Map<String, Object> extraFields) {
+            throw new IllegalStateException("StrictTarget does not accept extra fields");
+        }
+    }
+}
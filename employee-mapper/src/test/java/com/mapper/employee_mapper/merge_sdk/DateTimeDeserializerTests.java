@@ -0,0 +1,80 @@
+package com.mapper.employee_mapper.merge_sdk;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DateTimeDeserializerTests {
+
+    private static List<String> inputs() {
+        List<String> inputs = new ArrayList<>(List.of(
+                "2021-10-16T12:34:56Z", "2021-10-16T12:34:56.789+02:00", "2021-10-16T12:34", "2021-10-16T12:34:56",
+                "2021-10-16T12:34:56.123456789-05:30", "2021-10-16T12:34:56+05:45:30", "2021-10-16T12:34:56-00:00",
+                "2021-10-16T12:34:56+18:00", "2021-10-16T12:34:56.1Z", "0000-01-01T00:00Z", "2024-02-29T23:59:59Z",
+                // Handled by the formatter only
+                "2021-10-16t12:34:56z", "2021-10-16T12:34:56+01:00[Europe/Paris]", "2021-10-16T12:34:56+0100",
+                // Invalid either way
+                "2021-02-30T00:00Z", "2021-10-16T24:00Z", "2021-13-01T00:00Z", "2021-10-16T12:34:56+19:00",
+                "2021-10-16T12:34:56.Z", "2021-10-16T12:34:56.1234567891Z", "2021-10-16 12:34:56", "2021-10-16",
+                "2021-10-16T12:34:5", "not a date", ""));
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            inputs.add(String.format("%04d-%02d-%02dT%02d:%02d:%02d.%0" + (1 + random.nextInt(9)) + "d%s",
+                    random.nextInt(3000), 1 + random.nextInt(12), 1 + random.nextInt(31), random.nextInt(24),
+                    random.nextInt(60), random.nextInt(60), random.nextInt(10), random.nextBoolean() ? "Z"
+                            : String.format("%s%02d:%02d", random.nextBoolean() ? "+" : "-", random.nextInt(19),
+                            15 * random.nextInt(4))));
+        }
+        return inputs;
+    }
+
+    // ISO_DATE_TIME's result (UTC when the input has no offset), or the class of what it throws
+    private static Object viaFormatter(String input) {
+        try {
+            TemporalAccessor temporal = DateTimeFormatter.ISO_DATE_TIME.parseBest(input, OffsetDateTime::from, LocalDateTime::from);
+            return temporal.query(TemporalQueries.offset()) == null
+                    ? LocalDateTime.from(temporal).atOffset(ZoneOffset.UTC) : OffsetDateTime.from(temporal);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    @Test
+    void fastPathAgreesWithTheFormatterWheneverItAnswers() {
+        for (String input : inputs()) {
+            // Surrounding text, as in the parser's buffer
+            char[] buf = ("\"" + input + "\",").toCharArray();
+            OffsetDateTime fast = DateTimeDeserializer.parseRfc3339(buf, 1, input.length());
+            if (fast != null) {
+                assertThat(fast).as(input).isEqualTo(viaFormatter(input));
+            }
+        }
+        assertThat(DateTimeDeserializer.parseRfc3339("2021-10-16T12:34:56.789+02:00".toCharArray(), 0, 29))
+                .isEqualTo(OffsetDateTime.parse("2021-10-16T12:34:56.789+02:00"));
+    }
+
+    @Test
+    void deserializerMatchesTheIsoFormatter() throws Exception {
+        for (String input : inputs()) {
+            Object actual;
+            try {
+                actual = ObjectMappers.JSON_MAPPER.readValue("\"" + input + "\"", OffsetDateTime.class);
+            } catch (Exception e) {
+                actual = e.getClass();
+            }
+            assertThat(actual).as(input).isEqualTo(viaFormatter(input));
+        }
+        assertThat(ObjectMappers.JSON_MAPPER.readValue("1634387696", OffsetDateTime.class))
+                .isEqualTo(OffsetDateTime.parse("2021-10-16T12:34:56Z"));
+    }
+}
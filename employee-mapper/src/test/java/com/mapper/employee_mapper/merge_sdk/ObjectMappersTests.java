@@ -0,0 +1,49 @@
+package com.mapper.employee_mapper.merge_sdk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ObjectMappersTests {
+
+    @Test
+    void handsOutSharedReadersWithoutReconfiguringTheMapper() {
+        SerializationConfig before = ObjectMappers.JSON_MAPPER.getSerializationConfig();
+        Group group = Group.builder().name("Engineering").type(GroupType.of(GroupTypeEnum.TEAM)).build();
+
+        assertThat(ObjectMappers.stringify(group)).contains("\"name\" : \"Engineering\"");
+        assertThat(ObjectMappers.JSON_MAPPER.getSerializationConfig()).isSameAs(before);
+        assertThat(ObjectMappers.reader(SdkEmployee.class)).isSameAs(ObjectMappers.reader(SdkEmployee.class));
+        assertThat(ObjectMappers.writer(Group.class)).isSameAs(ObjectMappers.writer(Group.class));
+    }
+
+    @Test
+    void blackbirdReadsAndWritesTheSdkTypesTheSameWay() throws Exception {
+        SdkEmployee employee = SdkEmployee.builder()
+                .id("EMP-1")
+                .firstName("Jane")
+                .company(Optional.of(SdkCompany.builder().id("COMP-1").legalName("Acme").build()))
+                .addresses(List.of(SdkAddress.builder().street("1 Lane").build()))
+                .groups(Optional.of(List.of(Optional.of(EmployeeGroupsItem.of("Ad-hoc")))))
+                .build();
+        String json = ObjectMappers.writer(SdkEmployee.class).writeValueAsString(employee);
+
+        ObjectMapper blackbird = ObjectMappers.JSON_MAPPER.copy().registerModule(new BlackbirdModule());
+        SdkEmployee viaBlackbird = blackbird.readValue(json, SdkEmployee.class);
+        assertThat(viaBlackbird).isEqualTo(ObjectMappers.reader(SdkEmployee.class).readValue(json));
+        assertThat(blackbird.writeValueAsString(viaBlackbird)).isEqualTo(json);
+    }
+
+    @Test
+    void blackbirdFlagDescribesTheSharedMapper() {
+        Object blackbirdId = new BlackbirdModule().getTypeId();
+        assertThat(ObjectMappers.JSON_MAPPER.getRegisteredModuleIds().contains(blackbirdId))
+                .isEqualTo(ObjectMappers.isBlackbirdEnabled());
+    }
+}
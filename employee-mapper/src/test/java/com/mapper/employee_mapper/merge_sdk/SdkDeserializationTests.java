@@ -0,0 +1,45 @@
+package com.mapper.employee_mapper.merge_sdk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SdkDeserializationTests {
+
+    private static final ObjectMapper JSON = ObjectMappers.JSON_MAPPER;
+
+    @Test
+    void readsSdkEmployeeThroughItsJacksonizedBuilder() throws Exception {
+        SdkEmployee employee = JSON.readValue("{\"id\":\"E1\",\"firstName\":\"Jane\",\"workEmail\":\"jane@acme.com\","
+                + "\"company\":{\"id\":\"C1\",\"legalName\":\"Acme\",\"headquartersAddress\":{\"city\":\"Springfield\"}},"
+                + "\"addresses\":[{\"street\":\"1 Lane\"}],\"groups\":[\"Ad-hoc\",null]}", SdkEmployee.class);
+
+        assertThat(employee.getId()).isEqualTo("E1");
+        assertThat(employee.getCompany()).map(SdkCompany::getLegalName).contains("Acme");
+        assertThat(employee.getCompany().get().getHeadquartersAddress().getCity()).isEqualTo("Springfield");
+        assertThat(employee.getAddresses()).extracting(SdkAddress::getStreet).containsExactly("1 Lane");
+        assertThat(employee.getGroups().get()).containsExactly(Optional.of(EmployeeGroupsItem.of("Ad-hoc")), Optional.empty());
+
+    }
+
+    @Test
+    void readsGroupAndRemoteDataThroughTheirBuilders() throws Exception {
+        Group group = JSON.readValue("{\"id\":\"G1\",\"name\":\"Engineering\",\"type\":\"TEAM\","
+                + "\"created_at\":\"2021-09-15T00:00:00Z\",\"remote_was_deleted\":false,\"extra\":1,"
+                + "\"remote_data\":[{\"path\":\"/groups\",\"data\":{\"department\":\"R&D\"}}]}", Group.class);
+
+        assertThat(group.getName()).contains("Engineering");
+        assertThat(group.getType()).contains(GroupType.of(GroupTypeEnum.TEAM));
+        assertThat(group.getCreatedAt()).contains(OffsetDateTime.parse("2021-09-15T00:00:00Z"));
+        assertThat(group.getRemoteWasDeleted()).contains(false);
+        List<RemoteData> remoteData = group.getRemoteData().orElseThrow();
+        assertThat(remoteData).hasSize(1);
+        assertThat(remoteData.get(0).getPath()).isEqualTo("/groups");
+        assertThat(remoteData.get(0).getData().orElseThrow().path("department").asText()).isEqualTo("R&D");
+    }
+}
@@ -0,0 +1,35 @@
+package com.mapper.employee_mapper.merge_sdk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UnionDeserializerTests {
+
+    private static final ObjectMapper JSON = ObjectMappers.JSON_MAPPER;
+
+    @Test
+    void dispatchesOnTheCurrentToken() throws Exception {
+        List<EmployeeGroupsItem> items = JSON.readValue(
+                "[\"Ad-hoc\", {\"name\":\"Engineering\",\"type\":\"TEAM\"}, {\"type\":\"GUILD\"}]",
+                JSON.getTypeFactory().constructCollectionType(List.class, EmployeeGroupsItem.class));
+
+        assertThat(items.get(0).get()).isEqualTo("Ad-hoc");
+        Group engineering = (Group) items.get(1).get();
+        assertThat(engineering.getName()).contains("Engineering");
+        assertThat(engineering.getType()).contains(GroupType.of(GroupTypeEnum.TEAM));
+        assertThat(engineering.getType().get().get()).isSameAs(GroupTypeEnum.TEAM);
+        assertThat(((Group) items.get(2).get()).getType().get().get()).isEqualTo("GUILD");
+        assertThat(JSON.writeValueAsString(items.get(0))).isEqualTo("\"Ad-hoc\"");
+    }
+
+    @Test
+    void rejectsTokensNoVariantAccepts() {
+        assertThatThrownBy(() -> JSON.readValue("[1, 2]", GroupType.class))
+                .hasMessageContaining("Failed to deserialize GroupType");
+    }
+}